@@ -1,30 +1,61 @@
 package com.mycompany.myapp.aop.logging;
 
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import tech.jhipster.config.JHipsterConstants;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
- *
- * By default, it only runs with the "dev" profile.
+ * Aspect for timing and logging execution of service and repository Spring components.
+ * <p>
+ * The calls are timed by the {@value #METER_NAME} timers, tagged by class, method, outcome and exception. The calls returning
+ * a {@link Mono} or a {@link Flux} are timed from the subscription to the result until its completion, error or cancellation,
+ * as their work happens there rather than in the method. A sample of the calls is logged with its arguments and results, when
+ * the debug logs of their class are enabled.
+ * <p>
+ * The exceptions thrown by the methods are logged with the dev profile only; with the other profiles, only those of the sampled
+ * calls are, as the same exception is thrown through every layer and the arguments may hold credentials.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    public static final String METER_NAME = "method.timed";
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private static final String NONE = "none";
+
+    private final boolean development;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.MethodTiming properties;
+
+    /** The timers of the methods, by class and by method. */
+    private final Map<Class<?>, Map<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.meterRegistry = meterRegistry;
+        this.properties = applicationProperties.getMethodTiming();
     }
 
     /**
@@ -62,14 +93,16 @@ public class LoggingAspect {
     }
 
     /**
-     * Advice that logs methods throwing exceptions.
+     * Logs methods throwing exceptions, with the dev profile or for the sampled calls.
+     * <p>
+     * It is called by the around advice rather than being an after throwing advice, which needs the current AOP invocation:
+     * the invocation is gone once the method is called from a deferred interceptor, such as the reactive method security.
      *
      * @param joinPoint join point for advice.
      * @param e exception.
      */
-    @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
+    private void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
+        if (development) {
             logger(joinPoint)
                 .error(
                     "Exception in {}() with cause = '{}' and exception = '{}'",
@@ -89,7 +122,7 @@ public class LoggingAspect {
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that times a method, and logs a sample of its calls when entered and exited.
      *
      * @param joinPoint join point for advice.
      * @return result.
@@ -98,18 +131,125 @@ public class LoggingAspect {
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         Logger log = logger(joinPoint);
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        boolean logged = log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < properties.getLogSampleRate();
+        String name = joinPoint.getSignature().getName();
+        if (logged) {
+            log.debug("Enter: {}() with argument[s] = {}", name, Arrays.toString(joinPoint.getArgs()));
         }
+        MethodTimers methodTimers = timers(joinPoint);
+        long start = System.nanoTime();
+        Object result;
         try {
-            Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
-            }
-            return result;
+            result = joinPoint.proceed();
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            record(methodTimers.error(e), start);
+            if (development || logged) {
+                logAfterThrowing(joinPoint, e);
+                log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), name);
+            }
+            throw e;
+        } catch (Throwable e) {
+            record(methodTimers.error(e), start);
+            if (development || logged) {
+                logAfterThrowing(joinPoint, e);
+            }
             throw e;
         }
+        if (result instanceof Mono) {
+            Mono<?> mono = (Mono<?>) result;
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono
+                    .doOnSuccess(value -> {
+                        record(methodTimers.success, subscribed);
+                        if (logged) {
+                            log.debug("Exit: {}() with result = {}", name, value);
+                        }
+                    })
+                    .doOnError(e -> record(methodTimers.error(e), subscribed))
+                    .doOnCancel(() -> record(methodTimers.cancel, subscribed));
+            });
+        }
+        if (result instanceof Flux) {
+            Flux<?> flux = (Flux<?>) result;
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux
+                    .doOnComplete(() -> {
+                        record(methodTimers.success, subscribed);
+                        if (logged) {
+                            log.debug("Exit: {}() completed", name);
+                        }
+                    })
+                    .doOnError(e -> record(methodTimers.error(e), subscribed))
+                    .doOnCancel(() -> record(methodTimers.cancel, subscribed));
+            });
+        }
+        record(methodTimers.success, start);
+        if (logged) {
+            log.debug("Exit: {}() with result = {}", name, result);
+        }
+        return result;
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private MethodTimers timers(ProceedingJoinPoint joinPoint) {
+        Class<?> type = joinPoint.getThis() != null ? joinPoint.getThis().getClass() : joinPoint.getSignature().getDeclaringType();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return timers
+            .computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, key -> new MethodTimers(className(type), method.getName()));
+    }
+
+    /**
+     * Gets the name of the class of a bean, its repository interface for the Spring Data repositories, which are proxies.
+     */
+    private static String className(Class<?> type) {
+        if (Proxy.isProxyClass(type) && type.getInterfaces().length > 0) {
+            return type.getInterfaces()[0].getName();
+        }
+        return ClassUtils.getUserClass(type).getName();
+    }
+
+    /**
+     * The timers of a method, by outcome, the errors being timed by exception.
+     */
+    private final class MethodTimers {
+
+        private final String className;
+
+        private final String methodName;
+
+        private final Timer success;
+
+        private final Timer cancel;
+
+        private final Map<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+        private MethodTimers(String className, String methodName) {
+            this.className = className;
+            this.methodName = methodName;
+            this.success = timer("success", NONE);
+            this.cancel = timer("cancel", NONE);
+        }
+
+        private Timer error(Throwable e) {
+            return errors.computeIfAbsent(e.getClass(), type -> timer("error", type.getSimpleName()));
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer
+                .builder(METER_NAME)
+                .description("Duration of the calls to the repositories, services and REST endpoints")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram(properties.isPercentileHistogram())
+                .register(meterRegistry);
+        }
     }
 }
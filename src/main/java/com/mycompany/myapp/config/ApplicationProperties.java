@@ -10,7 +10,670 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Database database = new Database();
+
+    private final WriteBehind writeBehind = new WriteBehind();
+
+    private final Production production = new Production();
+
+    private final Stats stats = new Stats();
+
+    private final Columns columns = new Columns();
+
+    private final Snapshot snapshot = new Snapshot();
+
+    private final Security security = new Security();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
     // jhipster-needle-application-properties-property
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public Production getProduction() {
+        return production;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public Columns getColumns() {
+        return columns;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Database {
+
+        private final SelectCache selectCache = new SelectCache();
+
+        private final BatchInsert batchInsert = new BatchInsert();
+
+        private final EntityCache entityCache = new EntityCache();
+
+        private final QueryCache queryCache = new QueryCache();
+
+        private final UserCache userCache = new UserCache();
+
+        private final SqlStats sqlStats = new SqlStats();
+
+        private final Pool pool = new Pool();
+
+        public SelectCache getSelectCache() {
+            return selectCache;
+        }
+
+        public BatchInsert getBatchInsert() {
+            return batchInsert;
+        }
+
+        public EntityCache getEntityCache() {
+            return entityCache;
+        }
+
+        public QueryCache getQueryCache() {
+            return queryCache;
+        }
+
+        public UserCache getUserCache() {
+            return userCache;
+        }
+
+        public SqlStats getSqlStats() {
+            return sqlStats;
+        }
+
+        public Pool getPool() {
+            return pool;
+        }
+
+        public static class SelectCache {
+
+            private long maximumSize = 500;
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+        }
+
+        public static class BatchInsert {
+
+            private int chunkSize = 500;
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+        }
+
+        public static class EntityCache {
+
+            private boolean enabled = true;
+
+            private long maximumSize = 10000;
+
+            private long timeToLive = 60000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+
+            public long getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(long timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        public static class QueryCache {
+
+            private boolean enabled = true;
+
+            private long maximumRows = 100000;
+
+            private int maxResultRows = 1000;
+
+            private long timeToLive = 60000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaximumRows() {
+                return maximumRows;
+            }
+
+            public void setMaximumRows(long maximumRows) {
+                this.maximumRows = maximumRows;
+            }
+
+            public int getMaxResultRows() {
+                return maxResultRows;
+            }
+
+            public void setMaxResultRows(int maxResultRows) {
+                this.maxResultRows = maxResultRows;
+            }
+
+            public long getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(long timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        public static class UserCache {
+
+            private boolean enabled = true;
+
+            private long maximumSize = 10000;
+
+            private long timeToLive = 30000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+
+            public long getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(long timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        public static class SqlStats {
+
+            private boolean enabled = true;
+
+            private long slowQueryThreshold = 500;
+
+            private int maxFingerprints = 500;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getSlowQueryThreshold() {
+                return slowQueryThreshold;
+            }
+
+            public void setSlowQueryThreshold(long slowQueryThreshold) {
+                this.slowQueryThreshold = slowQueryThreshold;
+            }
+
+            public int getMaxFingerprints() {
+                return maxFingerprints;
+            }
+
+            public void setMaxFingerprints(int maxFingerprints) {
+                this.maxFingerprints = maxFingerprints;
+            }
+        }
+
+        public static class Pool {
+
+            private boolean warmUp = true;
+
+            private long backgroundEvictionInterval = 60000;
+
+            public boolean isWarmUp() {
+                return warmUp;
+            }
+
+            public void setWarmUp(boolean warmUp) {
+                this.warmUp = warmUp;
+            }
+
+            public long getBackgroundEvictionInterval() {
+                return backgroundEvictionInterval;
+            }
+
+            public void setBackgroundEvictionInterval(long backgroundEvictionInterval) {
+                this.backgroundEvictionInterval = backgroundEvictionInterval;
+            }
+        }
+    }
+
+    public static class WriteBehind {
+
+        private long flushInterval = 1000;
+
+        private int maxPendingRows = 10000;
+
+        private int flushChunkSize = 500;
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getMaxPendingRows() {
+            return maxPendingRows;
+        }
+
+        public void setMaxPendingRows(int maxPendingRows) {
+            this.maxPendingRows = maxPendingRows;
+        }
+
+        public int getFlushChunkSize() {
+            return flushChunkSize;
+        }
+
+        public void setFlushChunkSize(int flushChunkSize) {
+            this.flushChunkSize = flushChunkSize;
+        }
+    }
+    public static class Production {
+
+        private long tickInterval = 60000;
+
+        private int chunkSize = 1000;
+
+        private int parallelism = 4;
+
+        private boolean lazyAccrual = false;
+
+        public long getTickInterval() {
+            return tickInterval;
+        }
+
+        public void setTickInterval(long tickInterval) {
+            this.tickInterval = tickInterval;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public boolean isLazyAccrual() {
+            return lazyAccrual;
+        }
+
+        public void setLazyAccrual(boolean lazyAccrual) {
+            this.lazyAccrual = lazyAccrual;
+        }
+    }
+
+    public static class Stats {
+
+        private int partitions = 64;
+
+        private int parallelism = 4;
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        public void setPartitions(int partitions) {
+            this.partitions = partitions;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class Columns {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class Snapshot {
+
+        private boolean enabled = true;
+
+        private String path = "snapshot/resource-got.snapshot";
+
+        private long interval = 300000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final RefreshToken refreshToken = new RefreshToken();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public RefreshToken getRefreshToken() {
+            return refreshToken;
+        }
+
+        public static class TokenCache {
+
+            private boolean enabled = true;
+
+            private long maximumSize = 10000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+        }
+
+        public static class PasswordHashing {
+
+            private int threads = 0;
+
+            private int queueCapacity = 100;
+
+            private long retryAfter = 1;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public long getRetryAfter() {
+                return retryAfter;
+            }
+
+            public void setRetryAfter(long retryAfter) {
+                this.retryAfter = retryAfter;
+            }
+        }
+
+        public static class RefreshToken {
+
+            private long timeToLive = 86400000;
+
+            private long timeToLiveForRememberMe = 2592000000L;
+
+            private long accessTokenTimeToLive = 900000;
+
+            private boolean legacyAccessToken = true;
+
+            public long getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(long timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public long getTimeToLiveForRememberMe() {
+                return timeToLiveForRememberMe;
+            }
+
+            public void setTimeToLiveForRememberMe(long timeToLiveForRememberMe) {
+                this.timeToLiveForRememberMe = timeToLiveForRememberMe;
+            }
+
+            public long getAccessTokenTimeToLive() {
+                return accessTokenTimeToLive;
+            }
+
+            public void setAccessTokenTimeToLive(long accessTokenTimeToLive) {
+                this.accessTokenTimeToLive = accessTokenTimeToLive;
+            }
+
+            public boolean isLegacyAccessToken() {
+                return legacyAccessToken;
+            }
+
+            public void setLegacyAccessToken(boolean legacyAccessToken) {
+                this.legacyAccessToken = legacyAccessToken;
+            }
+        }
+    }
+
+    public static class MailOutbox {
+
+        private long pollInterval = 1000;
+
+        private int batchSize = 50;
+
+        private int parallelism = 2;
+
+        private int maxAttempts = 10;
+
+        private long retryDelay = 60000;
+
+        private long maxRetryDelay = 3600000;
+
+        private long leaseTime = 300000;
+
+        public long getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(long pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(long retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public long getMaxRetryDelay() {
+            return maxRetryDelay;
+        }
+
+        public void setMaxRetryDelay(long maxRetryDelay) {
+            this.maxRetryDelay = maxRetryDelay;
+        }
+
+        public long getLeaseTime() {
+            return leaseTime;
+        }
+
+        public void setLeaseTime(long leaseTime) {
+            this.leaseTime = leaseTime;
+        }
+    }
+
+    public static class MethodTiming {
+
+        private boolean enabled = true;
+
+        private boolean percentileHistogram = false;
+
+        private double logSampleRate = 0.01;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+
+        public double getLogSampleRate() {
+            return logSampleRate;
+        }
+
+        public void setLogSampleRate(double logSampleRate) {
+            this.logSampleRate = logSampleRate;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
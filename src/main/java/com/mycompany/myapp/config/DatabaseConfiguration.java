@@ -1,6 +1,15 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.management.SqlStatistics;
+import com.mycompany.myapp.management.SqlStatisticsConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
@@ -12,8 +21,15 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryOptionsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -32,6 +48,7 @@ import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.data.relational.core.dialect.RenderContextFactory;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import reactor.core.publisher.Mono;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.h2.H2ConfigurationHelper;
 
@@ -40,6 +57,11 @@ import tech.jhipster.config.h2.H2ConfigurationHelper;
 @EnableTransactionManagement
 public class DatabaseConfiguration {
 
+    public static final String POOL_ACQUIRE_METER_NAME = "r2dbc.pool.acquire";
+
+    /** The name of the connection pool in the r2dbc.pool metrics, the name of its bean. */
+    public static final String POOL_NAME = "connectionFactory";
+
     private final Logger log = LoggerFactory.getLogger(DatabaseConfiguration.class);
 
     private final Environment env;
@@ -76,6 +98,119 @@ public class DatabaseConfiguration {
         return String.valueOf(port);
     }
 
+    /**
+     * Connection pool, configured by the spring.r2dbc properties, and by the application.database.pool properties for its
+     * warm-up and its background eviction.
+     * <p>
+     * The acquired, idle and pending connections are published by Spring Boot, as the r2dbc.pool gauges tagged with the
+     * {@value #POOL_NAME} name, and the time spent acquiring the connections, waiting for them to be released when the pool is
+     * exhausted, as the {@value #POOL_ACQUIRE_METER_NAME} timer.
+     *
+     * @return the connection pool.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionFactory connectionFactory(
+        R2dbcProperties properties,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<ConnectionFactoryOptionsBuilderCustomizer> customizers,
+        MeterRegistry meterRegistry
+    ) {
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder
+            .withUrl(properties.getUrl())
+            .configure(options -> {
+                map.from(properties.getUsername()).to(username -> options.option(ConnectionFactoryOptions.USER, username));
+                map.from(properties.getPassword()).to(password -> options.option(ConnectionFactoryOptions.PASSWORD, password));
+                properties.getProperties().forEach((key, value) -> options.option(Option.valueOf(key), value));
+                customizers.orderedStream().forEach(customizer -> customizer.customize(options));
+            })
+            .build();
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ApplicationProperties.Database.Pool poolProperties = applicationProperties.getDatabase().getPool();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        map.from(pool.getValidationDepth()).to(builder::validationDepth);
+        if (poolProperties.getBackgroundEvictionInterval() > 0) {
+            builder.backgroundEvictionInterval(Duration.ofMillis(poolProperties.getBackgroundEvictionInterval()));
+        }
+        TimedConnectionPool connectionPool = new TimedConnectionPool(builder.build(), meterRegistry);
+        if (poolProperties.isWarmUp()) {
+            connectionPool
+                .warmup()
+                .subscribe(
+                    connections -> log.debug("Warmed up {} database connections", connections),
+                    e -> log.warn("Could not warm up the database connections: {}", e.getMessage())
+                );
+        }
+        return connectionPool;
+    }
+
+    /**
+     * Records the statements executed on the connection factories in the {@link SqlStatistics}, when enabled.
+     *
+     * @param sqlStatistics the SQL statistics, looked up lazily as the post processor is created before the other beans.
+     * @return the post processor wrapping the connection factories.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatisticsPostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory && !(bean instanceof SqlStatisticsConnectionFactory)) {
+                    SqlStatistics statistics = sqlStatistics.getObject();
+                    if (statistics.isEnabled()) {
+                        return new SqlStatisticsConnectionFactory((ConnectionFactory) bean, statistics);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Connection pool timing the acquisitions of its connections.
+     */
+    private static final class TimedConnectionPool extends ConnectionPool {
+
+        private final Timer acquisitions;
+
+        private final Timer failures;
+
+        private TimedConnectionPool(ConnectionPoolConfiguration configuration, MeterRegistry meterRegistry) {
+            super(configuration);
+            this.acquisitions = acquireTimer(meterRegistry, "success");
+            this.failures = acquireTimer(meterRegistry, "error");
+        }
+
+        private static Timer acquireTimer(MeterRegistry meterRegistry, String outcome) {
+            return Timer
+                .builder(POOL_ACQUIRE_METER_NAME)
+                .description("Time spent acquiring the connections of the pool")
+                .tag("name", POOL_NAME)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        }
+
+        @Override
+        public Mono<Connection> create() {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return super
+                    .create()
+                    .doOnSuccess(connection -> acquisitions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> failures.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            });
+        }
+    }
+
     // LocalDateTime seems to be the only type that is supported across all drivers atm
     // See https://github.com/r2dbc/r2dbc-h2/pull/139 https://github.com/mirromutth/r2dbc-mysql/issues/105
     @Bean
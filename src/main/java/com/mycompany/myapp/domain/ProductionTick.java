@@ -0,0 +1,92 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * The state of the production ticks, shared by the instances of the application.
+ * <p>
+ * The production has been applied up to the produced until date, or not yet if it is null. While an instance runs the
+ * ticks, it holds the lease of the ticks until the lease end.
+ */
+@Table("production_tick")
+public class ProductionTick implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private String id;
+
+    @Column("produced_until")
+    private Instant producedUntil;
+
+    @Column("lease_id")
+    private String leaseId;
+
+    @Column("lease_end")
+    private Instant leaseEnd;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getProducedUntil() {
+        return producedUntil;
+    }
+
+    public void setProducedUntil(Instant producedUntil) {
+        this.producedUntil = producedUntil;
+    }
+
+    public String getLeaseId() {
+        return leaseId;
+    }
+
+    public void setLeaseId(String leaseId) {
+        this.leaseId = leaseId;
+    }
+
+    public Instant getLeaseEnd() {
+        return leaseEnd;
+    }
+
+    public void setLeaseEnd(Instant leaseEnd) {
+        this.leaseEnd = leaseEnd;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductionTick)) {
+            return false;
+        }
+        return id != null && id.equals(((ProductionTick) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductionTick{" +
+            "id='" + id + "'" +
+            ", producedUntil='" + producedUntil + "'" +
+            ", leaseId='" + leaseId + "'" +
+            ", leaseEnd='" + leaseEnd + "'" +
+            "}";
+    }
+}
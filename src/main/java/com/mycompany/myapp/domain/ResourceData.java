@@ -28,6 +28,15 @@ public class ResourceData implements Serializable {
     @Column("fer")
     private Float fer;
 
+    @Column("gold_rate")
+    private Float goldRate;
+
+    @Column("wood_rate")
+    private Float woodRate;
+
+    @Column("fer_rate")
+    private Float ferRate;
+
     @Transient
     private User registerUser;
 
@@ -88,6 +97,45 @@ public class ResourceData implements Serializable {
         this.fer = fer;
     }
 
+    public Float getGoldRate() {
+        return this.goldRate;
+    }
+
+    public ResourceData goldRate(Float goldRate) {
+        this.setGoldRate(goldRate);
+        return this;
+    }
+
+    public void setGoldRate(Float goldRate) {
+        this.goldRate = goldRate;
+    }
+
+    public Float getWoodRate() {
+        return this.woodRate;
+    }
+
+    public ResourceData woodRate(Float woodRate) {
+        this.setWoodRate(woodRate);
+        return this;
+    }
+
+    public void setWoodRate(Float woodRate) {
+        this.woodRate = woodRate;
+    }
+
+    public Float getFerRate() {
+        return this.ferRate;
+    }
+
+    public ResourceData ferRate(Float ferRate) {
+        this.setFerRate(ferRate);
+        return this;
+    }
+
+    public void setFerRate(Float ferRate) {
+        this.ferRate = ferRate;
+    }
+
     public User getRegisterUser() {
         return this.registerUser;
     }
@@ -137,6 +185,9 @@ public class ResourceData implements Serializable {
             ", gold=" + getGold() +
             ", wood=" + getWood() +
             ", fer=" + getFer() +
+            ", goldRate=" + getGoldRate() +
+            ", woodRate=" + getWoodRate() +
+            ", ferRate=" + getFerRate() +
             "}";
     }
 }
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.domain;
 
 import java.io.Serializable;
+import java.time.Instant;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.relational.core.mapping.Column;
@@ -28,6 +29,21 @@ public class ResourceGot implements Serializable {
     @Column("fer")
     private Float fer;
 
+    @Column("gold_rate")
+    private Float goldRate;
+
+    @Column("wood_rate")
+    private Float woodRate;
+
+    @Column("fer_rate")
+    private Float ferRate;
+
+    @Column("last_settled_at")
+    private Instant lastSettledAt;
+
+    @Column("last_modified_date")
+    private Instant lastModifiedDate;
+
     @Transient
     private User registerUser;
 
@@ -88,6 +104,71 @@ public class ResourceGot implements Serializable {
         this.fer = fer;
     }
 
+    public Float getGoldRate() {
+        return this.goldRate;
+    }
+
+    public ResourceGot goldRate(Float goldRate) {
+        this.setGoldRate(goldRate);
+        return this;
+    }
+
+    public void setGoldRate(Float goldRate) {
+        this.goldRate = goldRate;
+    }
+
+    public Float getWoodRate() {
+        return this.woodRate;
+    }
+
+    public ResourceGot woodRate(Float woodRate) {
+        this.setWoodRate(woodRate);
+        return this;
+    }
+
+    public void setWoodRate(Float woodRate) {
+        this.woodRate = woodRate;
+    }
+
+    public Float getFerRate() {
+        return this.ferRate;
+    }
+
+    public ResourceGot ferRate(Float ferRate) {
+        this.setFerRate(ferRate);
+        return this;
+    }
+
+    public void setFerRate(Float ferRate) {
+        this.ferRate = ferRate;
+    }
+
+    public Instant getLastSettledAt() {
+        return this.lastSettledAt;
+    }
+
+    public ResourceGot lastSettledAt(Instant lastSettledAt) {
+        this.setLastSettledAt(lastSettledAt);
+        return this;
+    }
+
+    public void setLastSettledAt(Instant lastSettledAt) {
+        this.lastSettledAt = lastSettledAt;
+    }
+
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public ResourceGot lastModifiedDate(Instant lastModifiedDate) {
+        this.setLastModifiedDate(lastModifiedDate);
+        return this;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     public User getRegisterUser() {
         return this.registerUser;
     }
@@ -137,6 +218,11 @@ public class ResourceGot implements Serializable {
             ", gold=" + getGold() +
             ", wood=" + getWood() +
             ", fer=" + getFer() +
+            ", goldRate=" + getGoldRate() +
+            ", woodRate=" + getWoodRate() +
+            ", ferRate=" + getFerRate() +
+            ", lastSettledAt='" + getLastSettledAt() + "'" +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
             "}";
     }
 }
@@ -0,0 +1,357 @@
+package com.mycompany.myapp.management;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Statistics of the SQL statements, by fingerprint.
+ * <p>
+ * The fingerprint of a statement is its SQL with the literals and the bind markers replaced by {@code ?}, the lists of values
+ * collapsed to one value and the whitespace collapsed, so that the executions of a query with different values, or with
+ * different numbers of values in its {@code IN} lists, are counted together. The count, the durations, the rows and the errors
+ * of each fingerprint are summed in lock-free adders, and published as the {@value #METER_NAME} metrics tagged with the id of
+ * the fingerprint. Only the first {@code maxFingerprints} fingerprints get their own statistics, the statements of the further
+ * ones being counted under the {@value #OTHER} fingerprint, so that statements built with inline values cannot grow the
+ * statistics without bound.
+ * <p>
+ * The statements slower than the {@code slowQueryThreshold} are logged, as warnings of this class.
+ */
+@Component
+public class SqlStatistics {
+
+    public static final String METER_NAME = "sql.statements";
+    public static final String ROWS_METER_NAME = "sql.statements.rows";
+    public static final String ERRORS_METER_NAME = "sql.statements.errors";
+    public static final String FINGERPRINT_TAG = "fingerprint";
+    public static final String OTHER = "other";
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    private final Logger log = LoggerFactory.getLogger(SqlStatistics.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final long slowQueryThresholdNanos;
+
+    private final int maxFingerprints;
+
+    private final Map<String, StatementStatistics> byFingerprint = new ConcurrentHashMap<>();
+
+    /** The statistics by SQL, not to fingerprint the statements again on every execution. */
+    private final Map<String, StatementStatistics> bySql = new ConcurrentHashMap<>();
+
+    public SqlStatistics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Database.SqlStats properties = applicationProperties.getDatabase().getSqlStats();
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled();
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowQueryThreshold());
+        this.maxFingerprints = properties.getMaxFingerprints();
+    }
+
+    /**
+     * Whether the statements are to be timed.
+     * @return {@code true} if enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the statistics of a statement.
+     * @param sql the SQL of the statement.
+     * @return the statistics of the fingerprint of the statement.
+     */
+    public StatementStatistics statement(String sql) {
+        StatementStatistics statistics = bySql.get(sql);
+        if (statistics != null) {
+            return statistics;
+        }
+        String fingerprint = fingerprint(sql);
+        statistics = byFingerprint.get(fingerprint);
+        if (statistics == null) {
+            String key = byFingerprint.size() < maxFingerprints ? fingerprint : OTHER;
+            statistics = byFingerprint.computeIfAbsent(key, this::register);
+        }
+        if (bySql.size() < maxFingerprints * 4) {
+            bySql.put(sql, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Records an execution of a statement.
+     * @param statistics the statistics of the statement, from {@link #statement(String)}.
+     * @param sql the SQL of the statement, logged if the statement is slow.
+     * @param nanos the duration of the execution, up to its last row.
+     * @param rows the number of rows returned or updated.
+     * @param error whether the execution failed.
+     */
+    public void record(StatementStatistics statistics, String sql, long nanos, long rows, boolean error) {
+        statistics.record(nanos, rows, error);
+        if (nanos > slowQueryThresholdNanos) {
+            log.warn("Slow SQL statement, {} ms for {} rows: {}", TimeUnit.NANOSECONDS.toMillis(nanos), rows, sql);
+        }
+    }
+
+    /**
+     * Gets the statistics of all the fingerprints.
+     * @return the statistics, by decreasing total duration.
+     */
+    public List<StatementStatistics> getStatements() {
+        List<StatementStatistics> statements = new ArrayList<>(byFingerprint.values());
+        statements.sort(Comparator.comparingLong(StatementStatistics::getTotalNanos).reversed());
+        return statements;
+    }
+
+    private StatementStatistics register(String fingerprint) {
+        String id = String.format("%08x", fingerprint.hashCode());
+        Timer timer = Timer
+            .builder(METER_NAME)
+            .description("Duration of the SQL statements, up to their last row")
+            .tag(FINGERPRINT_TAG, id)
+            .publishPercentiles(PERCENTILES)
+            .register(meterRegistry);
+        DistributionSummary rows = DistributionSummary
+            .builder(ROWS_METER_NAME)
+            .description("Rows returned or updated by the SQL statements")
+            .tag(FINGERPRINT_TAG, id)
+            .register(meterRegistry);
+        Counter errors = Counter
+            .builder(ERRORS_METER_NAME)
+            .description("Failed SQL statements")
+            .tag(FINGERPRINT_TAG, id)
+            .register(meterRegistry);
+        return new StatementStatistics(id, fingerprint, timer, rows, errors);
+    }
+
+    /**
+     * Computes the fingerprint of a statement.
+     * @param sql the SQL of the statement.
+     * @return the SQL, with its literals and bind markers replaced by {@code ?}, its lists of values collapsed and its
+     * whitespace collapsed.
+     */
+    static String fingerprint(String sql) {
+        int length = sql.length();
+        StringBuilder fingerprint = new StringBuilder(length);
+        boolean space = false;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                continue;
+            }
+            if (space && fingerprint.length() > 0) {
+                fingerprint.append(' ');
+            }
+            space = false;
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                appendValue(fingerprint);
+            } else if (c == '"' || c == '`') {
+                int end = skipQuoted(sql, i, c);
+                fingerprint.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !isIdentifierEnd(fingerprint)) {
+                i++;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                appendValue(fingerprint);
+            } else if ((c == '$' || c == ':' || c == '@') && i + 1 < length && isIdentifierStart(sql.charAt(i + 1), c)) {
+                // a $1 or :name bind marker, but not a :: cast
+                i++;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+                appendValue(fingerprint);
+            } else if (c == '?') {
+                i++;
+                appendValue(fingerprint);
+            } else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+                fingerprint.append("::");
+                i += 2;
+            } else {
+                fingerprint.append(c);
+                i++;
+                if (c == ')') {
+                    collapseRows(fingerprint);
+                }
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    // an escaped quote
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierEnd(StringBuilder fingerprint) {
+        if (fingerprint.length() == 0) {
+            return false;
+        }
+        char last = fingerprint.charAt(fingerprint.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_';
+    }
+
+    private static boolean isIdentifierStart(char c, char marker) {
+        return marker == '$' ? Character.isDigit(c) : Character.isLetter(c) || c == '_';
+    }
+
+    /** Appends a value, unless it follows another value in a list. */
+    private static void appendValue(StringBuilder fingerprint) {
+        int length = fingerprint.length();
+        if (endsWith(fingerprint, "?, ")) {
+            fingerprint.setLength(length - 2);
+        } else if (endsWith(fingerprint, "?,")) {
+            fingerprint.setLength(length - 1);
+        } else {
+            fingerprint.append('?');
+        }
+    }
+
+    /** Collapses the rows of a multi-row {@code VALUES} list. */
+    private static void collapseRows(StringBuilder fingerprint) {
+        if (endsWith(fingerprint, "(?), (?)")) {
+            fingerprint.setLength(fingerprint.length() - 5);
+        } else if (endsWith(fingerprint, "(?),(?)")) {
+            fingerprint.setLength(fingerprint.length() - 4);
+        }
+    }
+
+    private static boolean endsWith(StringBuilder builder, String suffix) {
+        int start = builder.length() - suffix.length();
+        return start >= 0 && builder.indexOf(suffix, start) == start;
+    }
+
+    /**
+     * Statistics of the statements of a fingerprint.
+     */
+    public static final class StatementStatistics {
+
+        private final String id;
+
+        private final String fingerprint;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private final LongAdder rows = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final Timer timer;
+
+        private final DistributionSummary rowsSummary;
+
+        private final Counter errorsCounter;
+
+        private StatementStatistics(String id, String fingerprint, Timer timer, DistributionSummary rowsSummary, Counter errorsCounter) {
+            this.id = id;
+            this.fingerprint = fingerprint;
+            this.timer = timer;
+            this.rowsSummary = rowsSummary;
+            this.errorsCounter = errorsCounter;
+        }
+
+        private void record(long nanos, long rows, boolean error) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            this.rows.add(rows);
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            rowsSummary.record(rows);
+            if (error) {
+                errors.increment();
+                errorsCounter.increment();
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public double getTotalTime() {
+            return toMillis(totalNanos.sum());
+        }
+
+        public double getMeanTime() {
+            long executions = count.sum();
+            return executions == 0 ? 0 : toMillis(totalNanos.sum()) / executions;
+        }
+
+        public double getMaxTime() {
+            return toMillis(maxNanos.get());
+        }
+
+        /**
+         * Gets the percentiles of the durations, over the last minutes.
+         * @return the durations in milliseconds, by percentile.
+         */
+        public Map<String, Double> getPercentiles() {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                percentiles.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+            }
+            return percentiles;
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
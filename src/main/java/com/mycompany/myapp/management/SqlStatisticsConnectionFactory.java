@@ -0,0 +1,328 @@
+package com.mycompany.myapp.management;
+
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Connection factory recording the executions of the statements of its connections in the {@link SqlStatistics}.
+ * <p>
+ * An execution is timed from the subscription to the results of the statement until the rows of a result are consumed, and
+ * counts the rows mapped or updated. The results of the statements must be consumed, as the R2DBC drivers require. The batches
+ * of statements are not recorded, having no SQL of their own.
+ */
+public class SqlStatisticsConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    private final ConnectionFactory delegate;
+
+    private final SqlStatistics statistics;
+
+    public SqlStatisticsConnectionFactory(ConnectionFactory delegate, SqlStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.from(delegate.create()).map(StatisticsConnection::new);
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    /**
+     * Disposes the wrapped connection factory, as the connection pools are disposed.
+     */
+    @Override
+    public void dispose() {
+        if (delegate instanceof Disposable) {
+            ((Disposable) delegate).dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable && ((Disposable) delegate).isDisposed();
+    }
+
+    private final class StatisticsConnection implements Connection, Wrapped<Connection> {
+
+        private final Connection delegate;
+
+        private StatisticsConnection(Connection delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Statement createStatement(String sql) {
+            return new StatisticsStatement(delegate.createStatement(sql), sql, statistics.statement(sql));
+        }
+
+        @Override
+        public Batch createBatch() {
+            return delegate.createBatch();
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction() {
+            return delegate.beginTransaction();
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction(TransactionDefinition definition) {
+            return delegate.beginTransaction(definition);
+        }
+
+        @Override
+        public Publisher<Void> close() {
+            return delegate.close();
+        }
+
+        @Override
+        public Publisher<Void> commitTransaction() {
+            return delegate.commitTransaction();
+        }
+
+        @Override
+        public Publisher<Void> createSavepoint(String name) {
+            return delegate.createSavepoint(name);
+        }
+
+        @Override
+        public boolean isAutoCommit() {
+            return delegate.isAutoCommit();
+        }
+
+        @Override
+        public ConnectionMetadata getMetadata() {
+            return delegate.getMetadata();
+        }
+
+        @Override
+        public IsolationLevel getTransactionIsolationLevel() {
+            return delegate.getTransactionIsolationLevel();
+        }
+
+        @Override
+        public Publisher<Void> releaseSavepoint(String name) {
+            return delegate.releaseSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransaction() {
+            return delegate.rollbackTransaction();
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+            return delegate.rollbackTransactionToSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> setAutoCommit(boolean autoCommit) {
+            return delegate.setAutoCommit(autoCommit);
+        }
+
+        @Override
+        public Publisher<Void> setLockWaitTimeout(Duration timeout) {
+            return delegate.setLockWaitTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setStatementTimeout(Duration timeout) {
+            return delegate.setStatementTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+            return delegate.setTransactionIsolationLevel(isolationLevel);
+        }
+
+        @Override
+        public Publisher<Boolean> validate(ValidationDepth depth) {
+            return delegate.validate(depth);
+        }
+
+        @Override
+        public Connection unwrap() {
+            return delegate;
+        }
+    }
+
+    private final class StatisticsStatement implements Statement {
+
+        private final Statement delegate;
+
+        private final String sql;
+
+        private final SqlStatistics.StatementStatistics statementStatistics;
+
+        private StatisticsStatement(Statement delegate, String sql, SqlStatistics.StatementStatistics statementStatistics) {
+            this.delegate = delegate;
+            this.sql = sql;
+            this.statementStatistics = statementStatistics;
+        }
+
+        @Override
+        public Statement add() {
+            delegate.add();
+            return this;
+        }
+
+        @Override
+        public Statement bind(int index, Object value) {
+            delegate.bind(index, value);
+            return this;
+        }
+
+        @Override
+        public Statement bind(String name, Object value) {
+            delegate.bind(name, value);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(int index, Class<?> type) {
+            delegate.bindNull(index, type);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(String name, Class<?> type) {
+            delegate.bindNull(name, type);
+            return this;
+        }
+
+        @Override
+        public Statement returnGeneratedValues(String... columns) {
+            delegate.returnGeneratedValues(columns);
+            return this;
+        }
+
+        @Override
+        public Statement fetchSize(int rows) {
+            delegate.fetchSize(rows);
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return Flux
+                    .from(delegate.execute())
+                    .<Result>map(result -> new StatisticsResult(result, this, start))
+                    .doOnError(e -> record(start, 0, true));
+            });
+        }
+
+        private void record(long start, long rows, boolean error) {
+            statistics.record(statementStatistics, sql, System.nanoTime() - start, rows, error);
+        }
+    }
+
+    private static final class StatisticsResult implements Result {
+
+        private final Result delegate;
+
+        private final StatisticsStatement statement;
+
+        private final long start;
+
+        private StatisticsResult(Result delegate, StatisticsStatement statement, long start) {
+            this.delegate = delegate;
+            this.statement = statement;
+            this.start = start;
+        }
+
+        @Override
+        public Publisher<Integer> getRowsUpdated() {
+            return Flux.defer(() -> {
+                long[] rows = new long[1];
+                return recorded(Flux.from(delegate.getRowsUpdated()).doOnNext(count -> rows[0] += count), rows);
+            });
+        }
+
+        @Override
+        public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+            return Flux.defer(() -> {
+                long[] rows = new long[1];
+                return recorded(
+                    delegate.map((row, metadata) -> {
+                        rows[0]++;
+                        return mappingFunction.apply(row, metadata);
+                    }),
+                    rows
+                );
+            });
+        }
+
+        @Override
+        public <T> Publisher<T> map(Function<? super Readable, ? extends T> mappingFunction) {
+            return Flux.defer(() -> {
+                long[] rows = new long[1];
+                return recorded(
+                    delegate.map((Readable readable) -> {
+                        rows[0]++;
+                        return mappingFunction.apply(readable);
+                    }),
+                    rows
+                );
+            });
+        }
+
+        @Override
+        public Result filter(Predicate<Segment> filter) {
+            return new StatisticsResult(delegate.filter(filter), statement, start);
+        }
+
+        @Override
+        public <T> Publisher<T> flatMap(Function<Segment, ? extends Publisher<? extends T>> mappingFunction) {
+            return Flux.defer(() -> {
+                long[] rows = new long[1];
+                return recorded(
+                    delegate.flatMap(segment -> {
+                        if (segment instanceof RowSegment) {
+                            rows[0]++;
+                        } else if (segment instanceof UpdateCount) {
+                            rows[0] += ((UpdateCount) segment).value();
+                        }
+                        return mappingFunction.apply(segment);
+                    }),
+                    rows
+                );
+            });
+        }
+
+        private <T> Flux<T> recorded(Publisher<T> publisher, long[] rows) {
+            return Flux.from(publisher).doFinally(signal -> statement.record(start, rows[0], signal == SignalType.ON_ERROR));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.mycompany.myapp.management;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint listing the {@link SqlStatistics} of the SQL statements, by fingerprint, the most time consuming first. The durations
+ * are in milliseconds.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlStatistics sqlStatistics;
+
+    public SqlStatsEndpoint(SqlStatistics sqlStatistics) {
+        this.sqlStatistics = sqlStatistics;
+    }
+
+    @ReadOperation
+    public List<SqlStatistics.StatementStatistics> statements() {
+        return sqlStatistics.getStatements();
+    }
+}
@@ -45,9 +45,17 @@ interface ClientRepositoryInternal {
 
     Flux<Client> findAllBy(Pageable pageable);
 
+    Flux<Client> findAllAfter(KeysetCursor cursor, int size);
+
     Flux<Client> findAll();
 
     Mono<Client> findById(Long id);
+
+    Mono<Client> updateIfExists(Client entity);
+
+    Mono<Client> patchIfExists(Client entity);
+
+    Mono<Void> deleteById(Long id);
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<Client> findAllBy(Pageable pageable, Criteria criteria);
 
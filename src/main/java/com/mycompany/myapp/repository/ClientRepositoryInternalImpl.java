@@ -3,12 +3,14 @@ package com.mycompany.myapp.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import com.mycompany.myapp.domain.Client;
+import com.mycompany.myapp.domain.ResourceData;
 import com.mycompany.myapp.repository.rowmapper.ClientRowMapper;
 import com.mycompany.myapp.repository.rowmapper.ResourceDataRowMapper;
 import com.mycompany.myapp.repository.rowmapper.UserRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -26,12 +28,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -48,10 +50,14 @@ class ClientRepositoryInternalImpl extends SimpleR2dbcRepository<Client, Long> i
     private final UserRowMapper userMapper;
     private final ResourceDataRowMapper resourcedataMapper;
     private final ClientRowMapper clientMapper;
+    private final EntityCache<Client> cache;
+    private final QueryCache queryCache;
 
     private static final Table entityTable = Table.aliased("client", EntityManager.ENTITY_ALIAS);
     private static final Table userTable = Table.aliased("jhi_user", "e_user");
     private static final Table companyTable = Table.aliased("resource_data", "company");
+    private static final String JOIN_SHAPE = "user,company";
+    private static final List<String> QUERY_TABLES = List.of("client", "jhi_user", "resource_data");
 
     public ClientRepositoryInternalImpl(
         R2dbcEntityTemplate template,
@@ -73,18 +79,44 @@ class ClientRepositoryInternalImpl extends SimpleR2dbcRepository<Client, Long> i
         this.userMapper = userMapper;
         this.resourcedataMapper = resourcedataMapper;
         this.clientMapper = clientMapper;
+        this.cache = entityManager.getEntityCache(Client.class);
+        this.queryCache = entityManager.getQueryCache();
+        // the clients embed their company
+        cache.dependsOn(entityManager.getEntityCache(ResourceData.class), Client::getCompanyId);
     }
 
     @Override
     public Flux<Client> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        String select = createSelect(pageable, null);
+        return queryCache.get(select, List.of(), QUERY_TABLES, () -> db.sql(select).map(this::process).all());
     }
 
-    RowsFetchSpec<Client> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<Client> findAllAfter(KeysetCursor cursor, int size) {
+        Condition whereClause = entityManager.createKeysetCondition(entityTable, Client.class, cursor);
+        String select = createSelect(cursor.toPageable(size), whereClause);
+        return queryCache.get(
+            select,
+            Arrays.asList(cursor.getLastId(), cursor.getLastValue()),
+            QUERY_TABLES,
+            () -> entityManager.bindKeyset(db.sql(select), Client.class, cursor).map(this::process).all()
+        );
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Condition whereClause) {
+        return db.sql(createSelect(pageable, whereClause));
+    }
+
+    private String createSelect(Pageable pageable, Condition whereClause) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager.createSelect(JOIN_SHAPE, this::selectFrom, Client.class, pageable, whereClause);
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = ClientSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(UserSqlHelper.getColumns(userTable, "user"));
         columns.addAll(ResourceDataSqlHelper.getColumns(companyTable, "company"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
@@ -94,9 +126,6 @@ class ClientRepositoryInternalImpl extends SimpleR2dbcRepository<Client, Long> i
             .leftOuterJoin(companyTable)
             .on(Column.create("company_id", entityTable))
             .equals(Column.create("id", companyTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Client.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -106,8 +135,27 @@ class ClientRepositoryInternalImpl extends SimpleR2dbcRepository<Client, Long> i
 
     @Override
     public Mono<Client> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return cache.get(id, this::selectById);
+    }
+
+    private Mono<Client> selectById(Long id) {
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause).bind("id", id).map(this::process).one();
+    }
+
+    @Override
+    public Mono<Client> updateIfExists(Client entity) {
+        Mono<Client> update = entityManager
+            .updateIfExists(entity, ClientSqlHelper::getColumns, clientMapper)
+            // the relations written are those of the given client
+            .map(updated -> updated.user(entity.getUser()).company(entity.getCompany()));
+        return cache.invalidating(entity.getId(), update);
+    }
+
+    @Override
+    public Mono<Client> patchIfExists(Client entity) {
+        // a merge-patch writes no column, as the relations are only written by a full update: it only checks that the client exists
+        return findById(entity.getId());
     }
 
     private Client process(Row row, RowMetadata metadata) {
@@ -119,6 +167,11 @@ class ClientRepositoryInternalImpl extends SimpleR2dbcRepository<Client, Long> i
 
     @Override
     public <S extends Client> Mono<S> save(S entity) {
-        return super.save(entity);
+        return cache.invalidating(entity.getId(), super.save(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return cache.invalidating(id, super.deleteById(id));
     }
 }
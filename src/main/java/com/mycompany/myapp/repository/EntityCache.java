@@ -0,0 +1,244 @@
+package com.mycompany.myapp.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.BeanUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cache of the entities of a type read by id, in front of the {@code findById} of their repository.
+ * <p>
+ * The cache is bounded in size and in time to live. Its W-TinyLFU admission only keeps a newly read entity over the eviction
+ * candidate when the entity is read more frequently, so scanning rarely read ids does not evict the hot ones. The repositories
+ * invalidate the entities they write, and the cached entities embedding them, found by the foreign key to the written entity;
+ * the other writes, such as the bulk updates or the writes of the embedded users, are seen once the entries expire.
+ * <p>
+ * The entities are copied in and out of the cache, as the callers may modify the entities they are given.
+ */
+final class EntityCache<T> {
+
+    static final String HIT_RATIO_METER_NAME = "entityManager.entities.hit-ratio";
+
+    /** The cache, or null if the entity caches are disabled. */
+    private final Cache<Long, T> cache;
+
+    private final String table;
+
+    /** Invalidated for the table of the entities with them, even when the entity caches are disabled. */
+    private final QueryCache queryCache;
+
+    /** Counts the invalidations, so that an entity read while its row is written is not cached. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /** The foreign keys of the entities embedding this one, whose entities are invalidated with the entity they reference. */
+    private final List<ForeignKey<?>> dependents = new CopyOnWriteArrayList<>();
+
+    /** The foreign keys of the entities of this cache to the entities they embed, indexing the cached entities. */
+    private final List<ForeignKey<T>> foreignKeys = new CopyOnWriteArrayList<>();
+
+    EntityCache(String table, QueryCache queryCache, ApplicationProperties.Database.EntityCache properties, MeterRegistry meterRegistry) {
+        this.table = table;
+        this.queryCache = queryCache;
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTimeToLive()))
+                .<Long, T>removalListener((id, entity, cause) -> foreignKeys.forEach(foreignKey -> foreignKey.unindex(id, entity)))
+                .recordStats()
+                .build();
+        String name = EntityManager.ENTITY_CACHE_NAME_PREFIX + table;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge
+            .builder(HIT_RATIO_METER_NAME, cache, c -> c.stats().hitRate())
+            .description("Ratio of the reads by id served by the entity cache")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Invalidates the entities of this cache embedding an entity of the given cache whenever that entity is invalidated.
+     * @param embedded the cache of the embedded entities.
+     * @param foreignKey gets the id of the embedded entity from an entity of this cache, or null.
+     */
+    void dependsOn(EntityCache<?> embedded, Function<T, Long> foreignKey) {
+        ForeignKey<T> key = new ForeignKey<>(this, foreignKey);
+        foreignKeys.add(key);
+        embedded.dependents.add(key);
+    }
+
+    /**
+     * Gets an entity from the cache, or loads it and caches it.
+     * @param id the id of the entity.
+     * @param loader loads the entity from the database, an empty result is not cached.
+     * @return the entity, or empty if it does not exist.
+     */
+    Mono<T> get(Long id, Function<Long, Mono<T>> loader) {
+        if (cache == null || id == null) {
+            return loader.apply(id);
+        }
+        return Mono.defer(() -> {
+            T cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return Mono.just(copy(cached));
+            }
+            long invalidationsBefore = invalidations.get();
+            return loader
+                .apply(id)
+                .doOnNext(entity -> {
+                    cache.put(id, copy(entity));
+                    foreignKeys.forEach(foreignKey -> foreignKey.index(id, entity));
+                    // the row was written while it was read, the entity read may be the previous one
+                    if (invalidations.get() != invalidationsBefore) {
+                        cache.invalidate(id);
+                    }
+                });
+        });
+    }
+
+    /**
+     * Invalidates an entity once the given write terminates, for the reads of its transaction, and again once its transaction
+     * completes, for the reads of the other connections, which may cache the previous row until the commit.
+     * @param id the id of the written entity, or null for a new entity.
+     * @param write the write.
+     * @return the write, invalidating the entity.
+     */
+    <R> Mono<R> invalidating(Long id, Mono<R> write) {
+        return invalidating(Collections.singletonList(id), write);
+    }
+
+    /**
+     * Invalidates entities once the given write terminates, for the reads of its transaction, and again once its transaction
+     * completes, for the reads of the other connections, which may cache the previous rows until the commit.
+     * @param ids the ids of the written entities.
+     * @param write the write.
+     * @return the write, invalidating the entities.
+     */
+    <R> Mono<R> invalidating(Collection<Long> ids, Mono<R> write) {
+        Runnable invalidate = () -> ids.forEach(this::invalidate);
+        return TransactionCallbacks.afterCompletion(write.doOnTerminate(invalidate).doOnCancel(invalidate), invalidate);
+    }
+
+    /**
+     * Invalidates an entity, the cached entities embedding it, and the query results reading the table of the entity.
+     * @param id the id of the entity, or null for a new entity, which is neither cached nor embedded yet.
+     */
+    void invalidate(Long id) {
+        queryCache.invalidate(table);
+        if (cache == null || id == null) {
+            return;
+        }
+        evict(id);
+    }
+
+    private void evict(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+        dependents.forEach(foreignKey -> foreignKey.evictReferencing(id));
+    }
+
+    /**
+     * Invalidates all the entities, the caches depending on this one, and the query results reading the table of the entities.
+     */
+    void invalidateAll() {
+        queryCache.invalidate(table);
+        evictAll();
+    }
+
+    private void evictAll() {
+        if (cache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        dependents.forEach(foreignKey -> foreignKey.cache.evictAll());
+    }
+
+    /**
+     * A foreign key of the entities of a cache, with the ids of its cached entities by referenced id.
+     * <p>
+     * An entity is indexed once cached, and unindexed once removed from the cache, unless the entity cached with its id by then
+     * still references the same id, as the removal is notified asynchronously.
+     */
+    private static final class ForeignKey<T> {
+
+        private final EntityCache<T> cache;
+
+        private final Function<T, Long> foreignKey;
+
+        private final Map<Long, Set<Long>> ids = new ConcurrentHashMap<>();
+
+        private ForeignKey(EntityCache<T> cache, Function<T, Long> foreignKey) {
+            this.cache = cache;
+            this.foreignKey = foreignKey;
+        }
+
+        private void index(Long id, T entity) {
+            Long referenced = foreignKey.apply(entity);
+            if (referenced != null) {
+                ids.compute(
+                    referenced,
+                    (key, referencing) -> {
+                        Set<Long> indexed = referencing != null ? referencing : ConcurrentHashMap.newKeySet();
+                        indexed.add(id);
+                        return indexed;
+                    }
+                );
+            }
+        }
+
+        private void unindex(Long id, T entity) {
+            Long referenced = entity != null ? foreignKey.apply(entity) : null;
+            if (referenced == null) {
+                return;
+            }
+            ids.computeIfPresent(
+                referenced,
+                (key, referencing) -> {
+                    T current = cache.cache.getIfPresent(id);
+                    if (current == null || !key.equals(foreignKey.apply(current))) {
+                        referencing.remove(id);
+                    }
+                    return referencing.isEmpty() ? null : referencing;
+                }
+            );
+        }
+
+        private void evictReferencing(Long referenced) {
+            // the entities being read may reference it, without being indexed yet
+            cache.invalidations.incrementAndGet();
+            Set<Long> referencing = ids.remove(referenced);
+            if (referencing != null) {
+                referencing.forEach(cache::evict);
+            }
+        }
+    }
+
+    /**
+     * Copies an entity, or any other bean, property by property.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T entity) {
+        T copy = (T) BeanUtils.instantiateClass(entity.getClass());
+        BeanUtils.copyProperties(entity, copy);
+        return copy;
+    }
+}
@@ -1,31 +1,69 @@
 package com.mycompany.myapp.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.reactivestreams.Publisher;
+import org.springframework.core.convert.ConversionException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.LimitClause;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.Assignment;
+import org.springframework.data.relational.core.sql.Assignments;
+import org.springframework.data.relational.core.sql.BindMarker;
+import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
 import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.data.relational.core.sql.StatementBuilder;
 import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.Update;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.r2dbc.core.binding.BindTarget;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
@@ -40,6 +78,11 @@ public class EntityManager {
 
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
+    public static final String SELECT_CACHE_NAME = "entityManager.selects";
+    public static final String ENTITY_CACHE_NAME_PREFIX = "entityManager.entities.";
+    public static final String KEYSET_ID_PARAMETER = "keysetId";
+    public static final String KEYSET_VALUE_PARAMETER = "keysetValue";
+    private static final String UPDATE_ID_PARAMETER = "updateId";
 
     public static class LinkTable {
 
@@ -57,16 +100,105 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Identifies a rendered select: the entity, the joins made by its repository, the shape of the where clause and the sort.
+     */
+    private static final class SelectKey {
+
+        private final Class<?> entityType;
+        private final String joinShape;
+        private final String whereShape;
+        private final Sort sort;
+
+        SelectKey(Class<?> entityType, String joinShape, Condition where, Sort sort) {
+            this.entityType = entityType;
+            this.joinShape = joinShape;
+            this.whereShape = where != null ? where.toString() : "";
+            this.sort = sort;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectKey)) {
+                return false;
+            }
+            SelectKey other = (SelectKey) o;
+            return (
+                entityType.equals(other.entityType) &&
+                joinShape.equals(other.joinShape) &&
+                whereShape.equals(other.whereShape) &&
+                sort.equals(other.sort)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityType, joinShape, whereShape, sort);
+        }
+    }
+
     private final SqlRenderer sqlRenderer;
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final R2dbcDialect dialect;
+    private final LimitClause limitClause;
+    private final BindMarkersFactory bindMarkersFactory;
+    private final IdentifierProcessing identifierProcessing;
+    private final int insertChunkSize;
+    private final Cache<SelectKey, String> selectCache;
+    private final ApplicationProperties.Database.EntityCache entityCacheProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, EntityCache<?>> entityCaches = new ConcurrentHashMap<>();
+    private final QueryCache queryCache;
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcDialect dialect,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.dialect = dialect;
+        this.limitClause = dialect.limit();
+        this.bindMarkersFactory = dialect.getBindMarkersFactory();
+        this.identifierProcessing = dialect.getIdentifierProcessing();
+        this.insertChunkSize = applicationProperties.getDatabase().getBatchInsert().getChunkSize();
+        this.selectCache =
+            Caffeine.newBuilder().maximumSize(applicationProperties.getDatabase().getSelectCache().getMaximumSize()).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, selectCache, SELECT_CACHE_NAME);
+        this.entityCacheProperties = applicationProperties.getDatabase().getEntityCache();
+        this.meterRegistry = meterRegistry;
+        this.queryCache = new QueryCache(applicationProperties.getDatabase().getQueryCache(), meterRegistry);
+    }
+
+    /**
+     * Gets the cache of the entities of the given type read by id, shared by the repositories reading or embedding them.
+     * @param entityType the entity type.
+     * @return the cache, named after the table of the entity.
+     */
+    @SuppressWarnings("unchecked")
+    <T> EntityCache<T> getEntityCache(Class<T> entityType) {
+        return (EntityCache<T>) entityCaches.computeIfAbsent(
+            entityType,
+            type -> new EntityCache<T>(getTableName(type), queryCache, entityCacheProperties, meterRegistry)
+        );
+    }
+
+    /**
+     * Gets the cache of the results of the select statements, shared by the repositories.
+     * @return the cache.
+     */
+    QueryCache getQueryCache() {
+        return queryCache;
     }
 
     /**
@@ -74,7 +206,8 @@ public class EntityManager {
      * @param selectFrom a representation of a select statement.
      * @param entityType the entity type which holds the table name.
      * @param pageable page parameter, or null, if everything needs to be returned.
-     * @param where condition or null. The condition to apply as where clause.
+     * @param where condition or null. The condition to apply as where clause. Values should be expressed as bind markers
+     *              (for example {@code SQL.bindMarker(":id")}) and bound on the statement, so the SQL text stays the same for every value.
      * @return sql select statement
      */
     public String createSelect(SelectFromAndJoin selectFrom, Class<?> entityType, Pageable pageable, Condition where) {
@@ -106,7 +239,8 @@ public class EntityManager {
      * @param selectFrom a representation of a select statement.
      * @param entityType the entity type which holds the table name.
      * @param pageable page parameter, or null, if everything needs to be returned
-     * @param where condition or null. The condition to apply as where clause.
+     * @param where condition or null. The condition to apply as where clause. Values should be expressed as bind markers
+     *              (for example {@code SQL.bindMarker(":id")}) and bound on the statement, so the SQL text stays the same for every value.
      * @return sql select statement
      */
     public String createSelect(SelectFromAndJoinCondition selectFrom, Class<?> entityType, Pageable pageable, Condition where) {
@@ -133,6 +267,124 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL select statement from the given fragment and pagination parameters, reusing the SQL rendered for an earlier
+     * call with the same join shape, where clause shape and sort.
+     * <p>
+     * The fragment is only built when the statement is not cached yet, and the limit and offset of the page are appended to the
+     * cached statement, so they do not take part in the cache key.
+     * @param joinShape identifies the joins made by {@code selectFrom}, it must differ between fragments of the same entity type.
+     * @param selectFrom supplies a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, or null, if everything needs to be returned
+     * @param where condition or null. The condition to apply as where clause. Values must be expressed as bind markers
+     *              (for example {@code SQL.bindMarker(":id")}), as only the shape of the condition is part of the cache key.
+     * @return sql select statement
+     */
+    public String createSelect(
+        String joinShape,
+        Supplier<SelectFromAndJoinCondition> selectFrom,
+        Class<?> entityType,
+        Pageable pageable,
+        Condition where
+    ) {
+        boolean paged = pageable != null && pageable.isPaged();
+        if (paged && limitClause.getClausePosition() != LimitClause.Position.AFTER_ORDER_BY) {
+            return createSelect(selectFrom.get(), entityType, pageable, where);
+        }
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        String select = selectCache.get(
+            new SelectKey(entityType, joinShape, where, sort),
+            key -> createSelectImpl(where != null ? selectFrom.get().where(where) : selectFrom.get(), entityType, sort)
+        );
+        if (paged) {
+            return select + " " + limitClause.getLimitOffset(pageable.getPageSize(), pageable.getOffset());
+        }
+        return select;
+    }
+
+    /**
+     * Creates the where clause selecting the rows after the given cursor, to be used with the {@link KeysetCursor#toPageable(int)}
+     * page request. The values of the cursor are bound by {@link #bindKeyset}.
+     * @param table the aliased table of the entity.
+     * @param entityType the entity type which holds the sort property.
+     * @param cursor the cursor.
+     * @return the where clause, or null for the first page.
+     */
+    public Condition createKeysetCondition(Table table, Class<?> entityType, KeysetCursor cursor) {
+        if (cursor.isFirst()) {
+            return null;
+        }
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        Column idColumn = table.column(entity.getRequiredIdProperty().getColumnName());
+        BindMarker idMarker = SQL.bindMarker(":" + KEYSET_ID_PARAMETER);
+        boolean ascending = cursor.getDirection().isAscending();
+        if (cursor.isSortedById()) {
+            return ascending ? Conditions.isGreater(idColumn, idMarker) : Conditions.isLess(idColumn, idMarker);
+        }
+        Column column = table.column(entity.getRequiredPersistentProperty(cursor.getProperty()).getColumnName());
+        if (cursor.getLastValue() == null) {
+            // null values are sorted last, so only the remaining null values follow
+            return Conditions.isNull(column).and(Conditions.isGreater(idColumn, idMarker));
+        }
+        BindMarker valueMarker = SQL.bindMarker(":" + KEYSET_VALUE_PARAMETER);
+        return Conditions
+            .nest(ascending ? Conditions.isGreater(column, valueMarker) : Conditions.isLess(column, valueMarker))
+            .or(Conditions.nest(Conditions.isEqual(column, valueMarker).and(Conditions.isGreater(idColumn, idMarker))))
+            .or(Conditions.isNull(column));
+    }
+
+    /**
+     * Binds the values of the given cursor to the parameters of the where clause created by {@link #createKeysetCondition}.
+     * @param spec the statement using the where clause.
+     * @param entityType the entity type which holds the sort property.
+     * @param cursor the cursor.
+     * @return the statement with the bound values.
+     * @throws IllegalArgumentException if the last value of the cursor cannot be converted to the type of the sort property.
+     */
+    public DatabaseClient.GenericExecuteSpec bindKeyset(DatabaseClient.GenericExecuteSpec spec, Class<?> entityType, KeysetCursor cursor) {
+        if (cursor.isFirst()) {
+            return spec;
+        }
+        spec = spec.bind(KEYSET_ID_PARAMETER, cursor.getLastId());
+        if (cursor.isSortedById() || cursor.getLastValue() == null) {
+            return spec;
+        }
+        Class<?> type = getRequiredPersistentEntity(entityType).getRequiredPersistentProperty(cursor.getProperty()).getType();
+        Object lastValue;
+        try {
+            lastValue = r2dbcEntityTemplate.getConverter().getConversionService().convert(cursor.getLastValue(), type);
+        } catch (ConversionException e) {
+            throw new IllegalArgumentException("Malformed cursor value: " + cursor.getLastValue(), e);
+        }
+        return spec.bind(KEYSET_VALUE_PARAMETER, lastValue);
+    }
+
+    /**
+     * Generate an SQL update from the given {@link Update}, which returns the updated rows in the same round trip.
+     * @param update a representation of an update statement.
+     * @param columns the columns of the updated rows to return, as created by the SQL helpers of the entities.
+     * @return the generated SQL update.
+     */
+    public String createUpdateReturning(Update update, List<Expression> columns) {
+        String returning = columns.stream().map(this::renderReturnedColumn).collect(Collectors.joining(", "));
+        String sql = createUpdate(update);
+        if (dialect instanceof H2Dialect) {
+            // H2 has no RETURNING clause, but reads the updated rows from a data change delta table
+            return "SELECT " + returning + " FROM FINAL TABLE (" + sql + ")";
+        }
+        return sql + " RETURNING " + returning;
+    }
+
+    /**
+     * Generate an actual SQL from the given {@link Update}.
+     * @param update a representation of an update statement.
+     * @return the generated SQL update.
+     */
+    public String createUpdate(Update update) {
+        return sqlRenderer.render(update);
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -148,7 +400,8 @@ public class EntityManager {
      * @return the number of deleted entity
      */
     public Mono<Integer> deleteAll(Class<?> entityType) {
-        return r2dbcEntityTemplate.delete(entityType).all();
+        String table = getTableName(entityType);
+        return queryCache.invalidating(table, r2dbcEntityTemplate.delete(entityType).all());
     }
 
     /**
@@ -158,7 +411,10 @@ public class EntityManager {
      */
     public Mono<Integer> deleteAll(String tableName) {
         StatementMapper.DeleteSpec delete = statementMapper.createDelete(tableName);
-        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(delete)).fetch().rowsUpdated();
+        return queryCache.invalidating(
+            tableName,
+            r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(delete)).fetch().rowsUpdated()
+        );
     }
 
     /**
@@ -171,6 +427,143 @@ public class EntityManager {
         return r2dbcEntityTemplate.insert(entity);
     }
 
+    /**
+     * Inserts the given entities into the database with batched statements of at most
+     * {@code application.database.batch-insert.chunk-size} rows, and sets the ids, if they are autoincrement fields.
+     * Unlike {@link #insert(Object)}, no entity callbacks are invoked.
+     * @param <S> the type of the persisted entities.
+     * @param entities the entities to be inserted into the database.
+     * @return the persisted entities, in the order they were given.
+     */
+    public <S> Flux<S> insertAll(Collection<S> entities) {
+        return insertAll(Flux.fromIterable(entities));
+    }
+
+    /**
+     * Inserts the given entities into the database with batched statements of at most
+     * {@code application.database.batch-insert.chunk-size} rows, and sets the ids, if they are autoincrement fields.
+     * Unlike {@link #insert(Object)}, no entity callbacks are invoked.
+     * @param <S> the type of the persisted entities.
+     * @param entities the entities to be inserted into the database.
+     * @return the persisted entities, in the order they were given.
+     */
+    public <S> Flux<S> insertAll(Publisher<S> entities) {
+        // rows with and without ids do not share a statement, as only the latter return generated ids
+        return Flux
+            .from(entities)
+            .windowUntilChanged(entity -> getRequiredPersistentEntity(entity.getClass()).isNew(entity))
+            .concatMap(window -> window.buffer(insertChunkSize).concatMap(this::insertChunk));
+    }
+
+    /**
+     * Updates the row of the given entity, if it exists, and reads it back in the same round trip.
+     * @param <S> the type of the entity.
+     * @param entity the entity to be updated, its id must be set; every column is written.
+     * @param columns the SQL helper of the entity, which lists its columns.
+     * @param rowMapper the row mapper of the entity.
+     * @return the updated entity, without its relations, or empty if no row has the id of the entity.
+     */
+    public <S> Mono<S> updateIfExists(S entity, BiFunction<Table, String, List<Expression>> columns, BiFunction<Row, String, S> rowMapper) {
+        return updateIfExists(entity, null, Map.of(), Map.of(), columns, rowMapper);
+    }
+
+    /**
+     * Patches the row of the given entity, if it exists, and reads it back in the same round trip, as for a merge-patch.
+     * @param <S> the type of the entity.
+     * @param entity the entity to be patched, its id must be set.
+     * @param patchableColumns the columns which may be patched; only those of them with a non-null field are written, the
+     * other columns, such as the foreign keys, keep their values.
+     * @param columns the SQL helper of the entity, which lists its columns.
+     * @param rowMapper the row mapper of the entity.
+     * @return the patched entity, without its relations, or empty if no row has the id of the entity.
+     */
+    public <S> Mono<S> patchIfExists(
+        S entity,
+        Collection<String> patchableColumns,
+        BiFunction<Table, String, List<Expression>> columns,
+        BiFunction<Row, String, S> rowMapper
+    ) {
+        return patchIfExists(entity, patchableColumns, Map.of(), Map.of(), columns, rowMapper);
+    }
+
+    /**
+     * Patches the row of the given entity, if it exists, and reads it back in the same round trip, as for a merge-patch, computing
+     * the columns left out of the patch from the current row.
+     * @param <S> the type of the entity.
+     * @param entity the entity to be patched, its id must be set.
+     * @param patchableColumns the columns which may be patched; only those of them with a non-null field are written, the
+     * other columns, such as the foreign keys, keep their values.
+     * @param unpatchedColumns the expressions written to the given columns when the patch does not write them, which read the
+     * values of the row before the patch.
+     * @param parameters the values bound to the named parameters of the expressions.
+     * @param columns the SQL helper of the entity, which lists its columns.
+     * @param rowMapper the row mapper of the entity.
+     * @return the patched entity, without its relations, or empty if no row has the id of the entity.
+     */
+    public <S> Mono<S> patchIfExists(
+        S entity,
+        Collection<String> patchableColumns,
+        Map<String, Expression> unpatchedColumns,
+        Map<String, Object> parameters,
+        BiFunction<Table, String, List<Expression>> columns,
+        BiFunction<Row, String, S> rowMapper
+    ) {
+        Assert.notNull(patchableColumns, "patchableColumns is null");
+        return updateIfExists(entity, patchableColumns, unpatchedColumns, parameters, columns, rowMapper);
+    }
+
+    private <S> Mono<S> updateIfExists(
+        S entity,
+        Collection<String> patchableColumns,
+        Map<String, Expression> unpatchedColumns,
+        Map<String, Object> parameters,
+        BiFunction<Table, String, List<Expression>> columns,
+        BiFunction<Row, String, S> rowMapper
+    ) {
+        RelationalPersistentEntity<?> persistentEntity = getRequiredPersistentEntity(entity.getClass());
+        SqlIdentifier idColumn = persistentEntity.getRequiredIdProperty().getColumnName();
+        OutboundRow row = getOutboundRow(entity);
+        Parameter id = row.remove(idColumn);
+        Assert.isTrue(id != null && id.hasValue(), "id is null");
+        if (patchableColumns != null) {
+            row
+                .entrySet()
+                .removeIf(column -> !column.getValue().hasValue() || !patchableColumns.contains(column.getKey().getReference()));
+        }
+
+        Table table = Table.create(persistentEntity.getTableName());
+        BindMarker idMarker = SQL.bindMarker(":" + UPDATE_ID_PARAMETER);
+        List<Assignment> assignments = new ArrayList<>();
+        Set<String> writtenColumns = new HashSet<>();
+        for (SqlIdentifier column : row.keySet()) {
+            assignments.add(Assignments.value(table.column(column), SQL.bindMarker(":" + column.getReference(identifierProcessing))));
+            writtenColumns.add(column.getReference());
+        }
+        for (Entry<String, Expression> column : unpatchedColumns.entrySet()) {
+            if (!writtenColumns.contains(column.getKey())) {
+                assignments.add(Assignments.value(table.column(column.getKey()), column.getValue()));
+            }
+        }
+        if (assignments.isEmpty()) {
+            // nothing to write, but the row is still read back in a single statement
+            assignments.add(Assignments.value(table.column(idColumn), idMarker));
+        }
+        Update update = StatementBuilder.update(table).set(assignments).where(Conditions.isEqual(table.column(idColumn), idMarker)).build();
+
+        DatabaseClient.GenericExecuteSpec spec = r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(createUpdateReturning(update, columns.apply(table, ENTITY_ALIAS)))
+            .bind(UPDATE_ID_PARAMETER, id);
+        for (Entry<SqlIdentifier, Parameter> parameter : row.entrySet()) {
+            spec = spec.bind(parameter.getKey().getReference(identifierProcessing), parameter.getValue());
+        }
+        for (Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        String tableName = persistentEntity.getTableName().getReference();
+        return queryCache.invalidating(tableName, spec.map((result, metadata) -> rowMapper.apply(result, ENTITY_ALIAS)).one());
+    }
+
     /**
      * Updates the table, which links the entity with the referred entities.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
@@ -179,22 +572,22 @@ public class EntityManager {
      * @return the number of inserted rows.
      */
     public Mono<Integer> updateLinkTable(LinkTable table, Object entityId, Stream<?> referencedIds) {
+        SqlIdentifier tableName = SqlIdentifier.unquoted(table.tableName);
+        List<SqlIdentifier> columns = List.of(SqlIdentifier.unquoted(table.idColumn), SqlIdentifier.unquoted(table.referenceColumn));
         return deleteFromLinkTable(table, entityId)
             .then(
                 Flux
                     .fromStream(referencedIds)
-                    .flatMap((Object referenceId) -> {
-                        StatementMapper.InsertSpec insert = r2dbcEntityTemplate
-                            .getDataAccessStrategy()
-                            .getStatementMapper()
-                            .createInsert(table.tableName)
-                            .withColumn(table.idColumn, Parameter.from(entityId))
-                            .withColumn(table.referenceColumn, Parameter.from(referenceId));
-
-                        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(insert)).fetch().rowsUpdated();
-                    })
-                    .collectList()
-                    .map((List<Integer> updates) -> updates.stream().reduce(Integer::sum).orElse(0))
+                    .map((Object referenceId) -> List.of(Parameter.from(entityId), Parameter.from(referenceId)))
+                    .buffer(insertChunkSize)
+                    .concatMap((List<List<Parameter>> rows) ->
+                        r2dbcEntityTemplate
+                            .getDatabaseClient()
+                            .inConnectionMany(connection ->
+                                Flux.from(createBatchInsert(connection, tableName, columns, rows).execute()).flatMap(Result::getRowsUpdated)
+                            )
+                    )
+                    .reduce(0, Integer::sum)
             );
     }
 
@@ -208,6 +601,98 @@ public class EntityManager {
         return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
     }
 
+    private <S> Flux<S> insertChunk(List<S> chunk) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(chunk.get(0).getClass());
+        RelationalPersistentProperty idProperty = entity.getRequiredIdProperty();
+        boolean generatedIds = entity.isNew(chunk.get(0));
+        List<SqlIdentifier> columns = null;
+        List<List<Parameter>> rows = new ArrayList<>(chunk.size());
+        for (S object : chunk) {
+            OutboundRow row = getOutboundRow(object);
+            if (generatedIds) {
+                row.remove(idProperty.getColumnName());
+            }
+            if (columns == null) {
+                columns = new ArrayList<>(row.keySet());
+            }
+            rows.add(columns.stream().map(row::get).collect(Collectors.toList()));
+        }
+        List<SqlIdentifier> insertedColumns = columns;
+        String tableName = entity.getTableName().getReference();
+        Flux<S> insert = r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = createBatchInsert(connection, entity.getTableName(), insertedColumns, rows);
+                if (!generatedIds) {
+                    return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated).thenMany(Flux.fromIterable(chunk));
+                }
+                // the order of the returned rows is not specified, but the ids generated by a single statement increase in the
+                // order of its VALUES list, as the identity and sequence defaults are evaluated row by row: the sorted ids are
+                // those of the rows in the order they were given
+                String idColumn = idProperty.getColumnName().getReference(identifierProcessing);
+                return Flux
+                    .from(statement.returnGeneratedValues(idColumn).execute())
+                    .concatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+                    .sort()
+                    .zipWith(Flux.fromIterable(chunk), (id, object) -> setId(entity, idProperty, object, id));
+            });
+        return queryCache.invalidating(tableName, insert);
+    }
+
+    private Statement createBatchInsert(
+        Connection connection,
+        SqlIdentifier table,
+        List<SqlIdentifier> columns,
+        List<List<Parameter>> rows
+    ) {
+        // a single multi-row insert, as Statement.add() batches are not supported by every driver
+        BindMarkers bindMarkers = bindMarkersFactory.create();
+        List<org.springframework.r2dbc.core.binding.BindMarker> markers = new ArrayList<>(rows.size() * columns.size());
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < rows.size(); i++) {
+            StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+            for (int column = 0; column < columns.size(); column++) {
+                org.springframework.r2dbc.core.binding.BindMarker marker = bindMarkers.next();
+                markers.add(marker);
+                placeholders.add(marker.getPlaceholder());
+            }
+            values.add(placeholders.toString());
+        }
+        String sql =
+            "INSERT INTO " +
+            table.toSql(identifierProcessing) +
+            " (" +
+            columns.stream().map(column -> column.toSql(identifierProcessing)).collect(Collectors.joining(", ")) +
+            ") VALUES " +
+            values;
+        Statement statement = connection.createStatement(sql);
+        StatementBindTarget target = new StatementBindTarget(statement);
+        Iterator<org.springframework.r2dbc.core.binding.BindMarker> marker = markers.iterator();
+        for (List<Parameter> row : rows) {
+            for (Parameter parameter : row) {
+                if (parameter.hasValue()) {
+                    marker.next().bind(target, parameter.getValue());
+                } else {
+                    marker.next().bindNull(target, parameter.getType());
+                }
+            }
+        }
+        return statement;
+    }
+
+    private OutboundRow getOutboundRow(Object entity) {
+        OutboundRow row = new OutboundRow();
+        r2dbcEntityTemplate.getConverter().write(entity, row);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S> S setId(RelationalPersistentEntity<?> entity, RelationalPersistentProperty idProperty, S object, Object id) {
+        PersistentPropertyAccessor<S> accessor = ((RelationalPersistentEntity<S>) entity).getPropertyAccessor(object);
+        accessor.setProperty(idProperty, r2dbcEntityTemplate.getConverter().getConversionService().convert(id, idProperty.getType()));
+        return accessor.getBean();
+    }
+
     private String createSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Sort sortParameter) {
         if (sortParameter != null && sortParameter.isSorted()) {
             RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
@@ -220,10 +705,52 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    private String renderReturnedColumn(Expression expression) {
+        Column column = (Column) expression;
+        return column.getName().toSql(identifierProcessing) + " AS " + column.getReferenceName().toSql(identifierProcessing);
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
 
+    private RelationalPersistentEntity<?> getRequiredPersistentEntity(Class<?> entityType) {
+        return r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+    }
+
+    private String getTableName(Class<?> entityType) {
+        return getRequiredPersistentEntity(entityType).getTableName().getReference();
+    }
+
+    private static final class StatementBindTarget implements BindTarget {
+
+        private final Statement statement;
+
+        private StatementBindTarget(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void bind(String identifier, Object value) {
+            statement.bind(identifier, value);
+        }
+
+        @Override
+        public void bind(int index, Object value) {
+            statement.bind(index, value);
+        }
+
+        @Override
+        public void bindNull(String identifier, Class<?> type) {
+            statement.bindNull(identifier, type);
+        }
+
+        @Override
+        public void bindNull(int index, Class<?> type) {
+            statement.bindNull(index, type);
+        }
+    }
+
     private static Collection<? extends OrderByField> createOrderByFields(Table table, Sort sortToUse) {
         List<OrderByField> fields = new ArrayList<>();
 
@@ -231,6 +758,7 @@ public class EntityManager {
             String propertyName = order.getProperty();
             OrderByField orderByField = OrderByField.from(table.column(propertyName).as(EntityManager.ALIAS_PREFIX + propertyName));
 
+            orderByField = orderByField.withNullHandling(order.getNullHandling());
             fields.add(order.isAscending() ? orderByField.asc() : orderByField.desc());
         }
 
@@ -0,0 +1,121 @@
+package com.mycompany.myapp.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * Position in a keyset paginated list: the property and direction the rows are sorted by, and the sort value and id of the last
+ * row of the previous page.
+ * <p>
+ * Rows are sorted by the property with null values last, then by ascending id, so that the position of every row is unique.
+ */
+public final class KeysetCursor {
+
+    private static final String ID_PROPERTY = "id";
+    private static final String SEPARATOR = ",";
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "=";
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    private final String lastValue;
+
+    private KeysetCursor(String property, Sort.Direction direction, Long lastId, String lastValue) {
+        Assert.hasText(property, "property is empty");
+        Assert.notNull(direction, "direction is null");
+        this.property = property;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Creates the cursor of the first page.
+     * @param property the property to sort by.
+     * @param direction the direction to sort in.
+     * @return the cursor of the first page.
+     */
+    public static KeysetCursor first(String property, Sort.Direction direction) {
+        return new KeysetCursor(property, direction, null, null);
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encode()}.
+     * @param encoded the encoded cursor.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static KeysetCursor decode(String encoded) {
+        String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(SEPARATOR, 4);
+        if (parts.length != 4 || !(parts[3].equals(NULL_VALUE) || parts[3].startsWith(VALUE_PREFIX))) {
+            throw new IllegalArgumentException("Malformed cursor: " + encoded);
+        }
+        String lastValue = parts[3].equals(NULL_VALUE) ? null : parts[3].substring(VALUE_PREFIX.length());
+        return new KeysetCursor(parts[1], Sort.Direction.fromString(parts[0]), Long.valueOf(parts[2]), lastValue);
+    }
+
+    /**
+     * Creates the cursor of the page following the given last row.
+     * @param lastId the id of the last row of the current page.
+     * @param lastValue the value of the sort property of the last row of the current page.
+     * @return the cursor of the next page.
+     */
+    public KeysetCursor next(Long lastId, Object lastValue) {
+        Assert.notNull(lastId, "lastId is null");
+        return new KeysetCursor(property, direction, lastId, lastValue != null ? lastValue.toString() : null);
+    }
+
+    /**
+     * Encodes the cursor so that it can be handed out to clients.
+     * @return the encoded cursor, which only contains URL safe characters.
+     */
+    public String encode() {
+        Assert.state(!isFirst(), "the cursor of the first page cannot be encoded");
+        String value = lastValue != null ? VALUE_PREFIX + lastValue : NULL_VALUE;
+        String decoded = String.join(SEPARATOR, direction.name(), property, lastId.toString(), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates the page request fetching the given number of rows after this cursor.
+     * @param size the number of rows.
+     * @return the page request.
+     */
+    public Pageable toPageable(int size) {
+        if (isSortedById()) {
+            return PageRequest.of(0, size, Sort.by(direction, ID_PROPERTY));
+        }
+        Sort sort = Sort.by(new Sort.Order(direction, property, Sort.NullHandling.NULLS_LAST)).and(Sort.by(ID_PROPERTY));
+        return PageRequest.of(0, size, sort);
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public boolean isSortedById() {
+        return ID_PROPERTY.equals(property);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+}
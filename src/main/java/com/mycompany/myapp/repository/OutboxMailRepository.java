@@ -0,0 +1,57 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.OutboxMail;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link OutboxMail} entity.
+ */
+@Repository
+public interface OutboxMailRepository extends R2dbcRepository<OutboxMail, Long> {
+    /**
+     * Claims a batch of due mails, by setting their lease id and pushing back their next attempt date past the lease.
+     * <p>
+     * The due date is checked again on the claimed rows, so that the rows claimed by a concurrent batch, in this instance or
+     * another one, are skipped.
+     * @param leaseId the lease id of the batch.
+     * @param leaseEnd the end of the lease, when the mails are due again if the batch did not send them.
+     * @param now the current date.
+     * @param batchSize the maximum number of mails claimed.
+     * @return the number of claimed mails.
+     */
+    @Modifying
+    @Query(
+        "UPDATE mail_outbox SET lease_id = :leaseId, next_attempt_date = :leaseEnd" +
+        " WHERE next_attempt_date <= :now" +
+        " AND id IN (SELECT id FROM mail_outbox WHERE next_attempt_date <= :now ORDER BY next_attempt_date, id LIMIT :batchSize)"
+    )
+    Mono<Integer> claim(
+        @Param("leaseId") String leaseId,
+        @Param("leaseEnd") Instant leaseEnd,
+        @Param("now") Instant now,
+        @Param("batchSize") int batchSize
+    );
+
+    Flux<OutboxMail> findAllByLeaseId(String leaseId);
+
+    /**
+     * Schedules the next attempt to send a mail, once an attempt failed.
+     * @param id the id of the mail.
+     * @param attempts the number of attempts made.
+     * @param nextAttemptDate the date of the next attempt, or null to not send the mail again.
+     * @return the number of updated mails.
+     */
+    @Modifying
+    @Query("UPDATE mail_outbox SET attempts = :attempts, next_attempt_date = :nextAttemptDate, lease_id = NULL WHERE id = :id")
+    Mono<Integer> reschedule(@Param("id") Long id, @Param("attempts") int attempts, @Param("nextAttemptDate") Instant nextAttemptDate);
+
+    @Query("SELECT COUNT(*) FROM mail_outbox WHERE next_attempt_date IS NOT NULL")
+    Mono<Long> countPending();
+}
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.ProductionTick;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link ProductionTick} entity.
+ */
+@Repository
+public interface ProductionTickRepository extends R2dbcRepository<ProductionTick, String> {
+    /**
+     * Claims the lease of the ticks, unless another lease is still running.
+     * @param id the id of the ticks.
+     * @param leaseId the id of the new lease.
+     * @param leaseEnd the end of the new lease.
+     * @param now the current date.
+     * @return 1 if the lease is claimed, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        "UPDATE production_tick SET lease_id = :leaseId, lease_end = :leaseEnd" +
+        " WHERE id = :id AND (lease_end IS NULL OR lease_end <= :now)"
+    )
+    Mono<Integer> claim(
+        @Param("id") String id,
+        @Param("leaseId") String leaseId,
+        @Param("leaseEnd") Instant leaseEnd,
+        @Param("now") Instant now
+    );
+
+    /**
+     * Moves the date up to which the production has been applied, if the lease is still held.
+     * @param id the id of the ticks.
+     * @param leaseId the id of the held lease.
+     * @param producedUntil the new date.
+     * @return 1 if the date is moved, 0 if the lease is lost.
+     */
+    @Modifying
+    @Query("UPDATE production_tick SET produced_until = :producedUntil WHERE id = :id AND lease_id = :leaseId")
+    Mono<Integer> advance(@Param("id") String id, @Param("leaseId") String leaseId, @Param("producedUntil") Instant producedUntil);
+}
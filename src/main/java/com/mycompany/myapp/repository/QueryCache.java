@@ -0,0 +1,221 @@
+package com.mycompany.myapp.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cache of the results of the select statements, keyed by their SQL and bound values, and tagged with the tables they read.
+ * <p>
+ * Each table has a version, incremented by the writes of the repositories, and a result is only served while its tables are at the
+ * versions it was read at, so a write invalidates the results reading its table in constant time. The results of the statements
+ * running while one of their tables is written are not cached, and the versions are incremented again once the transaction of the
+ * write completes, as the statements of the other connections read the previous rows until then.
+ * <p>
+ * The cache is bounded by the total number of rows of its results, and in time to live. The results with more rows than
+ * {@code application.database.query-cache.max-result-rows} are streamed without being cached. The rows are copied in and out of the
+ * cache, as the callers may modify the entities they are given.
+ */
+final class QueryCache {
+
+    static final String CACHE_NAME = "entityManager.queries";
+    static final String STALE_METER_NAME = "entityManager.queries.stale";
+    static final String REFUSED_METER_NAME = "entityManager.queries.refused";
+
+    private static final class Key {
+
+        private final String sql;
+        private final List<?> binds;
+
+        Key(String sql, List<?> binds) {
+            this.sql = sql;
+            this.binds = binds;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return sql.equals(other.sql) && binds.equals(other.binds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, binds);
+        }
+    }
+
+    private static final class Result {
+
+        private final List<?> rows;
+        private final long[] versions;
+
+        Result(List<?> rows, long[] versions) {
+            this.rows = rows;
+            this.versions = versions;
+        }
+    }
+
+    /** The cache, or null if the query cache is disabled. */
+    private final Cache<Key, Result> cache;
+
+    private final int maxResultRows;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final Counter staleHits;
+
+    private final Counter staleLoads;
+
+    private final Counter refused;
+
+    QueryCache(ApplicationProperties.Database.QueryCache properties, MeterRegistry meterRegistry) {
+        this.maxResultRows = properties.getMaxResultRows();
+        this.staleHits =
+            Counter
+                .builder(STALE_METER_NAME)
+                .description("Cached query results not served, as one of their tables was written since they were read")
+                .tag("on", "hit")
+                .register(meterRegistry);
+        this.staleLoads =
+            Counter
+                .builder(STALE_METER_NAME)
+                .description("Query results not cached, as one of their tables was written while they were read")
+                .tag("on", "load")
+                .register(meterRegistry);
+        this.refused =
+            Counter
+                .builder(REFUSED_METER_NAME)
+                .description("Query results not cached, as they have too many rows")
+                .register(meterRegistry);
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumWeight(properties.getMaximumRows())
+                .<Key, Result>weigher((key, result) -> Math.max(result.rows.size(), 1))
+                .expireAfterWrite(Duration.ofMillis(properties.getTimeToLive()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Gets the result of a select statement from the cache, or runs the statement and caches its result.
+     * @param sql the SQL of the statement.
+     * @param binds the values bound to the statement.
+     * @param tables the tables read by the statement.
+     * @param query runs the statement.
+     * @return the rows of the result.
+     */
+    @SuppressWarnings("unchecked")
+    <T> Flux<T> get(String sql, List<?> binds, List<String> tables, Supplier<Flux<T>> query) {
+        if (cache == null) {
+            return query.get();
+        }
+        return Flux.defer(() -> {
+            Key key = new Key(sql, binds);
+            Result cached = cache.getIfPresent(key);
+            if (cached != null) {
+                if (isCurrent(tables, cached.versions)) {
+                    return Flux.fromIterable((List<T>) cached.rows).map(EntityCache::copy);
+                }
+                staleHits.increment();
+                cache.asMap().remove(key, cached);
+            }
+            long[] versionsBefore = versionsOf(tables);
+            List<T> rows = new ArrayList<>();
+            return query
+                .get()
+                .doOnNext(row -> {
+                    // one row more than the limit tells the result apart from a result at the limit
+                    if (rows.size() <= maxResultRows) {
+                        rows.add(EntityCache.copy(row));
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (rows.size() > maxResultRows) {
+                        refused.increment();
+                    } else if (!isCurrent(tables, versionsBefore)) {
+                        staleLoads.increment();
+                    } else {
+                        cache.put(key, new Result(rows, versionsBefore));
+                    }
+                });
+        });
+    }
+
+    /**
+     * Invalidates the results reading the given table.
+     * @param table the name of the written table.
+     */
+    void invalidate(String table) {
+        version(table).incrementAndGet();
+    }
+
+    /**
+     * Invalidates the results reading a table once the given write terminates, for the statements of its transaction, and again
+     * once its transaction completes, for the statements of the other connections, which read the previous rows until the commit.
+     * @param table the name of the written table.
+     * @param write the write.
+     * @return the write, invalidating the results.
+     */
+    <R> Mono<R> invalidating(String table, Mono<R> write) {
+        Runnable invalidate = () -> invalidate(table);
+        return TransactionCallbacks.afterCompletion(write.doOnTerminate(invalidate).doOnCancel(invalidate), invalidate);
+    }
+
+    /**
+     * Invalidates the results reading a table once the given write terminates, and again once its transaction completes.
+     * @param table the name of the written table.
+     * @param write the write.
+     * @return the write, invalidating the results.
+     * @see #invalidating(String, Mono)
+     */
+    <R> Flux<R> invalidating(String table, Flux<R> write) {
+        Runnable invalidate = () -> invalidate(table);
+        return TransactionCallbacks.afterCompletion(write.doOnTerminate(invalidate).doOnCancel(invalidate), invalidate);
+    }
+
+    private boolean isCurrent(List<String> tables, long[] versionsRead) {
+        for (int i = 0; i < versionsRead.length; i++) {
+            if (version(tables.get(i)).get() != versionsRead[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long[] versionsOf(List<String> tables) {
+        long[] result = new long[tables.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = version(tables.get(i)).get();
+        }
+        return result;
+    }
+
+    private AtomicLong version(String table) {
+        return versions.computeIfAbsent(table, name -> new AtomicLong());
+    }
+}
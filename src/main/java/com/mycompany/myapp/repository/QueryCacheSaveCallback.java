@@ -0,0 +1,30 @@
+package com.mycompany.myapp.repository;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.r2dbc.mapping.event.AfterSaveCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Invalidates the cached query results reading the table of each entity saved through the R2DBC entity template, such as the users
+ * saved by the {@link UserRepository}, which are joined by the queries of the other entities, once saved and again once their
+ * transaction completes.
+ */
+@Component
+class QueryCacheSaveCallback implements AfterSaveCallback<Object> {
+
+    /** Provided lazily, as the entity manager depends on the R2DBC entity template, which depends on its callbacks. */
+    private final ObjectProvider<EntityManager> entityManager;
+
+    public QueryCacheSaveCallback(ObjectProvider<EntityManager> entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Publisher<Object> onAfterSave(Object entity, OutboundRow outboundRow, SqlIdentifier table) {
+        return entityManager.getObject().getQueryCache().invalidating(table.getReference(), Mono.just(entity));
+    }
+}
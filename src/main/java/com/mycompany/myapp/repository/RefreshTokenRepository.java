@@ -0,0 +1,34 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.RefreshToken;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link RefreshToken} entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends R2dbcRepository<RefreshToken, Long> {
+    Mono<RefreshToken> findOneByTokenHash(String tokenHash);
+
+    /**
+     * Deletes a refresh token, as it is used.
+     * @param id the id of the refresh token.
+     * @return the number of deleted tokens, 0 if the token was already used by a concurrent request.
+     */
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE id = :id")
+    Mono<Integer> deleteOneById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE user_id = :userId")
+    Mono<Integer> deleteAllByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM refresh_token WHERE expiry_date < :date")
+    Mono<Integer> deleteAllByExpiryDateBefore(Instant date);
+}
@@ -2,8 +2,10 @@ package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.ResourceData;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -21,6 +23,30 @@ public interface ResourceDataRepository extends ReactiveCrudRepository<ResourceD
     @Query("SELECT * FROM resource_data entity WHERE entity.register_user_id IS NULL")
     Flux<ResourceData> findAllWhereRegisterUserIsNull();
 
+    @Query("SELECT id FROM resource_data ORDER BY id ASC LIMIT 1")
+    Mono<Long> findFirstId();
+
+    @Query("SELECT id FROM resource_data ORDER BY id DESC LIMIT 1")
+    Mono<Long> findLastId();
+
+    /**
+     * Adds the production of the given duration to the resources of the rows with an id in the given range, in a single statement.
+     * Resources with a null rate are left unchanged; null resources with a rate are counted as zero.
+     * @param fromId the first id of the range, inclusive.
+     * @param toId the last id of the range, inclusive.
+     * @param elapsedSeconds the duration of the production, in seconds.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query(
+        "UPDATE resource_data SET " +
+        "gold = COALESCE(COALESCE(gold, 0) + gold_rate * :elapsedSeconds, gold), " +
+        "wood = COALESCE(COALESCE(wood, 0) + wood_rate * :elapsedSeconds, wood), " +
+        "fer = COALESCE(COALESCE(fer, 0) + fer_rate * :elapsedSeconds, fer) " +
+        "WHERE id BETWEEN :fromId AND :toId AND (gold_rate IS NOT NULL OR wood_rate IS NOT NULL OR fer_rate IS NOT NULL)"
+    )
+    Mono<Integer> produce(@Param("fromId") long fromId, @Param("toId") long toId, @Param("elapsedSeconds") double elapsedSeconds);
+
     @Override
     <S extends ResourceData> Mono<S> save(S entity);
 
@@ -39,9 +65,32 @@ interface ResourceDataRepositoryInternal {
 
     Flux<ResourceData> findAllBy(Pageable pageable);
 
+    Flux<ResourceData> findAllAfter(KeysetCursor cursor, int size);
+
     Flux<ResourceData> findAll();
 
     Mono<ResourceData> findById(Long id);
+
+    /**
+     * Streams the resourceDatas with an id in the given range.
+     * @param fromId the first id of the range, inclusive.
+     * @param toId the last id of the range, inclusive.
+     * @return the resourceDatas, in no particular order.
+     */
+    Flux<ResourceData> findAllByIdBetween(long fromId, long toId);
+
+    Mono<ResourceData> updateIfExists(ResourceData entity);
+
+    Mono<ResourceData> patchIfExists(ResourceData entity);
+
+    Mono<Void> deleteById(Long id);
+
+    /**
+     * Evicts all the cached resourceDatas, once rows were written by a statement bypassing the cache, such as
+     * {@link ResourceDataRepository#produce}.
+     * @return a {@link Mono} completing once the resourceDatas are evicted.
+     */
+    Mono<Void> evictCache();
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<ResourceData> findAllBy(Pageable pageable, Criteria criteria);
 
@@ -8,6 +8,7 @@ import com.mycompany.myapp.repository.rowmapper.UserRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -25,12 +26,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -46,9 +47,15 @@ class ResourceDataRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceD
 
     private final UserRowMapper userMapper;
     private final ResourceDataRowMapper resourcedataMapper;
+    private final EntityCache<ResourceData> cache;
+    private final QueryCache queryCache;
 
     private static final Table entityTable = Table.aliased("resource_data", EntityManager.ENTITY_ALIAS);
     private static final Table registerUserTable = Table.aliased("jhi_user", "registerUser");
+    private static final String JOIN_SHAPE = "registerUser";
+    private static final List<String> QUERY_TABLES = List.of("resource_data", "jhi_user");
+    /** The columns written by a merge-patch; the foreign keys are only written by a full update. */
+    private static final List<String> PATCHABLE_COLUMNS = List.of("gold", "wood", "fer");
 
     public ResourceDataRepositoryInternalImpl(
         R2dbcEntityTemplate template,
@@ -68,26 +75,47 @@ class ResourceDataRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceD
         this.entityManager = entityManager;
         this.userMapper = userMapper;
         this.resourcedataMapper = resourcedataMapper;
+        this.cache = entityManager.getEntityCache(ResourceData.class);
+        this.queryCache = entityManager.getQueryCache();
     }
 
     @Override
     public Flux<ResourceData> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        String select = createSelect(pageable, null);
+        return queryCache.get(select, List.of(), QUERY_TABLES, () -> db.sql(select).map(this::process).all());
     }
 
-    RowsFetchSpec<ResourceData> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<ResourceData> findAllAfter(KeysetCursor cursor, int size) {
+        Condition whereClause = entityManager.createKeysetCondition(entityTable, ResourceData.class, cursor);
+        String select = createSelect(cursor.toPageable(size), whereClause);
+        return queryCache.get(
+            select,
+            Arrays.asList(cursor.getLastId(), cursor.getLastValue()),
+            QUERY_TABLES,
+            () -> entityManager.bindKeyset(db.sql(select), ResourceData.class, cursor).map(this::process).all()
+        );
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Condition whereClause) {
+        return db.sql(createSelect(pageable, whereClause));
+    }
+
+    private String createSelect(Pageable pageable, Condition whereClause) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager.createSelect(JOIN_SHAPE, this::selectFrom, ResourceData.class, pageable, whereClause);
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = ResourceDataSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(UserSqlHelper.getColumns(registerUserTable, "registerUser"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(registerUserTable)
             .on(Column.create("register_user_id", entityTable))
             .equals(Column.create("id", registerUserTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, ResourceData.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -97,8 +125,38 @@ class ResourceDataRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceD
 
     @Override
     public Mono<ResourceData> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return cache.get(id, this::selectById);
+    }
+
+    private Mono<ResourceData> selectById(Long id) {
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause).bind("id", id).map(this::process).one();
+    }
+
+    @Override
+    public Flux<ResourceData> findAllByIdBetween(long fromId, long toId) {
+        Condition whereClause = Conditions.between(entityTable.column("id"), SQL.bindMarker(":fromId"), SQL.bindMarker(":toId"));
+        return createQuery(null, whereClause).bind("fromId", fromId).bind("toId", toId).map(this::process).all();
+    }
+
+    @Override
+    public Mono<ResourceData> updateIfExists(ResourceData entity) {
+        Mono<ResourceData> update = entityManager
+            .updateIfExists(entity, ResourceDataSqlHelper::getColumns, resourcedataMapper)
+            // the relation written is that of the given resourceData
+            .map(updated -> updated.registerUser(entity.getRegisterUser()));
+        return cache.invalidating(entity.getId(), update);
+    }
+
+    @Override
+    public Mono<ResourceData> patchIfExists(ResourceData entity) {
+        Mono<ResourceData> update = entityManager.patchIfExists(
+            entity,
+            PATCHABLE_COLUMNS,
+            ResourceDataSqlHelper::getColumns,
+            resourcedataMapper
+        );
+        return cache.invalidating(entity.getId(), update);
     }
 
     private ResourceData process(Row row, RowMetadata metadata) {
@@ -109,6 +167,16 @@ class ResourceDataRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceD
 
     @Override
     public <S extends ResourceData> Mono<S> save(S entity) {
-        return super.save(entity);
+        return cache.invalidating(entity.getId(), super.save(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return cache.invalidating(id, super.deleteById(id));
+    }
+
+    @Override
+    public Mono<Void> evictCache() {
+        return Mono.fromRunnable(cache::invalidateAll);
     }
 }
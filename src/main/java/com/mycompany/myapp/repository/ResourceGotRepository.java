@@ -1,9 +1,14 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.ResourceGot;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -15,11 +20,41 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface ResourceGotRepository extends ReactiveCrudRepository<ResourceGot, Long>, ResourceGotRepositoryInternal {
-    @Query("SELECT * FROM resource_got entity WHERE entity.register_user_id = :id")
-    Flux<ResourceGot> findByRegisterUser(Long id);
+    @Query("SELECT id FROM resource_got ORDER BY id ASC LIMIT 1")
+    Mono<Long> findFirstId();
 
-    @Query("SELECT * FROM resource_got entity WHERE entity.register_user_id IS NULL")
-    Flux<ResourceGot> findAllWhereRegisterUserIsNull();
+    @Query("SELECT id FROM resource_got ORDER BY id DESC LIMIT 1")
+    Mono<Long> findLastId();
+
+    @Query("SELECT id FROM resource_got")
+    Flux<Long> findAllIds();
+
+    /**
+     * Adds the production of the given duration to the resources of the rows with an id in the given range, in a single statement.
+     * Resources with a null rate are left unchanged; null resources with a rate are counted as zero. The updated rows are settled
+     * at the given time, so that they would be accrued from it if the lazy accrual were turned on. The last modification time
+     * of the rows is left unchanged.
+     * @param fromId the first id of the range, inclusive.
+     * @param toId the last id of the range, inclusive.
+     * @param elapsedSeconds the duration of the production, in seconds.
+     * @param settledAt the time up to which the production is applied.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Query(
+        "UPDATE resource_got SET " +
+        "gold = COALESCE(COALESCE(gold, 0) + gold_rate * :elapsedSeconds, gold), " +
+        "wood = COALESCE(COALESCE(wood, 0) + wood_rate * :elapsedSeconds, wood), " +
+        "fer = COALESCE(COALESCE(fer, 0) + fer_rate * :elapsedSeconds, fer), " +
+        "last_settled_at = :settledAt " +
+        "WHERE id BETWEEN :fromId AND :toId AND (gold_rate IS NOT NULL OR wood_rate IS NOT NULL OR fer_rate IS NOT NULL)"
+    )
+    Mono<Integer> produce(
+        @Param("fromId") long fromId,
+        @Param("toId") long toId,
+        @Param("elapsedSeconds") double elapsedSeconds,
+        @Param("settledAt") Instant settledAt
+    );
 
     @Override
     <S extends ResourceGot> Mono<S> save(S entity);
@@ -39,9 +74,77 @@ interface ResourceGotRepositoryInternal {
 
     Flux<ResourceGot> findAllBy(Pageable pageable);
 
+    Flux<ResourceGot> findAllAfter(KeysetCursor cursor, int size);
+
     Flux<ResourceGot> findAll();
 
     Mono<ResourceGot> findById(Long id);
+
+    Flux<ResourceGot> findByRegisterUser(Long id);
+
+    Flux<ResourceGot> findAllWhereRegisterUserIsNull();
+
+    /**
+     * Streams the resourceGots with an id in the given range.
+     * @param fromId the first id of the range, inclusive.
+     * @param toId the last id of the range, inclusive.
+     * @return the resourceGots, in no particular order.
+     */
+    Flux<ResourceGot> findAllByIdBetween(long fromId, long toId);
+
+    /**
+     * Streams the resourceGots with the given ids.
+     * @param ids the ids of the resourceGots.
+     * @return the resourceGots which exist, in no particular order.
+     */
+    Flux<ResourceGot> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Streams the resourceGots written since the given time, by any mutation but the production ticks.
+     * @param since the time the rows were last modified at or after.
+     * @return the resourceGots, in no particular order.
+     */
+    Flux<ResourceGot> findAllModifiedSince(Instant since);
+
+    Mono<ResourceGot> updateIfExists(ResourceGot entity);
+
+    Mono<ResourceGot> patchIfExists(ResourceGot entity);
+
+    /**
+     * Atomically adds the given deltas to the resources of the resourceGot, in a single statement.
+     * Null deltas leave the resource unchanged; null resources are counted as zero.
+     * @param id the id of the resourceGot.
+     * @param gold the gold delta, or null.
+     * @param wood the wood delta, or null.
+     * @param fer the fer delta, or null.
+     * @param nonNegative whether the update is refused when it would make a decreased resource negative.
+     * @return the updated resourceGot, without its registerUser relation, or empty if it does not exist or was refused.
+     */
+    Mono<ResourceGot> adjust(Long id, Float gold, Float wood, Float fer, boolean nonNegative);
+
+    /**
+     * Writes the production accrued since the last settlement of the resourceGot into its resources, in lazy accrual mode.
+     * @param id the id of the resourceGot.
+     * @return the settled resourceGot, without its registerUser relation, or empty if it does not exist.
+     */
+    Mono<ResourceGot> settle(Long id);
+
+    /**
+     * Atomically adds the resources of the given resourceGots, used as deltas, to the rows with their ids, in a single statement.
+     * Null deltas leave the resource unchanged; null resources are counted as zero.
+     * @param deltas the deltas, at most one per id.
+     * @return the number of updated rows.
+     */
+    Mono<Integer> adjustAll(List<ResourceGot> deltas);
+
+    Mono<Void> deleteById(Long id);
+
+    /**
+     * Evicts all the cached resourceGots, once rows were written by a statement bypassing the cache, such as
+     * {@link ResourceGotRepository#produce}.
+     * @return a {@link Mono} completing once the resourceGots are evicted.
+     */
+    Mono<Void> evictCache();
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<ResourceGot> findAllBy(Pageable pageable, Criteria criteria);
 
@@ -2,35 +2,54 @@ package com.mycompany.myapp.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.ResourceGot;
 import com.mycompany.myapp.repository.rowmapper.ResourceGotRowMapper;
 import com.mycompany.myapp.repository.rowmapper.UserRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.Assignment;
+import org.springframework.data.relational.core.sql.Assignments;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
+import org.springframework.data.relational.core.sql.StatementBuilder;
 import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.Update;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -46,9 +65,29 @@ class ResourceGotRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceGo
 
     private final UserRowMapper userMapper;
     private final ResourceGotRowMapper resourcegotMapper;
+    private final boolean lazyAccrual;
+    private final EntityCache<ResourceGot> cache;
+    private final QueryCache queryCache;
+    /** Provided lazily, as the listeners depend on this repository. */
+    private final ObjectProvider<ResourceGotWriteListener> listeners;
 
     private static final Table entityTable = Table.aliased("resource_got", EntityManager.ENTITY_ALIAS);
     private static final Table registerUserTable = Table.aliased("jhi_user", "registerUser");
+    private static final String JOIN_SHAPE = "registerUser";
+    private static final List<String> QUERY_TABLES = List.of("resource_got", "jhi_user");
+    /** The columns written by a merge-patch, and its modification date; the register user is only written by a full update. */
+    private static final List<String> PATCHABLE_COLUMNS = List.of(
+        "gold",
+        "wood",
+        "fer",
+        "gold_rate",
+        "wood_rate",
+        "fer_rate",
+        "last_modified_date"
+    );
+    private static final List<String> RESOURCES = List.of("gold", "wood", "fer");
+    private static final String SETTLED_AT_PARAMETER = "settledAt";
+    private static final String MODIFIED_AT_PARAMETER = "modifiedAt";
 
     public ResourceGotRepositoryInternalImpl(
         R2dbcEntityTemplate template,
@@ -56,7 +95,9 @@ class ResourceGotRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceGo
         UserRowMapper userMapper,
         ResourceGotRowMapper resourcegotMapper,
         R2dbcEntityOperations entityOperations,
-        R2dbcConverter converter
+        R2dbcConverter converter,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<ResourceGotWriteListener> listeners
     ) {
         super(
             new MappingRelationalEntityInformation(converter.getMappingContext().getRequiredPersistentEntity(ResourceGot.class)),
@@ -68,26 +109,53 @@ class ResourceGotRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceGo
         this.entityManager = entityManager;
         this.userMapper = userMapper;
         this.resourcegotMapper = resourcegotMapper;
+        this.lazyAccrual = applicationProperties.getProduction().isLazyAccrual();
+        this.cache = entityManager.getEntityCache(ResourceGot.class);
+        this.queryCache = entityManager.getQueryCache();
+        this.listeners = listeners;
     }
 
     @Override
     public Flux<ResourceGot> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        String select = createSelect(pageable, null);
+        return cachedQuery(select, List.of(), () -> db.sql(select).map(this::process).all());
     }
 
-    RowsFetchSpec<ResourceGot> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<ResourceGot> findAllAfter(KeysetCursor cursor, int size) {
+        Condition whereClause = entityManager.createKeysetCondition(entityTable, ResourceGot.class, cursor);
+        String select = createSelect(cursor.toPageable(size), whereClause);
+        return cachedQuery(
+            select,
+            Arrays.asList(cursor.getLastId(), cursor.getLastValue()),
+            () -> entityManager.bindKeyset(db.sql(select), ResourceGot.class, cursor).map(this::process).all()
+        );
+    }
+
+    private Flux<ResourceGot> cachedQuery(String select, List<?> binds, Supplier<Flux<ResourceGot>> query) {
+        // the resources accrued lazily are computed on read, so they are not cached
+        return lazyAccrual ? query.get() : queryCache.get(select, binds, QUERY_TABLES, query);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Condition whereClause) {
+        return db.sql(createSelect(pageable, whereClause));
+    }
+
+    private String createSelect(Pageable pageable, Condition whereClause) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager.createSelect(JOIN_SHAPE, this::selectFrom, ResourceGot.class, pageable, whereClause);
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = ResourceGotSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(UserSqlHelper.getColumns(registerUserTable, "registerUser"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(registerUserTable)
             .on(Column.create("register_user_id", entityTable))
             .equals(Column.create("id", registerUserTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, ResourceGot.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -97,8 +165,221 @@ class ResourceGotRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceGo
 
     @Override
     public Mono<ResourceGot> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        // the resources accrued lazily are computed on read, so they are not cached
+        return lazyAccrual ? selectById(id) : cache.get(id, this::selectById);
+    }
+
+    private Mono<ResourceGot> selectById(Long id) {
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause).bind("id", id).map(this::process).one();
+    }
+
+    @Override
+    public Flux<ResourceGot> findByRegisterUser(Long id) {
+        Comparison whereClause = Conditions.isEqual(entityTable.column("register_user_id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause).bind("id", id).map(this::process).all();
+    }
+
+    @Override
+    public Flux<ResourceGot> findAllWhereRegisterUserIsNull() {
+        return createQuery(null, Conditions.isNull(entityTable.column("register_user_id"))).map(this::process).all();
+    }
+
+    @Override
+    public Flux<ResourceGot> findAllByIdBetween(long fromId, long toId) {
+        Condition whereClause = Conditions.between(entityTable.column("id"), SQL.bindMarker(":fromId"), SQL.bindMarker(":toId"));
+        return createQuery(null, whereClause).bind("fromId", fromId).bind("toId", toId).map(this::process).all();
+    }
+
+    @Override
+    public Flux<ResourceGot> findAllByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Condition whereClause = Conditions.in(entityTable.column("id"), SQL.bindMarker(":ids"));
+        return createQuery(null, whereClause).bind("ids", ids).map(this::process).all();
+    }
+
+    @Override
+    public Flux<ResourceGot> findAllModifiedSince(Instant since) {
+        Condition whereClause = Conditions.isGreaterOrEqualTo(entityTable.column("last_modified_date"), SQL.bindMarker(":since"));
+        // bound as the UTC date time the Instant columns are stored as, see DatabaseConfiguration.InstantWriteConverter
+        return createQuery(null, whereClause)
+            .bind("since", LocalDateTime.ofInstant(since, ZoneOffset.UTC))
+            .map(this::process)
+            .all();
+    }
+
+    @Override
+    public Mono<ResourceGot> adjust(Long id, Float gold, Float wood, Float fer, boolean nonNegative) {
+        Map<String, Float> deltas = new LinkedHashMap<>();
+        deltas.put("gold", gold);
+        deltas.put("wood", wood);
+        deltas.put("fer", fer);
+        deltas.values().removeIf(Objects::isNull);
+        Assert.notEmpty(deltas, "no delta to adjust");
+        return settleAndAdjust(id, deltas, nonNegative);
+    }
+
+    @Override
+    public Mono<ResourceGot> settle(Long id) {
+        Assert.state(lazyAccrual, "resources are only settled in lazy accrual mode");
+        return settleAndAdjust(id, Map.of(), false);
+    }
+
+    private Mono<ResourceGot> settleAndAdjust(Long id, Map<String, Float> deltas, boolean nonNegative) {
+        Table table = Table.create("resource_got");
+        List<Assignment> assignments = new ArrayList<>();
+        Condition whereClause = Conditions.isEqual(table.column("id"), SQL.bindMarker(":id"));
+        for (String resource : RESOURCES) {
+            String settled = settled(resource);
+            if (deltas.containsKey(resource)) {
+                String adjusted = "COALESCE(" + settled + ", 0) + :" + resource;
+                assignments.add(Assignments.value(table.column(resource), Expressions.just(adjusted)));
+                if (nonNegative && deltas.get(resource) < 0) {
+                    whereClause = whereClause.and(Conditions.just(adjusted + " >= 0"));
+                }
+            } else if (lazyAccrual) {
+                assignments.add(Assignments.value(table.column(resource), Expressions.just(settled)));
+            }
+        }
+        if (lazyAccrual) {
+            assignments.add(Assignments.value(table.column("last_settled_at"), SQL.bindMarker(":" + SETTLED_AT_PARAMETER)));
+        }
+        assignments.add(Assignments.value(table.column("last_modified_date"), SQL.bindMarker(":" + MODIFIED_AT_PARAMETER)));
+        Update update = StatementBuilder.update(table).set(assignments).where(whereClause).build();
+        String sql = entityManager.createUpdateReturning(update, ResourceGotSqlHelper.getColumns(table, EntityManager.ENTITY_ALIAS));
+
+        DatabaseClient.GenericExecuteSpec spec = bindTimestamps(db.sql(sql).bind("id", id));
+        for (Entry<String, Float> delta : deltas.entrySet()) {
+            spec = spec.bind(delta.getKey(), delta.getValue());
+        }
+        Mono<ResourceGot> adjusted = spec.map((row, metadata) -> resourcegotMapper.apply(row, EntityManager.ENTITY_ALIAS)).one();
+        return cache.invalidating(id, adjusted.flatMap(this::updated));
+    }
+
+    /**
+     * Renders the value of the given resource column settled at the {@code settledAt} parameter: in lazy accrual mode, the stored
+     * amount plus the production since the last settlement, and the stored amount otherwise.
+     */
+    private String settled(String resource) {
+        if (!lazyAccrual) {
+            return resource;
+        }
+        String elapsedSeconds = "EXTRACT(EPOCH FROM :" + SETTLED_AT_PARAMETER + ") - EXTRACT(EPOCH FROM last_settled_at)";
+        return "COALESCE(COALESCE(" + resource + ", 0) + " + resource + "_rate * (" + elapsedSeconds + "), " + resource + ")";
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindTimestamps(DatabaseClient.GenericExecuteSpec spec) {
+        // bound as the UTC date time the Instant columns are stored as, see DatabaseConfiguration.InstantWriteConverter
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        spec = spec.bind(MODIFIED_AT_PARAMETER, now);
+        return lazyAccrual ? spec.bind(SETTLED_AT_PARAMETER, now) : spec;
+    }
+
+    @Override
+    public Mono<ResourceGot> updateIfExists(ResourceGot entity) {
+        // the given resources replace the current ones, so they are settled from now on
+        entity.setLastSettledAt(lazyAccrual ? Instant.now() : null);
+        entity.setLastModifiedDate(Instant.now());
+        Mono<ResourceGot> update = entityManager
+            .updateIfExists(entity, ResourceGotSqlHelper::getColumns, resourcegotMapper)
+            // the relation written is that of the given resourceGot
+            .map(updated -> updated.registerUser(entity.getRegisterUser()));
+        return cache.invalidating(entity.getId(), update.flatMap(this::updated));
+    }
+
+    @Override
+    public Mono<ResourceGot> patchIfExists(ResourceGot entity) {
+        entity.setLastSettledAt(null);
+        entity.setLastModifiedDate(Instant.now());
+        Map<String, Expression> unpatchedColumns = new LinkedHashMap<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (lazyAccrual) {
+            // the resources left out of the patch are settled by the same statement, with the rates before the patch
+            for (String resource : RESOURCES) {
+                unpatchedColumns.put(resource, Expressions.just(settled(resource)));
+            }
+            unpatchedColumns.put("last_settled_at", SQL.bindMarker(":" + SETTLED_AT_PARAMETER));
+            // bound as the UTC date time the Instant columns are stored as, see DatabaseConfiguration.InstantWriteConverter
+            parameters.put(SETTLED_AT_PARAMETER, LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC));
+        }
+        Mono<ResourceGot> patch = entityManager.patchIfExists(
+            entity,
+            PATCHABLE_COLUMNS,
+            unpatchedColumns,
+            parameters,
+            ResourceGotSqlHelper::getColumns,
+            resourcegotMapper
+        );
+        return cache.invalidating(entity.getId(), patch.flatMap(this::updated));
+    }
+
+    @Override
+    public Mono<Integer> adjustAll(List<ResourceGot> deltas) {
+        if (deltas.isEmpty()) {
+            return Mono.just(0);
+        }
+        Map<String, Function<ResourceGot, Float>> resources = new LinkedHashMap<>();
+        resources.put("gold", ResourceGot::getGold);
+        resources.put("wood", ResourceGot::getWood);
+        resources.put("fer", ResourceGot::getFer);
+
+        // a single set-based update, with the delta of each row selected by a CASE on its id
+        Table table = Table.create("resource_got");
+        List<Assignment> assignments = new ArrayList<>();
+        for (Entry<String, Function<ResourceGot, Float>> resource : resources.entrySet()) {
+            String column = resource.getKey();
+            StringBuilder adjusted = new StringBuilder("CASE id");
+            boolean adjustedRows = false;
+            for (int i = 0; i < deltas.size(); i++) {
+                if (resource.getValue().apply(deltas.get(i)) != null) {
+                    adjusted.append(" WHEN :id").append(i).append(" THEN COALESCE(").append(settled(column)).append(", 0) + CAST(:");
+                    adjusted.append(column).append(i).append(" AS REAL)");
+                    adjustedRows = true;
+                }
+            }
+            if (adjustedRows) {
+                adjusted.append(" ELSE ").append(settled(column)).append(" END");
+                assignments.add(Assignments.value(table.column(column), Expressions.just(adjusted.toString())));
+            } else if (lazyAccrual) {
+                assignments.add(Assignments.value(table.column(column), Expressions.just(settled(column))));
+            }
+        }
+        if (assignments.isEmpty()) {
+            return Mono.just(0);
+        }
+        if (lazyAccrual) {
+            assignments.add(Assignments.value(table.column("last_settled_at"), SQL.bindMarker(":" + SETTLED_AT_PARAMETER)));
+        }
+        assignments.add(Assignments.value(table.column("last_modified_date"), SQL.bindMarker(":" + MODIFIED_AT_PARAMETER)));
+        List<Expression> ids = new ArrayList<>();
+        for (int i = 0; i < deltas.size(); i++) {
+            ids.add(SQL.bindMarker(":id" + i));
+        }
+        Update update = StatementBuilder.update(table).set(assignments).where(Conditions.in(table.column("id"), ids)).build();
+
+        DatabaseClient.GenericExecuteSpec spec = bindTimestamps(db.sql(entityManager.createUpdate(update)));
+        for (int i = 0; i < deltas.size(); i++) {
+            ResourceGot delta = deltas.get(i);
+            spec = spec.bind("id" + i, delta.getId());
+            for (Entry<String, Function<ResourceGot, Float>> resource : resources.entrySet()) {
+                Float value = resource.getValue().apply(delta);
+                if (value != null) {
+                    spec = spec.bind(resource.getKey() + i, value);
+                }
+            }
+        }
+        Mono<Integer> adjusted = spec
+            .fetch()
+            .rowsUpdated()
+            .flatMap(rows ->
+                notifyListeners(listener ->
+                        deltas.forEach(delta -> listener.adjust(delta.getId(), delta.getGold(), delta.getWood(), delta.getFer()))
+                    )
+                    .thenReturn(rows)
+            );
+        return cache.invalidating(deltas.stream().map(ResourceGot::getId).collect(Collectors.toList()), adjusted);
     }
 
     private ResourceGot process(Row row, RowMetadata metadata) {
@@ -109,6 +390,30 @@ class ResourceGotRepositoryInternalImpl extends SimpleR2dbcRepository<ResourceGo
 
     @Override
     public <S extends ResourceGot> Mono<S> save(S entity) {
-        return super.save(entity);
+        entity.setLastSettledAt(lazyAccrual ? Instant.now() : null);
+        entity.setLastModifiedDate(Instant.now());
+        return cache.invalidating(entity.getId(), super.save(entity).flatMap(this::updated));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return cache.invalidating(id, super.deleteById(id).then(notifyListeners(listener -> listener.remove(id))));
+    }
+
+    private <S extends ResourceGot> Mono<S> updated(S resourceGot) {
+        return notifyListeners(listener -> listener.update(resourceGot)).thenReturn(resourceGot);
+    }
+
+    /**
+     * Notifies the listeners of a write once its transaction commits, so that a rolled back write is not seen, or at once outside
+     * of a transaction.
+     */
+    private Mono<Void> notifyListeners(Consumer<ResourceGotWriteListener> notification) {
+        return TransactionCallbacks.afterCommit(() -> listeners.orderedStream().forEach(notification));
+    }
+
+    @Override
+    public Mono<Void> evictCache() {
+        return Mono.fromRunnable(cache::invalidateAll);
     }
 }
@@ -14,6 +14,11 @@ public class ResourceGotSqlHelper {
         columns.add(Column.aliased("gold", table, columnPrefix + "_gold"));
         columns.add(Column.aliased("wood", table, columnPrefix + "_wood"));
         columns.add(Column.aliased("fer", table, columnPrefix + "_fer"));
+        columns.add(Column.aliased("gold_rate", table, columnPrefix + "_gold_rate"));
+        columns.add(Column.aliased("wood_rate", table, columnPrefix + "_wood_rate"));
+        columns.add(Column.aliased("fer_rate", table, columnPrefix + "_fer_rate"));
+        columns.add(Column.aliased("last_settled_at", table, columnPrefix + "_last_settled_at"));
+        columns.add(Column.aliased("last_modified_date", table, columnPrefix + "_last_modified_date"));
 
         columns.add(Column.aliased("register_user_id", table, columnPrefix + "_register_user_id"));
         return columns;
@@ -0,0 +1,33 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.ResourceGot;
+
+/**
+ * Receives the writes of the {@link ResourceGot} rows made through the {@link ResourceGotRepository}, once they are committed,
+ * but for the production ticks, which write most rows at once.
+ */
+public interface ResourceGotWriteListener {
+    /**
+     * Receives a row inserted or updated.
+     *
+     * @param resourceGot the resourceGot as written, with all its resources.
+     */
+    void update(ResourceGot resourceGot);
+
+    /**
+     * Receives deltas added to the resources of a row, which may not exist.
+     *
+     * @param id the id of the resourceGot.
+     * @param gold the gold delta, or null.
+     * @param wood the wood delta, or null.
+     * @param fer the fer delta, or null.
+     */
+    void adjust(Long id, Float gold, Float wood, Float fer);
+
+    /**
+     * Receives a row deleted.
+     *
+     * @param id the id of the resourceGot.
+     */
+    void remove(Long id);
+}
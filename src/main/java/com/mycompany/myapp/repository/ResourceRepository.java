@@ -21,6 +21,12 @@ public interface ResourceRepository extends ReactiveCrudRepository<Resource, Lon
     @Query("SELECT * FROM resource entity WHERE entity.client_id IS NULL")
     Flux<Resource> findAllWhereClientIsNull();
 
+    @Query("SELECT id FROM resource ORDER BY id ASC LIMIT 1")
+    Mono<Long> findFirstId();
+
+    @Query("SELECT id FROM resource ORDER BY id DESC LIMIT 1")
+    Mono<Long> findLastId();
+
     @Override
     <S extends Resource> Mono<S> save(S entity);
 
@@ -39,9 +45,25 @@ interface ResourceRepositoryInternal {
 
     Flux<Resource> findAllBy(Pageable pageable);
 
+    Flux<Resource> findAllAfter(KeysetCursor cursor, int size);
+
     Flux<Resource> findAll();
 
     Mono<Resource> findById(Long id);
+
+    /**
+     * Streams the resources with an id in the given range.
+     * @param fromId the first id of the range, inclusive.
+     * @param toId the last id of the range, inclusive.
+     * @return the resources, in no particular order.
+     */
+    Flux<Resource> findAllByIdBetween(long fromId, long toId);
+
+    Mono<Resource> updateIfExists(Resource entity);
+
+    Mono<Resource> patchIfExists(Resource entity);
+
+    Mono<Void> deleteById(Long id);
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<Resource> findAllBy(Pageable pageable, Criteria criteria);
 
@@ -2,12 +2,14 @@ package com.mycompany.myapp.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import com.mycompany.myapp.domain.Client;
 import com.mycompany.myapp.domain.Resource;
 import com.mycompany.myapp.repository.rowmapper.ClientRowMapper;
 import com.mycompany.myapp.repository.rowmapper.ResourceRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -25,12 +27,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -46,9 +48,15 @@ class ResourceRepositoryInternalImpl extends SimpleR2dbcRepository<Resource, Lon
 
     private final ClientRowMapper clientMapper;
     private final ResourceRowMapper resourceMapper;
+    private final EntityCache<Resource> cache;
+    private final QueryCache queryCache;
 
     private static final Table entityTable = Table.aliased("resource", EntityManager.ENTITY_ALIAS);
     private static final Table clientTable = Table.aliased("client", "client");
+    private static final String JOIN_SHAPE = "client";
+    private static final List<String> QUERY_TABLES = List.of("resource", "client");
+    /** The columns written by a merge-patch; the foreign keys are only written by a full update. */
+    private static final List<String> PATCHABLE_COLUMNS = List.of("gold", "wood", "fer");
 
     public ResourceRepositoryInternalImpl(
         R2dbcEntityTemplate template,
@@ -68,26 +76,49 @@ class ResourceRepositoryInternalImpl extends SimpleR2dbcRepository<Resource, Lon
         this.entityManager = entityManager;
         this.clientMapper = clientMapper;
         this.resourceMapper = resourceMapper;
+        this.cache = entityManager.getEntityCache(Resource.class);
+        this.queryCache = entityManager.getQueryCache();
+        // the resources embed their client
+        cache.dependsOn(entityManager.getEntityCache(Client.class), Resource::getClientId);
     }
 
     @Override
     public Flux<Resource> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        String select = createSelect(pageable, null);
+        return queryCache.get(select, List.of(), QUERY_TABLES, () -> db.sql(select).map(this::process).all());
     }
 
-    RowsFetchSpec<Resource> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<Resource> findAllAfter(KeysetCursor cursor, int size) {
+        Condition whereClause = entityManager.createKeysetCondition(entityTable, Resource.class, cursor);
+        String select = createSelect(cursor.toPageable(size), whereClause);
+        return queryCache.get(
+            select,
+            Arrays.asList(cursor.getLastId(), cursor.getLastValue()),
+            QUERY_TABLES,
+            () -> entityManager.bindKeyset(db.sql(select), Resource.class, cursor).map(this::process).all()
+        );
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Condition whereClause) {
+        return db.sql(createSelect(pageable, whereClause));
+    }
+
+    private String createSelect(Pageable pageable, Condition whereClause) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager.createSelect(JOIN_SHAPE, this::selectFrom, Resource.class, pageable, whereClause);
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = ResourceSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(ClientSqlHelper.getColumns(clientTable, "client"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(clientTable)
             .on(Column.create("client_id", entityTable))
             .equals(Column.create("id", clientTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Resource.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -97,8 +128,33 @@ class ResourceRepositoryInternalImpl extends SimpleR2dbcRepository<Resource, Lon
 
     @Override
     public Mono<Resource> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return cache.get(id, this::selectById);
+    }
+
+    private Mono<Resource> selectById(Long id) {
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause).bind("id", id).map(this::process).one();
+    }
+
+    @Override
+    public Flux<Resource> findAllByIdBetween(long fromId, long toId) {
+        Condition whereClause = Conditions.between(entityTable.column("id"), SQL.bindMarker(":fromId"), SQL.bindMarker(":toId"));
+        return createQuery(null, whereClause).bind("fromId", fromId).bind("toId", toId).map(this::process).all();
+    }
+
+    @Override
+    public Mono<Resource> updateIfExists(Resource entity) {
+        Mono<Resource> update = entityManager
+            .updateIfExists(entity, ResourceSqlHelper::getColumns, resourceMapper)
+            // the relation written is that of the given resource
+            .map(updated -> updated.client(entity.getClient()));
+        return cache.invalidating(entity.getId(), update);
+    }
+
+    @Override
+    public Mono<Resource> patchIfExists(Resource entity) {
+        Mono<Resource> update = entityManager.patchIfExists(entity, PATCHABLE_COLUMNS, ResourceSqlHelper::getColumns, resourceMapper);
+        return cache.invalidating(entity.getId(), update);
     }
 
     private Resource process(Row row, RowMetadata metadata) {
@@ -109,6 +165,11 @@ class ResourceRepositoryInternalImpl extends SimpleR2dbcRepository<Resource, Lon
 
     @Override
     public <S extends Resource> Mono<S> save(S entity) {
-        return super.save(entity);
+        return cache.invalidating(entity.getId(), super.save(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return cache.invalidating(id, super.deleteById(id));
     }
 }
@@ -0,0 +1,83 @@
+package com.mycompany.myapp.repository;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs actions once the reactive transaction of the current subscription completes, or at once outside of a transaction.
+ * <p>
+ * The caches invalidate the rows written by a transaction once it completes: a read on another connection before the commit still
+ * sees the previous rows, and would cache them again if they were invalidated earlier.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    /**
+     * Runs an action once the transaction of a write completes, committed or rolled back, or once the write terminates or is
+     * cancelled outside of a transaction.
+     * @param write the write.
+     * @param action the action.
+     * @return the write, running the action.
+     */
+    public static <R> Mono<R> afterCompletion(Mono<R> write, Runnable action) {
+        return register(afterCompletion(action))
+            .flatMap(registered -> registered ? write : write.doOnTerminate(action).doOnCancel(action));
+    }
+
+    /**
+     * Runs an action once the transaction of a write completes, committed or rolled back, or once the write terminates or is
+     * cancelled outside of a transaction.
+     * @param write the write.
+     * @param action the action.
+     * @return the write, running the action.
+     */
+    public static <R> Flux<R> afterCompletion(Flux<R> write, Runnable action) {
+        return register(afterCompletion(action))
+            .flatMapMany(registered -> registered ? write : write.doOnTerminate(action).doOnCancel(action));
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or at once outside of a transaction.
+     * @param action the action.
+     * @return a {@link Mono} completing once the action ran, or is registered to run after the commit.
+     */
+    public static Mono<Void> afterCommit(Runnable action) {
+        TransactionSynchronization synchronization = new TransactionSynchronization() {
+            @Override
+            public Mono<Void> afterCommit() {
+                return Mono.fromRunnable(action);
+            }
+        };
+        return register(synchronization).flatMap(registered -> registered ? Mono.<Void>empty() : Mono.<Void>fromRunnable(action));
+    }
+
+    private static TransactionSynchronization afterCompletion(Runnable action) {
+        return new TransactionSynchronization() {
+            @Override
+            public Mono<Void> afterCompletion(int status) {
+                return Mono.fromRunnable(action);
+            }
+        };
+    }
+
+    /**
+     * Registers a synchronization with the current transaction.
+     * @return whether it is registered, false outside of a transaction.
+     */
+    private static Mono<Boolean> register(TransactionSynchronization synchronization) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .map(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return false;
+                }
+                synchronizationManager.registerSynchronization(synchronization);
+                return true;
+            })
+            .onErrorResume(NoTransactionException.class, e -> Mono.just(false));
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.myapp.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cache of the users read with their authorities by login, in front of {@link UserRepository#findOneWithAuthoritiesByLogin},
+ * which authenticates the logins and loads the account of the current user on every page.
+ * <p>
+ * The unknown logins are cached too, so that the login attempts with made up logins do not reach the database. The cache is
+ * bounded in size and in a short time to live: the writes of the users go through {@code UserService}, which evicts their
+ * logins once their transaction completes, while the other instances of the application see them once the entries expire.
+ * <p>
+ * The users are copied in and out of the cache, as the callers may modify the users they are given.
+ */
+@Component
+public class UserCache {
+
+    public static final String CACHE_NAME = "usersByLogin";
+
+    /** The cache, or null if the user cache is disabled. */
+    private final Cache<String, Optional<User>> cache;
+
+    /** Counts the evictions, so that a user read while it is written is not cached. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Database.UserCache properties = applicationProperties.getDatabase().getUserCache();
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTimeToLive()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Gets a user from the cache, or loads it and caches it, or caches its absence.
+     * @param login the login of the user.
+     * @param loader loads the user with its authorities from the database.
+     * @return the user, or empty if there is no user with this login.
+     */
+    Mono<User> get(String login, Function<String, Mono<User>> loader) {
+        if (cache == null || login == null) {
+            return loader.apply(login);
+        }
+        return Mono.defer(() -> {
+            Optional<User> cached = cache.getIfPresent(login);
+            if (cached != null) {
+                return Mono.justOrEmpty(cached.map(UserCache::copy));
+            }
+            long evictionsBefore = evictions.get();
+            return loader
+                .apply(login)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(user -> {
+                    cache.put(login, user.map(UserCache::copy));
+                    // the user was written while it was read, the user read may be the previous one
+                    if (evictions.get() != evictionsBefore) {
+                        cache.invalidate(login);
+                    }
+                })
+                .flatMap(Mono::justOrEmpty);
+        });
+    }
+
+    /**
+     * Evicts a login, once its user is created, changed or deleted.
+     * @param login the login of the written user.
+     */
+    public void evict(String login) {
+        if (cache == null || login == null) {
+            return;
+        }
+        evictions.incrementAndGet();
+        cache.invalidate(login);
+    }
+
+    private static User copy(User user) {
+        User copy = EntityCache.copy(user);
+        copy.setAuthorities(new HashSet<>(user.getAuthorities()));
+        return copy;
+    }
+}
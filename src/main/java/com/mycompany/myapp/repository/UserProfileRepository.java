@@ -45,9 +45,17 @@ interface UserProfileRepositoryInternal {
 
     Flux<UserProfile> findAllBy(Pageable pageable);
 
+    Flux<UserProfile> findAllAfter(KeysetCursor cursor, int size);
+
     Flux<UserProfile> findAll();
 
     Mono<UserProfile> findById(Long id);
+
+    Mono<UserProfile> updateIfExists(UserProfile entity);
+
+    Mono<UserProfile> patchIfExists(UserProfile entity);
+
+    Mono<Void> deleteById(Long id);
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<UserProfile> findAllBy(Pageable pageable, Criteria criteria);
 
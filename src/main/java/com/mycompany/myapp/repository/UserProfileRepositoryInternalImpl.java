@@ -2,6 +2,7 @@ package com.mycompany.myapp.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import com.mycompany.myapp.domain.ResourceData;
 import com.mycompany.myapp.domain.UserProfile;
 import com.mycompany.myapp.repository.rowmapper.ResourceDataRowMapper;
 import com.mycompany.myapp.repository.rowmapper.UserProfileRowMapper;
@@ -9,6 +10,7 @@ import com.mycompany.myapp.repository.rowmapper.UserRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -26,12 +28,12 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -48,10 +50,14 @@ class UserProfileRepositoryInternalImpl extends SimpleR2dbcRepository<UserProfil
     private final UserRowMapper userMapper;
     private final ResourceDataRowMapper resourcedataMapper;
     private final UserProfileRowMapper userprofileMapper;
+    private final EntityCache<UserProfile> cache;
+    private final QueryCache queryCache;
 
     private static final Table entityTable = Table.aliased("user_profile", EntityManager.ENTITY_ALIAS);
     private static final Table userTable = Table.aliased("jhi_user", "e_user");
     private static final Table resourceTable = Table.aliased("resource_data", "e_resource");
+    private static final String JOIN_SHAPE = "user,resource";
+    private static final List<String> QUERY_TABLES = List.of("user_profile", "jhi_user", "resource_data");
 
     public UserProfileRepositoryInternalImpl(
         R2dbcEntityTemplate template,
@@ -73,18 +79,44 @@ class UserProfileRepositoryInternalImpl extends SimpleR2dbcRepository<UserProfil
         this.userMapper = userMapper;
         this.resourcedataMapper = resourcedataMapper;
         this.userprofileMapper = userprofileMapper;
+        this.cache = entityManager.getEntityCache(UserProfile.class);
+        this.queryCache = entityManager.getQueryCache();
+        // the user profiles embed their resource
+        cache.dependsOn(entityManager.getEntityCache(ResourceData.class), UserProfile::getResourceId);
     }
 
     @Override
     public Flux<UserProfile> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        String select = createSelect(pageable, null);
+        return queryCache.get(select, List.of(), QUERY_TABLES, () -> db.sql(select).map(this::process).all());
     }
 
-    RowsFetchSpec<UserProfile> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<UserProfile> findAllAfter(KeysetCursor cursor, int size) {
+        Condition whereClause = entityManager.createKeysetCondition(entityTable, UserProfile.class, cursor);
+        String select = createSelect(cursor.toPageable(size), whereClause);
+        return queryCache.get(
+            select,
+            Arrays.asList(cursor.getLastId(), cursor.getLastValue()),
+            QUERY_TABLES,
+            () -> entityManager.bindKeyset(db.sql(select), UserProfile.class, cursor).map(this::process).all()
+        );
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Condition whereClause) {
+        return db.sql(createSelect(pageable, whereClause));
+    }
+
+    private String createSelect(Pageable pageable, Condition whereClause) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager.createSelect(JOIN_SHAPE, this::selectFrom, UserProfile.class, pageable, whereClause);
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = UserProfileSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(UserSqlHelper.getColumns(userTable, "user"));
         columns.addAll(ResourceDataSqlHelper.getColumns(resourceTable, "resource"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
@@ -94,9 +126,6 @@ class UserProfileRepositoryInternalImpl extends SimpleR2dbcRepository<UserProfil
             .leftOuterJoin(resourceTable)
             .on(Column.create("resource_id", entityTable))
             .equals(Column.create("id", resourceTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, UserProfile.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -106,8 +135,28 @@ class UserProfileRepositoryInternalImpl extends SimpleR2dbcRepository<UserProfil
 
     @Override
     public Mono<UserProfile> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return cache.get(id, this::selectById);
+    }
+
+    private Mono<UserProfile> selectById(Long id) {
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause).bind("id", id).map(this::process).one();
+    }
+
+    @Override
+    public Mono<UserProfile> updateIfExists(UserProfile entity) {
+        Mono<UserProfile> update = entityManager
+            .updateIfExists(entity, UserProfileSqlHelper::getColumns, userprofileMapper)
+            // the relations written are those of the given userProfile
+            .map(updated -> updated.user(entity.getUser()).resource(entity.getResource()));
+        return cache.invalidating(entity.getId(), update);
+    }
+
+    @Override
+    public Mono<UserProfile> patchIfExists(UserProfile entity) {
+        // a merge-patch writes no column, as the relations are only written by a full update: it only checks that the userProfile
+        // exists
+        return findById(entity.getId());
     }
 
     private UserProfile process(Row row, RowMetadata metadata) {
@@ -119,6 +168,11 @@ class UserProfileRepositoryInternalImpl extends SimpleR2dbcRepository<UserProfil
 
     @Override
     public <S extends UserProfile> Mono<S> save(S entity) {
-        return super.save(entity);
+        return cache.invalidating(entity.getId(), super.save(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return cache.invalidating(id, super.deleteById(id));
     }
 }
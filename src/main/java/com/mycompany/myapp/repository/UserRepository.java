@@ -7,16 +7,17 @@ import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import org.apache.commons.beanutils.BeanComparator;
 import org.springframework.data.domain.*;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Table;
@@ -32,6 +33,21 @@ import reactor.util.function.Tuples;
  */
 @Repository
 public interface UserRepository extends R2dbcRepository<User, Long>, UserRepositoryInternal {
+    /** The properties the users can be sorted by, in {@link #findAllWithAuthorities(Pageable)}. */
+    Set<String> SORTABLE_PROPERTIES = Set.of(
+        "id",
+        "login",
+        "firstName",
+        "lastName",
+        "email",
+        "activated",
+        "langKey",
+        "createdBy",
+        "createdDate",
+        "lastModifiedBy",
+        "lastModifiedDate"
+    );
+
     Mono<User> findOneByActivationKey(String activationKey);
 
     Flux<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(LocalDateTime dateTime);
@@ -75,16 +91,23 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final R2dbcConverter r2dbcConverter;
-
-    public UserRepositoryInternalImpl(DatabaseClient db, R2dbcEntityTemplate r2dbcEntityTemplate, R2dbcConverter r2dbcConverter) {
+    private final UserCache userCache;
+
+    public UserRepositoryInternalImpl(
+        DatabaseClient db,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcConverter r2dbcConverter,
+        UserCache userCache
+    ) {
         this.db = db;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.r2dbcConverter = r2dbcConverter;
+        this.userCache = userCache;
     }
 
     @Override
     public Mono<User> findOneWithAuthoritiesByLogin(String login) {
-        return findOneWithAuthoritiesBy("login", login);
+        return userCache.get(login, value -> findOneWithAuthoritiesBy("login", value));
     }
 
     @Override
@@ -94,37 +117,63 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
     @Override
     public Flux<User> findAllWithAuthorities(Pageable pageable) {
-        String property = pageable.getSort().stream().map(Sort.Order::getProperty).findFirst().orElse("id");
-        String direction = String.valueOf(
-            pageable.getSort().stream().map(Sort.Order::getDirection).findFirst().orElse(Sort.DEFAULT_DIRECTION)
-        );
-        long page = pageable.getPageNumber();
-        long size = pageable.getPageSize();
+        for (Sort.Order order : pageable.getSort()) {
+            if (!UserRepository.SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                return Flux.error(new IllegalArgumentException("Users cannot be sorted by " + order.getProperty()));
+            }
+        }
+        Sort sort = createSort(pageable.getSort());
+        return r2dbcEntityTemplate
+            .select(User.class)
+            .matching(
+                pageable.isPaged()
+                    ? query(Criteria.empty()).sort(sort).limit(pageable.getPageSize()).offset(pageable.getOffset())
+                    : query(Criteria.empty()).sort(sort)
+            )
+            .all()
+            .collectList()
+            .flatMapMany(users -> users.isEmpty() ? Flux.empty() : fetchAuthorities(users));
+    }
 
+    private Sort createSort(Sort sort) {
+        // the id makes the order total, so that rows do not move between pages
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+
+    private Flux<User> fetchAuthorities(List<User> users) {
+        List<Long> userIds = users.stream().map(User::getId).collect(Collectors.toList());
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
-            .map((row, metadata) ->
-                Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
-            )
+            .sql("SELECT user_id, authority_name FROM jhi_user_authority WHERE user_id IN (:userIds)")
+            .bind("userIds", userIds)
+            .map((row, metadata) -> Tuples.of(row.get("user_id", Long.class), row.get("authority_name", String.class)))
             .all()
-            .groupBy(t -> t.getT1().getLogin())
-            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)))
-            .sort(
-                Sort.Direction.fromString(direction) == Sort.DEFAULT_DIRECTION
-                    ? new BeanComparator<>(property)
-                    : new BeanComparator<>(property).reversed()
-            )
-            .skip(page * size)
-            .take(size);
+            .collectMultimap(Tuple2::getT1, Tuple2::getT2)
+            .flatMapIterable(authoritiesByUserId -> {
+                for (User user : users) {
+                    user.setAuthorities(
+                        authoritiesByUserId
+                            .getOrDefault(user.getId(), Collections.emptyList())
+                            .stream()
+                            .map(name -> {
+                                Authority authority = new Authority();
+                                authority.setName(name);
+                                return authority;
+                            })
+                            .collect(Collectors.toSet())
+                    );
+                }
+                return users;
+            });
     }
 
     @Override
     public Mono<Void> delete(User user) {
-        return db
+        Mono<Void> delete = db
             .sql("DELETE FROM jhi_user_authority WHERE user_id = :userId")
             .bind("userId", user.getId())
             .then()
             .then(r2dbcEntityTemplate.delete(User.class).matching(query(where("id").is(user.getId()))).all().then());
+        return TransactionCallbacks.afterCompletion(delete, () -> userCache.evict(user.getLogin()));
     }
 
     private Mono<User> findOneWithAuthoritiesBy(String fieldName, Object fieldValue) {
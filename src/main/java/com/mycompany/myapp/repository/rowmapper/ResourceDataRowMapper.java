@@ -28,6 +28,9 @@ public class ResourceDataRowMapper implements BiFunction<Row, String, ResourceDa
         entity.setGold(converter.fromRow(row, prefix + "_gold", Float.class));
         entity.setWood(converter.fromRow(row, prefix + "_wood", Float.class));
         entity.setFer(converter.fromRow(row, prefix + "_fer", Float.class));
+        entity.setGoldRate(converter.fromRow(row, prefix + "_gold_rate", Float.class));
+        entity.setWoodRate(converter.fromRow(row, prefix + "_wood_rate", Float.class));
+        entity.setFerRate(converter.fromRow(row, prefix + "_fer_rate", Float.class));
         entity.setRegisterUserId(converter.fromRow(row, prefix + "_register_user_id", Long.class));
         return entity;
     }
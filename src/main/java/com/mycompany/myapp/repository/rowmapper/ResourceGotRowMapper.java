@@ -1,7 +1,10 @@
 package com.mycompany.myapp.repository.rowmapper;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.ResourceGot;
 import io.r2dbc.spi.Row;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,8 +16,11 @@ public class ResourceGotRowMapper implements BiFunction<Row, String, ResourceGot
 
     private final ColumnConverter converter;
 
-    public ResourceGotRowMapper(ColumnConverter converter) {
+    private final boolean lazyAccrual;
+
+    public ResourceGotRowMapper(ColumnConverter converter, ApplicationProperties applicationProperties) {
         this.converter = converter;
+        this.lazyAccrual = applicationProperties.getProduction().isLazyAccrual();
     }
 
     /**
@@ -28,7 +34,34 @@ public class ResourceGotRowMapper implements BiFunction<Row, String, ResourceGot
         entity.setGold(converter.fromRow(row, prefix + "_gold", Float.class));
         entity.setWood(converter.fromRow(row, prefix + "_wood", Float.class));
         entity.setFer(converter.fromRow(row, prefix + "_fer", Float.class));
+        entity.setGoldRate(converter.fromRow(row, prefix + "_gold_rate", Float.class));
+        entity.setWoodRate(converter.fromRow(row, prefix + "_wood_rate", Float.class));
+        entity.setFerRate(converter.fromRow(row, prefix + "_fer_rate", Float.class));
+        entity.setLastSettledAt(converter.fromRow(row, prefix + "_last_settled_at", Instant.class));
+        entity.setLastModifiedDate(converter.fromRow(row, prefix + "_last_modified_date", Instant.class));
         entity.setRegisterUserId(converter.fromRow(row, prefix + "_register_user_id", Long.class));
+        return lazyAccrual ? accrue(entity, Instant.now()) : entity;
+    }
+
+    /**
+     * Adds the production since the last settlement to the resources of a resourceGot accrued lazily, so that the resources are
+     * current when read. The last settlement time is left as stored. The rows never settled are left unchanged.
+     */
+    private static ResourceGot accrue(ResourceGot entity, Instant now) {
+        if (entity.getLastSettledAt() == null) {
+            return entity;
+        }
+        double elapsedSeconds = Math.max(Duration.between(entity.getLastSettledAt(), now).toMillis(), 0) / 1000d;
+        entity.setGold(accrue(entity.getGold(), entity.getGoldRate(), elapsedSeconds));
+        entity.setWood(accrue(entity.getWood(), entity.getWoodRate(), elapsedSeconds));
+        entity.setFer(accrue(entity.getFer(), entity.getFerRate(), elapsedSeconds));
         return entity;
     }
+
+    private static Float accrue(Float amount, Float rate, double elapsedSeconds) {
+        if (rate == null) {
+            return amount;
+        }
+        return (float) ((amount != null ? amount : 0) + rate * elapsedSeconds);
+    }
 }
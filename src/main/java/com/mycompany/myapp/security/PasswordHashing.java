@@ -0,0 +1,114 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the password hashes and verifications, which are CPU bound and slow on purpose, on their own threads.
+ * <p>
+ * The hashes are run by as many threads as there are processors, out of a bounded queue: when a burst of logins fills the queue,
+ * the hashes are rejected with a {@link PasswordHashingBusyException}, answered with a 503 status, instead of stalling the event
+ * loops and the shared schedulers for the rest of the API.
+ * <p>
+ * The queue depth and the time spent waiting in the queue are published as the {@code executor.*} metrics of the
+ * {@value #EXECUTOR_NAME} executor, the duration of the hashes as the {@value #HASH_METER_NAME} timer.
+ */
+@Component
+public class PasswordHashing {
+
+    public static final String EXECUTOR_NAME = "passwordHashing";
+    public static final String HASH_METER_NAME = "security.password.hashes";
+    public static final String REJECTED_METER_NAME = "security.password.hashes.rejected";
+
+    private final Scheduler scheduler;
+
+    private final Timer encodes;
+
+    private final Timer verifications;
+
+    public PasswordHashing(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Security.PasswordHashing properties = applicationProperties.getSecurity().getPasswordHashing();
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        Counter rejected = Counter
+            .builder(REJECTED_METER_NAME)
+            .description("Password hashes rejected, as the password hashing queue was full")
+            .register(meterRegistry);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            threadFactory,
+            (task, pool) -> {
+                rejected.increment();
+                throw new PasswordHashingBusyException("The password hashing queue is full");
+            }
+        );
+        this.scheduler =
+            Schedulers.fromExecutorService(ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME), EXECUTOR_NAME);
+        this.encodes =
+            Timer
+                .builder(HASH_METER_NAME)
+                .description("Duration of the password hashes")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.verifications =
+            Timer
+                .builder(HASH_METER_NAME)
+                .description("Duration of the password hashes")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the scheduler to publish the password hashes on.
+     * @return the scheduler of the password hashing threads.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Times the hashes of a password encoder.
+     * @param encoder the password encoder.
+     * @return the password encoder, timing its hashes.
+     */
+    public PasswordEncoder timed(PasswordEncoder encoder) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return encodes.record(() -> encoder.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return verifications.record(() -> encoder.matches(rawPassword, encodedPassword));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return encoder.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,15 @@
+package com.mycompany.myapp.security;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This exception is thrown when a password hash is rejected, as the password hashing queue is full.
+ */
+public class PasswordHashingBusyException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,24 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.management.SecurityMetersService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +40,39 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    public static final String CACHE_NAME = "tokenAuthentications";
+
+    private static final ThreadLocal<MessageDigest> TOKEN_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    /**
+     * The principal and authorities of a verified token, shared by all the requests bearing the token, which each get their own
+     * authentication of them, as the authentications may be modified during the requests.
+     */
+    private static final class VerifiedToken {
+
+        private final User principal;
+
+        private final Collection<GrantedAuthority> authorities;
+
+        private final long expiration;
+
+        VerifiedToken(User principal, Collection<GrantedAuthority> authorities, long expiration) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.expiration = expiration;
+        }
+
+        Authentication authenticate(String token) {
+            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        }
+    }
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -38,9 +81,22 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
+    private final long accessTokenValidityInMilliseconds;
+
     private final SecurityMetersService securityMetersService;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
+    /** The principals and authorities of the verified tokens by token digest, until they expire, or null if the cache is disabled. */
+    private final Cache<String, VerifiedToken> authenticationCache;
+
+    /** The authorities of the verified tokens, shared by their authentications; their names are the few ones we sign. */
+    private final Map<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+
+    public TokenProvider(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        SecurityMetersService securityMetersService,
+        MeterRegistry meterRegistry
+    ) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -60,12 +116,52 @@ public class TokenProvider {
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
 
+        this.accessTokenValidityInMilliseconds = applicationProperties.getSecurity().getRefreshToken().getAccessTokenTimeToLive();
         this.securityMetersService = securityMetersService;
+
+        ApplicationProperties.Security.TokenCache tokenCache = applicationProperties.getSecurity().getTokenCache();
+        if (!tokenCache.isEnabled()) {
+            this.authenticationCache = null;
+            return;
+        }
+        this.authenticationCache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(tokenCache.getMaximumSize())
+                .expireAfter(
+                    new Expiry<String, VerifiedToken>() {
+                        @Override
+                        public long expireAfterCreate(String digest, VerifiedToken verifiedToken, long currentTime) {
+                            return TimeUnit.MILLISECONDS.toNanos(Math.max(verifiedToken.expiration - System.currentTimeMillis(), 0));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(
+                            String digest,
+                            VerifiedToken verifiedToken,
+                            long currentTime,
+                            long currentDuration
+                        ) {
+                            return expireAfterCreate(digest, verifiedToken, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(
+                            String digest,
+                            VerifiedToken verifiedToken,
+                            long currentTime,
+                            long currentDuration
+                        ) {
+                            return currentDuration;
+                        }
+                    }
+                )
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, authenticationCache, CACHE_NAME);
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
-        String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
-
         long now = (new Date()).getTime();
         Date validity;
         if (rememberMe) {
@@ -73,6 +169,20 @@ public class TokenProvider {
         } else {
             validity = new Date(now + this.tokenValidityInMilliseconds);
         }
+        return createToken(authentication, validity);
+    }
+
+    /**
+     * Creates a short-lived access token, as minted with the refresh tokens.
+     * @param authentication the authentication of the user.
+     * @return the access token.
+     */
+    public String createAccessToken(Authentication authentication) {
+        return createToken(authentication, new Date(System.currentTimeMillis() + this.accessTokenValidityInMilliseconds));
+    }
+
+    private String createToken(Authentication authentication, Date validity) {
+        String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
 
         return Jwts
             .builder()
@@ -85,24 +195,40 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
+        return verify(jwtParser.parseClaimsJws(token).getBody()).authenticate(token);
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Verifies a token and gets a new authentication of it, parsing the token once, or not at all when the principal and
+     * authorities of the token are cached.
+     * @param token the token.
+     * @return the authentication, or empty if the token is not valid.
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        if (authenticationCache == null) {
+            return Optional.ofNullable(parseClaims(token)).map(claims -> verify(claims).authenticate(token));
+        }
+        String digest = digest(token);
+        VerifiedToken cached = authenticationCache.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached.authenticate(token));
+        }
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return Optional.empty();
+        }
+        VerifiedToken verifiedToken = verify(claims);
+        authenticationCache.put(digest, verifiedToken);
+        return Optional.of(verifiedToken.authenticate(token));
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
+        return parseClaims(authToken) != null;
+    }
 
-            return true;
+    private Claims parseClaims(String authToken) {
+        try {
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -123,6 +249,23 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private VerifiedToken verify(Claims claims) {
+        Collection<GrantedAuthority> tokenAuthorities = Arrays
+            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(auth -> authorities.computeIfAbsent(auth, SimpleGrantedAuthority::new))
+            .collect(Collectors.toUnmodifiableList());
+
+        User principal = new User(claims.getSubject(), "", tokenAuthorities);
+
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(principal, tokenAuthorities, expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+    }
+
+    private static String digest(String token) {
+        return Base64.getEncoder().encodeToString(TOKEN_DIGEST.get().digest(token.getBytes(StandardCharsets.UTF_8)));
     }
 }
@@ -0,0 +1,252 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.service.dto.LeaderboardEntryDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service keeping the {@link ResourceGot} rows of the players ranked by resource, in memory.
+ * <p>
+ * The rankings are loaded when the application is ready by {@link ResourceGotSnapshotService}, with a streaming scan or from a
+ * snapshot, then updated incrementally by the mutations of the rows, and reloaded by the production ticks, which change many rows at
+ * once. Only the rows with a registerUser are ranked; null resources are ranked as zero.
+ */
+@Service
+public class LeaderboardService {
+
+    /**
+     * The resources players are ranked by.
+     */
+    public enum RankedResource {
+        GOLD,
+        WOOD,
+        FER,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private final ResourceGotRepository resourceGotRepository;
+
+    private final ResourceGotMirror<Standings> mirror;
+
+    public LeaderboardService(ResourceGotRepository resourceGotRepository) {
+        this.resourceGotRepository = resourceGotRepository;
+        this.mirror = new ResourceGotMirror<>(Standings::new, Standings::put, Standings::remove, resourceGotRepository::findAllByIdIn);
+    }
+
+    /**
+     * Loads the rankings from the database, when the application starts without a snapshot.
+     */
+    public void load() {
+        reload().block();
+        log.info("Loaded the leaderboard of {} players", size());
+    }
+
+    /**
+     * Rebuilds the rankings from the database, unless a reload is already in progress.
+     *
+     * @return a {@link Mono} completing once the reloaded rankings are in use.
+     */
+    public Mono<Void> reload() {
+        return reload(resourceGotRepository.findAll());
+    }
+
+    /**
+     * Rebuilds the rankings from the given rows, unless a reload is already in progress.
+     *
+     * @param rows all the resourceGot rows, with their resources and registerUser id.
+     * @return a {@link Mono} completing once the reloaded rankings are in use.
+     */
+    public Mono<Void> reload(Flux<ResourceGot> rows) {
+        return mirror.reload(rows);
+    }
+
+    /**
+     * Ranks the current resources of the given resourceGot.
+     *
+     * @param resourceGot the resourceGot, with all its resources.
+     */
+    public void update(ResourceGot resourceGot) {
+        mirror.put(resourceGot);
+    }
+
+    /**
+     * Adds the given deltas to the ranked resources of a resourceGot.
+     *
+     * @param id the id of the resourceGot.
+     * @param gold the gold delta, or null.
+     * @param wood the wood delta, or null.
+     * @param fer the fer delta, or null.
+     */
+    public void adjust(Long id, Float gold, Float wood, Float fer) {
+        float[] deltas = { valueOf(gold), valueOf(wood), valueOf(fer) };
+        mirror.adjust(id, current -> current.adjust(id, deltas));
+    }
+
+    /**
+     * Removes a resourceGot from the rankings.
+     *
+     * @param id the id of the resourceGot.
+     */
+    public void remove(Long id) {
+        mirror.remove(id);
+    }
+
+    /**
+     * Gets the first players of a ranking.
+     *
+     * @param resource the resource the players are ranked by.
+     * @param n the maximum number of players.
+     * @return the first players, in rank order.
+     */
+    public List<LeaderboardEntryDTO> top(RankedResource resource, int n) {
+        return mirror.read(standings -> {
+            List<LeaderboardEntryDTO> entries = new ArrayList<>(Math.min(n, standings.size()));
+            Map<Long, Entry> rows = standings.rows;
+            standings.rankings[resource.ordinal()].top(
+                    n,
+                    (value, id) -> entries.add(new LeaderboardEntryDTO(entries.size() + 1, rows.get(id).userId, id, value))
+                );
+            return entries;
+        });
+    }
+
+    /**
+     * Gets the rank of a player.
+     *
+     * @param resource the resource the players are ranked by.
+     * @param userId the id of the user of the player.
+     * @return the rank of the player, or empty if the player is not ranked.
+     */
+    public Optional<LeaderboardEntryDTO> rank(RankedResource resource, Long userId) {
+        return mirror.read(standings -> {
+            Long id = standings.rowsByUser.get(userId);
+            if (id == null) {
+                return Optional.empty();
+            }
+            float value = standings.rows.get(id).values[resource.ordinal()];
+            int rank = standings.rankings[resource.ordinal()].rank(value, id) + 1;
+            return Optional.of(new LeaderboardEntryDTO(rank, userId, id, value));
+        });
+    }
+
+    /**
+     * Gets the number of ranked players.
+     *
+     * @return the number of ranked players.
+     */
+    public int size() {
+        return mirror.read(Standings::size);
+    }
+
+    /**
+     * Passes the ranked rows to the given exporter, under the read lock, so the exporter must not block.
+     *
+     * @param exporter the exporter of the rows.
+     */
+    void exportRows(RowExporter exporter) {
+        mirror.read(standings -> {
+            exporter.begin(standings.size());
+            for (Map.Entry<Long, Entry> row : standings.rows.entrySet()) {
+                float[] values = row.getValue().values;
+                exporter.row(row.getKey(), row.getValue().userId, values[0], values[1], values[2]);
+            }
+            return null;
+        });
+    }
+
+    private static float valueOf(Float resource) {
+        return resource != null ? resource : 0;
+    }
+
+    /**
+     * Receives the ranked rows, see {@link #exportRows(RowExporter)}.
+     */
+    interface RowExporter {
+        void begin(int size);
+
+        void row(long id, long userId, float gold, float wood, float fer);
+    }
+
+    private static final class Entry {
+
+        private final Long userId;
+        private final float[] values;
+
+        private Entry(Long userId, float[] values) {
+            this.userId = userId;
+            this.values = values;
+        }
+    }
+
+    /**
+     * The ranked rows, and one ranking per resource.
+     */
+    private static final class Standings {
+
+        private final Map<Long, Entry> rows = new HashMap<>();
+        private final Map<Long, Long> rowsByUser = new HashMap<>();
+        private final RankedScores[] rankings = new RankedScores[RankedResource.values().length];
+
+        private Standings() {
+            for (int i = 0; i < rankings.length; i++) {
+                rankings[i] = new RankedScores();
+            }
+        }
+
+        private int size() {
+            return rows.size();
+        }
+
+        private void put(ResourceGot resourceGot) {
+            remove(resourceGot.getId());
+            if (resourceGot.getRegisterUserId() == null) {
+                return;
+            }
+            float[] values = { valueOf(resourceGot.getGold()), valueOf(resourceGot.getWood()), valueOf(resourceGot.getFer()) };
+            add(resourceGot.getId(), new Entry(resourceGot.getRegisterUserId(), values));
+        }
+
+        private void adjust(Long id, float[] deltas) {
+            Entry entry = rows.get(id);
+            if (entry == null) {
+                return;
+            }
+            remove(id);
+            float[] values = entry.values.clone();
+            for (int i = 0; i < values.length; i++) {
+                values[i] += deltas[i];
+            }
+            add(id, new Entry(entry.userId, values));
+        }
+
+        private void add(Long id, Entry entry) {
+            rows.put(id, entry);
+            rowsByUser.put(entry.userId, id);
+            for (int i = 0; i < rankings.length; i++) {
+                rankings[i].add(entry.values[i], id);
+            }
+        }
+
+        private void remove(Long id) {
+            Entry entry = rows.remove(id);
+            if (entry == null) {
+                return;
+            }
+            rowsByUser.remove(entry.userId, id);
+            for (int i = 0; i < rankings.length; i++) {
+                rankings[i].remove(entry.values[i], id);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboxMail;
+import com.mycompany.myapp.repository.OutboxMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Sends the mails queued in the mail outbox by the {@link MailService}.
+ * <p>
+ * The due mails are claimed by batches, each batch being sent over a single SMTP connection, and a bounded number of batches are
+ * sent concurrently. The mails the mail server accepted are deleted from the outbox, the other ones are sent again after a
+ * delay doubled on each attempt, until they are given up after the maximum number of attempts. A batch claims its mails for a
+ * lease time, after which they are sent again if the batch did not complete: the mails are sent at least once.
+ * <p>
+ * The sent, retried and given up mails are counted by the {@value #MESSAGES_METER_NAME} counter, the delay between the queuing
+ * of the sent mails and their sending is timed by the {@value #LAG_METER_NAME} timer, the batches by the
+ * {@value #BATCHES_METER_NAME} timer, and the mails still to be sent are gauged by {@value #PENDING_METER_NAME}.
+ */
+@Service
+public class MailOutboxService {
+
+    public static final String MESSAGES_METER_NAME = "mail.outbox.messages";
+    public static final String LAG_METER_NAME = "mail.outbox.lag";
+    public static final String BATCHES_METER_NAME = "mail.outbox.batches";
+    public static final String PENDING_METER_NAME = "mail.outbox.pending";
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private final OutboxMailRepository outboxMailRepository;
+
+    private final MailService mailService;
+
+    private final JavaMailSender javaMailSender;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final Counter sent;
+
+    private final Counter retried;
+
+    private final Counter abandoned;
+
+    private final Timer lag;
+
+    private final Timer batches;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    public MailOutboxService(
+        OutboxMailRepository outboxMailRepository,
+        MailService mailService,
+        JavaMailSender javaMailSender,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailService = mailService;
+        this.javaMailSender = javaMailSender;
+        this.properties = applicationProperties.getMailOutbox();
+        this.sent = messages(meterRegistry, "sent");
+        this.retried = messages(meterRegistry, "retried");
+        this.abandoned = messages(meterRegistry, "abandoned");
+        this.lag =
+            Timer
+                .builder(LAG_METER_NAME)
+                .description("Delay between the queuing of the mails and their sending")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batches =
+            Timer.builder(BATCHES_METER_NAME).description("Duration of the sendings of the mail batches").register(meterRegistry);
+        Gauge
+            .builder(PENDING_METER_NAME, pending, AtomicLong::get)
+            .description("Mails of the outbox still to be sent, as of the last dispatch")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sends the due mails on a fixed interval.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval:1000}")
+    public void dispatchPending() {
+        dispatch().block();
+    }
+
+    /**
+     * Sends the due mails, batch after batch, until no mail is due.
+     * @return the number of mails sent.
+     */
+    public Mono<Long> dispatch() {
+        int parallelism = properties.getParallelism();
+        return Flux
+            .range(0, parallelism)
+            .flatMap(
+                lane -> sendBatch().expand(batch -> batch.claimed < properties.getBatchSize() ? Mono.empty() : sendBatch()),
+                parallelism
+            )
+            .reduce(0L, (count, batch) -> count + batch.sent)
+            .flatMap(count -> outboxMailRepository.countPending().doOnNext(pending::set).thenReturn(count))
+            .doOnNext(count -> {
+                if (count > 0) {
+                    log.debug("Sent {} mails of the outbox", count);
+                }
+            });
+    }
+
+    private Mono<Batch> sendBatch() {
+        String leaseId = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        return outboxMailRepository
+            .claim(leaseId, now.plusMillis(properties.getLeaseTime()), now, properties.getBatchSize())
+            .filter(claimed -> claimed > 0)
+            .flatMap(claimed -> outboxMailRepository.findAllByLeaseId(leaseId).collectList())
+            .flatMap(mails ->
+                // the SMTP client blocks
+                Mono
+                    .fromCallable(() -> send(mails))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(failures -> acknowledge(mails, failures))
+            )
+            .defaultIfEmpty(new Batch(0, 0));
+    }
+
+    /**
+     * Sends a batch of mails over a single connection.
+     * @param mails the mails.
+     * @return the mails which were not sent, with their failure.
+     */
+    private Map<OutboxMail, Exception> send(List<OutboxMail> mails) {
+        Map<OutboxMail, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, OutboxMail> messages = new IdentityHashMap<>();
+        for (OutboxMail mail : mails) {
+            try {
+                MimeMessage message = mailService.createMimeMessage(
+                    mail.getRecipient(),
+                    mail.getSubject(),
+                    mail.getContent(),
+                    mail.isMultipart(),
+                    mail.isHtml()
+                );
+                messages.put(message, mail);
+            } catch (MessagingException e) {
+                failures.put(mail, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        long start = System.nanoTime();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(mail -> failures.put(mail, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failures.put(messages.get(message), cause));
+        } catch (MailException e) {
+            messages.values().forEach(mail -> failures.put(mail, e));
+        } finally {
+            batches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return failures;
+    }
+
+    private Mono<Batch> acknowledge(List<OutboxMail> mails, Map<OutboxMail, Exception> failures) {
+        Instant now = Instant.now();
+        List<Long> sentIds = new ArrayList<>(mails.size());
+        for (OutboxMail mail : mails) {
+            if (!failures.containsKey(mail)) {
+                sentIds.add(mail.getId());
+                sent.increment();
+                lag.record(Duration.between(mail.getCreatedDate(), now));
+            }
+        }
+        return Flux
+            .fromIterable(failures.entrySet())
+            .concatMap(failure -> reschedule(failure.getKey(), failure.getValue(), now))
+            .then(sentIds.isEmpty() ? Mono.empty() : outboxMailRepository.deleteAllById(sentIds))
+            .thenReturn(new Batch(mails.size(), sentIds.size()));
+    }
+
+    private Mono<Integer> reschedule(OutboxMail mail, Exception cause, Instant now) {
+        int attempts = mail.getAttempts() + 1;
+        Instant nextAttemptDate = null;
+        if (attempts < properties.getMaxAttempts()) {
+            long delay = Math.min(properties.getRetryDelay() << Math.min(attempts - 1, 30), properties.getMaxRetryDelay());
+            nextAttemptDate = now.plusMillis(delay);
+            retried.increment();
+            log.warn("Email {} could not be sent, retrying at {}: {}", mail, nextAttemptDate, cause.toString());
+        } else {
+            abandoned.increment();
+            log.error("Email {} could not be sent after {} attempts, giving up", mail, attempts, cause);
+        }
+        return outboxMailRepository.reschedule(mail.getId(), attempts, nextAttemptDate);
+    }
+
+    private static Counter messages(MeterRegistry meterRegistry, String result) {
+        return Counter
+            .builder(MESSAGES_METER_NAME)
+            .description("Mails of the outbox, by result of their sending")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static final class Batch {
+
+        private final int claimed;
+
+        private final int sent;
+
+        private Batch(int claimed, int sent) {
+            this.claimed = claimed;
+            this.sent = sent;
+        }
+    }
+}
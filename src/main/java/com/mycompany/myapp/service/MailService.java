@@ -1,54 +1,55 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.domain.OutboxMail;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.OutboxMailRepository;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Locale;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * The emails of the user writes are queued in the mail outbox, in the transaction of the write, and sent by the
+ * {@link MailOutboxService}: they are sent if and only if the write commits, and retried until the mail server accepts them.
+ * <p>
+ * We use the {@link Async} annotation to send the other emails asynchronously.
  */
 @Service
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
-
-    private static final String BASE_URL = "baseUrl";
-
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
 
-    private final MessageSource messageSource;
+    private final MailTemplateCache mailTemplateCache;
 
-    private final SpringTemplateEngine templateEngine;
+    private final OutboxMailRepository outboxMailRepository;
 
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        MailTemplateCache mailTemplateCache,
+        OutboxMailRepository outboxMailRepository
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.mailTemplateCache = mailTemplateCache;
+        this.outboxMailRepository = outboxMailRepository;
     }
 
     @Async
@@ -62,34 +63,88 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
+            javaMailSender.send(createMimeMessage(to, subject, content, isMultipart, isHtml));
             log.debug("Sent email to User '{}'", to);
         } catch (MailException | MessagingException e) {
             log.warn("Email could not be sent to user '{}'", to, e);
         }
     }
 
+    MimeMessage createMimeMessage(
+        String to,
+        String subject,
+        String content,
+        boolean isMultipart,
+        boolean isHtml
+    ) throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
     @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        OutboxMail mail = renderEmailFromTemplate(user, templateName, titleKey);
+        sendEmail(mail.getRecipient(), mail.getSubject(), mail.getContent(), mail.isMultipart(), mail.isHtml());
+    }
+
+    /**
+     * Queues an email in the mail outbox, in the current transaction.
+     * @param user the user the email is sent to.
+     * @param templateName the name of the template of the email.
+     * @param titleKey the message key of the subject of the email.
+     * @return a completed {@link Mono}.
+     */
+    public Mono<Void> queueEmailFromTemplate(User user, String templateName, String titleKey) {
+        if (user.getEmail() == null) {
+            log.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return Mono.empty();
+        }
+        return Mono
+            .fromCallable(() -> renderEmailFromTemplate(user, templateName, titleKey))
+            // a template not cached yet is read from the classpath
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(outboxMailRepository::save)
+            .doOnNext(mail -> log.debug("Queued email {}", mail))
+            .then();
+    }
+
+    public Mono<Void> queueActivationEmail(User user) {
+        log.debug("Queuing activation email to '{}'", user.getEmail());
+        return queueEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+    }
+
+    public Mono<Void> queueCreationEmail(User user) {
+        log.debug("Queuing creation email to '{}'", user.getEmail());
+        return queueEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+    }
+
+    public Mono<Void> queuePasswordResetMail(User user) {
+        log.debug("Queuing password reset email to '{}'", user.getEmail());
+        return queueEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+    }
+
+    private OutboxMail renderEmailFromTemplate(User user, String templateName, String titleKey) {
+        MailTemplateCache.MailTemplate template = mailTemplateCache.get(templateName, titleKey, Locale.forLanguageTag(user.getLangKey()));
+        OutboxMail mail = new OutboxMail();
+        mail.setRecipient(user.getEmail());
+        mail.setSubject(template.getSubject());
+        mail.setContent(template.render(user));
+        mail.setHtml(true);
+        Instant now = Instant.now();
+        mail.setCreatedDate(now);
+        mail.setNextAttemptDate(now);
+        return mail;
     }
 
     @Async
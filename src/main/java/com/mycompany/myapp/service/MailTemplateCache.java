@@ -0,0 +1,219 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.User;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.unbescape.html.HtmlEscape;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Cache of the mail templates, rendered once per template and locale.
+ * <p>
+ * A template is rendered for a placeholder user, whose string properties are unique tokens, and the rendered mail is split
+ * around the tokens: the mail of a user is then the concatenation of the static parts with the escaped properties of the
+ * user, without evaluating the template again. The subject of the mail is resolved once too. The templates must therefore
+ * only print the string properties of the user, as the placeholder user does not take the branches or the formats taken for
+ * the actual users.
+ * <p>
+ * The templates are rendered on every mail when the Thymeleaf template cache is disabled, so that their changes show up
+ * during the development.
+ */
+@Component
+public class MailTemplateCache {
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private static final List<Property> PROPERTIES = List.of(
+        new Property(User::getLogin, User::setLogin),
+        new Property(User::getFirstName, User::setFirstName),
+        new Property(User::getLastName, User::setLastName),
+        new Property(User::getEmail, User::setEmail),
+        new Property(User::getImageUrl, User::setImageUrl),
+        new Property(User::getActivationKey, User::setActivationKey),
+        new Property(User::getResetKey, User::setResetKey)
+    );
+
+    private static final char TOKEN_END = '_';
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MessageSource messageSource;
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final boolean enabled;
+
+    /** Prefix of the tokens of the placeholder user, lowercase as the logins are lowercased. */
+    private final String tokenPrefix;
+
+    private final Map<String, MailTemplate> templates = new ConcurrentHashMap<>();
+
+    public MailTemplateCache(
+        JHipsterProperties jHipsterProperties,
+        MessageSource messageSource,
+        SpringTemplateEngine templateEngine,
+        ThymeleafProperties thymeleafProperties
+    ) {
+        this.jHipsterProperties = jHipsterProperties;
+        this.messageSource = messageSource;
+        this.templateEngine = templateEngine;
+        this.enabled = thymeleafProperties.isCache();
+        this.tokenPrefix = "mailtemplate" + Long.toHexString(new SecureRandom().nextLong()) + "p";
+    }
+
+    /**
+     * Gets a mail template.
+     * @param templateName the name of the template of the mail.
+     * @param titleKey the message key of the subject of the mail.
+     * @param locale the locale of the mail.
+     * @return the mail template.
+     */
+    public MailTemplate get(String templateName, String titleKey, Locale locale) {
+        if (!enabled) {
+            return new RenderedTemplate(templateName, messageSource.getMessage(titleKey, null, locale), locale);
+        }
+        return templates.computeIfAbsent(
+            templateName + '|' + titleKey + '|' + locale.toLanguageTag(),
+            key -> compile(templateName, messageSource.getMessage(titleKey, null, locale), locale)
+        );
+    }
+
+    private MailTemplate compile(String templateName, String subject, Locale locale) {
+        User placeholder = new User();
+        for (int i = 0; i < PROPERTIES.size(); i++) {
+            PROPERTIES.get(i).setter.accept(placeholder, tokenPrefix + i + TOKEN_END);
+        }
+        String rendered = process(templateName, locale, placeholder);
+        List<String> parts = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        int from = 0;
+        int token;
+        while ((token = rendered.indexOf(tokenPrefix, from)) >= 0) {
+            int indexStart = token + tokenPrefix.length();
+            int indexEnd = rendered.indexOf(TOKEN_END, indexStart);
+            parts.add(rendered.substring(from, token));
+            properties.add(PROPERTIES.get(Integer.parseInt(rendered.substring(indexStart, indexEnd))));
+            from = indexEnd + 1;
+        }
+        parts.add(rendered.substring(from));
+        return new CompiledTemplate(subject, parts.toArray(new String[0]), properties.toArray(new Property[0]));
+    }
+
+    private String process(String templateName, Locale locale, User user) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
+    /**
+     * A mail template, for a locale.
+     */
+    public interface MailTemplate {
+        /**
+         * Gets the subject of the mails.
+         * @return the subject, in the locale of the template.
+         */
+        String getSubject();
+
+        /**
+         * Renders the content of the mail of a user.
+         * @param user the user the mail is sent to.
+         * @return the content of the mail.
+         */
+        String render(User user);
+    }
+
+    private static final class Property {
+
+        private final Function<User, String> getter;
+
+        private final BiConsumer<User, String> setter;
+
+        private Property(Function<User, String> getter, BiConsumer<User, String> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    private static final class CompiledTemplate implements MailTemplate {
+
+        private final String subject;
+
+        /** The static parts of the mail, around the properties of the user. */
+        private final String[] parts;
+
+        private final Property[] properties;
+
+        private final int length;
+
+        private CompiledTemplate(String subject, String[] parts, Property[] properties) {
+            this.subject = subject;
+            this.parts = parts;
+            this.properties = properties;
+            int partsLength = 0;
+            for (String part : parts) {
+                partsLength += part.length();
+            }
+            this.length = partsLength;
+        }
+
+        @Override
+        public String getSubject() {
+            return subject;
+        }
+
+        @Override
+        public String render(User user) {
+            StringBuilder content = new StringBuilder(length + properties.length * 32);
+            content.append(parts[0]);
+            for (int i = 0; i < properties.length; i++) {
+                String value = properties[i].getter.apply(user);
+                if (value != null) {
+                    // escaped as Thymeleaf escapes the printed texts and attributes
+                    content.append(HtmlEscape.escapeHtml4Xml(value));
+                }
+                content.append(parts[i + 1]);
+            }
+            return content.toString();
+        }
+    }
+
+    private final class RenderedTemplate implements MailTemplate {
+
+        private final String templateName;
+
+        private final String subject;
+
+        private final Locale locale;
+
+        private RenderedTemplate(String templateName, String subject, Locale locale) {
+            this.templateName = templateName;
+            this.subject = subject;
+            this.locale = locale;
+        }
+
+        @Override
+        public String getSubject() {
+            return subject;
+        }
+
+        @Override
+        public String render(User user) {
+            return process(templateName, locale, user);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ProductionTick;
+import com.mycompany.myapp.repository.ProductionTickRepository;
+import com.mycompany.myapp.repository.ResourceDataRepository;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service applying the production rates of the {@link com.mycompany.myapp.domain.ResourceGot} and
+ * {@link com.mycompany.myapp.domain.ResourceData} rows to their resources, on a fixed rate.
+ * <p>
+ * A tick splits the id space of each table into ranges of {@code chunk-size} ids, and updates every range with a single set-based
+ * statement. At most {@code parallelism} statements run at the same time. The rows of a failing range miss the production of the
+ * tick.
+ * <p>
+ * In lazy accrual mode, the resourceGot rows are skipped: their production is computed on read and written on mutations.
+ * <p>
+ * The ticks are shared by the instances of the application through the {@link ProductionTick} row: a tick first claims its
+ * lease, for half the tick interval, so that a single instance ticks per interval, then moves its produced until date to now,
+ * and only then applies the production elapsed since the previous date. The production is therefore applied at most once, even
+ * when a tick outlives its lease, and the production of the time the application was down is applied by the first tick after
+ * it restarts.
+ */
+@Service
+public class ProductionTickService {
+
+    public static final String TICK_METER_NAME = "production.tick";
+    public static final String ROWS_METER_NAME = "production.tick.rows";
+    public static final String THROUGHPUT_METER_NAME = "production.tick.throughput";
+    public static final String LAG_METER_NAME = "production.tick.lag";
+
+    /** The id of the {@link ProductionTick} row. */
+    public static final String TICK_ID = "production";
+
+    private final Logger log = LoggerFactory.getLogger(ProductionTickService.class);
+
+    private final ResourceGotRepository resourceGotRepository;
+
+    private final ResourceDataRepository resourceDataRepository;
+
+    private final LeaderboardService leaderboardService;
+
+    private final ResourceStatsService resourceStatsService;
+
+    private final ResourceColumnsService resourceColumnsService;
+
+    private final ProductionTickRepository productionTickRepository;
+
+    private final ApplicationProperties.Production properties;
+
+    /** The wall clock time, in milliseconds, this instance started at, from which the first tick ever produces. */
+    private final long startedAt = System.currentTimeMillis();
+
+    /** The wall clock time, in milliseconds, up to which the production has been applied, as last seen by this instance. */
+    private final AtomicLong producedUntil = new AtomicLong(startedAt);
+
+    private volatile double throughput;
+
+    private final Counter resourceGotRowsCounter;
+
+    private final Counter resourceDataRowsCounter;
+
+    private final Timer tickTimer;
+
+    public ProductionTickService(
+        ResourceGotRepository resourceGotRepository,
+        ResourceDataRepository resourceDataRepository,
+        LeaderboardService leaderboardService,
+        ResourceStatsService resourceStatsService,
+        ResourceColumnsService resourceColumnsService,
+        ProductionTickRepository productionTickRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.resourceGotRepository = resourceGotRepository;
+        this.resourceDataRepository = resourceDataRepository;
+        this.leaderboardService = leaderboardService;
+        this.resourceStatsService = resourceStatsService;
+        this.resourceColumnsService = resourceColumnsService;
+        this.productionTickRepository = productionTickRepository;
+        this.properties = applicationProperties.getProduction();
+        this.resourceGotRowsCounter = rowsCounter(registry, "resource_got");
+        this.resourceDataRowsCounter = rowsCounter(registry, "resource_data");
+        this.tickTimer = Timer
+            .builder(TICK_METER_NAME)
+            .description("Duration of the production ticks")
+            .publishPercentileHistogram()
+            .register(registry);
+        Gauge
+            .builder(THROUGHPUT_METER_NAME, this, service -> service.throughput)
+            .baseUnit("rows.per.second")
+            .description("Number of rows updated per second by the last production tick")
+            .register(registry);
+        Gauge
+            .builder(LAG_METER_NAME, this, ProductionTickService::lagSeconds)
+            .baseUnit("seconds")
+            .description("Time elapsed since the instant up to which the production has been applied")
+            .register(registry);
+    }
+
+    private static Counter rowsCounter(MeterRegistry registry, String table) {
+        return Counter
+            .builder(ROWS_METER_NAME)
+            .tag("table", table)
+            .baseUnit("rows")
+            .description("Number of rows updated by the production ticks")
+            .register(registry);
+    }
+
+    /**
+     * Applies the production on a fixed rate.
+     */
+    @Scheduled(
+        fixedRateString = "${application.production.tick-interval:60000}",
+        initialDelayString = "${application.production.tick-interval:60000}"
+    )
+    public void scheduledTick() {
+        tick().block();
+    }
+
+    /**
+     * Applies the production elapsed since the previous tick, of any instance, then reloads the leaderboard and the resource
+     * columns, as the resources of most players changed. Nothing is applied while another instance holds the lease of the ticks,
+     * but once it has applied production, the cached entities, statistics, leaderboard and columns of this instance are refreshed.
+     *
+     * @return the number of updated rows.
+     */
+    public Mono<Long> tick() {
+        return Mono.defer(() -> {
+            Instant now = Instant.now();
+            String leaseId = UUID.randomUUID().toString();
+            return productionTickRepository
+                .claim(TICK_ID, leaseId, now.plusMillis(properties.getTickInterval() / 2), now)
+                .flatMap(claimed ->
+                    claimed == 0 ? skip() : productionTickRepository.findById(TICK_ID).flatMap(tick -> tick(tick, leaseId, now))
+                );
+        });
+    }
+
+    private Mono<Long> tick(ProductionTick tick, String leaseId, Instant now) {
+        long previous = tick.getProducedUntil() != null ? tick.getProducedUntil().toEpochMilli() : startedAt;
+        return productionTickRepository
+            .advance(TICK_ID, leaseId, now)
+            .flatMap(advanced -> {
+                if (advanced == 0) {
+                    log.warn("Lost the lease of the production ticks before applying the production");
+                    return Mono.just(0L);
+                }
+                producedUntil.set(now.toEpochMilli());
+                return produce((now.toEpochMilli() - previous) / 1000d).flatMap(rows -> reload().thenReturn(rows));
+            });
+    }
+
+    private Mono<Long> skip() {
+        // another instance ticks, the rows it produced are refreshed in the local state
+        return productionTickRepository
+            .findById(TICK_ID)
+            .filter(tick -> tick.getProducedUntil() != null)
+            .flatMap(tick -> {
+                long until = tick.getProducedUntil().toEpochMilli();
+                if (producedUntil.getAndAccumulate(until, Math::max) >= until) {
+                    return Mono.empty();
+                }
+                return invalidate().then(reload());
+            })
+            .thenReturn(0L);
+    }
+
+    /**
+     * Reloads the leaderboard and the resource columns, as the production changed the resources of most players.
+     */
+    private Mono<Void> reload() {
+        return leaderboardService.reload().then(resourceColumnsService.reload());
+    }
+
+    /**
+     * Evicts the cached entities and invalidates the statistics of the rows, as the production changed them.
+     */
+    private Mono<Void> invalidate() {
+        return resourceGotRepository
+            .evictCache()
+            .then(resourceDataRepository.evictCache())
+            .then(
+                Mono.fromRunnable(() -> {
+                    // in lazy accrual mode, the resourceGot rows still change with time
+                    resourceStatsService.invalidateAll(ResourceStatsService.StatsTable.RESOURCE_GOT);
+                    resourceStatsService.invalidateAll(ResourceStatsService.StatsTable.RESOURCE_DATA);
+                })
+            );
+    }
+
+    /**
+     * Applies the production of the given duration to all the rows, and invalidates their cached entities and statistics.
+     *
+     * @param elapsedSeconds the duration of the production, in seconds.
+     * @return the number of updated rows.
+     */
+    public Mono<Long> produce(double elapsedSeconds) {
+        return Mono.defer(() -> {
+            if (elapsedSeconds <= 0) {
+                return Mono.just(0L);
+            }
+            Timer.Sample sample = Timer.start();
+            Instant settledAt = Instant.now();
+            Flux<Mono<Integer>> resourceGotChunks = properties.isLazyAccrual()
+                ? Flux.empty()
+                : chunks(
+                    "resource_got",
+                    resourceGotRepository.findFirstId(),
+                    resourceGotRepository.findLastId(),
+                    (fromId, toId) -> resourceGotRepository.produce(fromId, toId, elapsedSeconds, settledAt),
+                    resourceGotRowsCounter
+                );
+            Flux<Mono<Integer>> resourceDataChunks = chunks(
+                "resource_data",
+                resourceDataRepository.findFirstId(),
+                resourceDataRepository.findLastId(),
+                (fromId, toId) -> resourceDataRepository.produce(fromId, toId, elapsedSeconds),
+                resourceDataRowsCounter
+            );
+            return Flux
+                .concat(resourceGotChunks, resourceDataChunks)
+                .flatMap(Function.identity(), properties.getParallelism())
+                .reduce(0L, Long::sum)
+                .flatMap(rows -> invalidate().thenReturn(rows))
+                .doOnNext(rows -> {
+                    long duration = sample.stop(tickTimer);
+                    throughput = rows / Math.max(duration / 1e9, 1e-9);
+                    log.debug(
+                        "Applied {}s of production to {} rows in {} ms",
+                        elapsedSeconds,
+                        rows,
+                        TimeUnit.NANOSECONDS.toMillis(duration)
+                    );
+                });
+        });
+    }
+
+    private Flux<Mono<Integer>> chunks(String table, Mono<Long> firstId, Mono<Long> lastId, RangeUpdate update, Counter rowsCounter) {
+        long chunkSize = properties.getChunkSize();
+        return Mono
+            .zip(firstId, lastId)
+            .flatMapMany(ids ->
+                Flux
+                    .range(0, (int) ((ids.getT2() - ids.getT1()) / chunkSize + 1))
+                    .map(chunk -> {
+                        long fromId = ids.getT1() + chunk * chunkSize;
+                        long toId = Math.min(fromId + chunkSize - 1, ids.getT2());
+                        return update
+                            .apply(fromId, toId)
+                            .doOnNext(rowsCounter::increment)
+                            .onErrorResume(e -> {
+                                log.warn("Could not apply the production to the ids {} to {} of {}", fromId, toId, table, e);
+                                return Mono.just(0);
+                            });
+                    })
+            );
+    }
+
+    private double lagSeconds() {
+        return (System.currentTimeMillis() - producedUntil.get()) / 1000d;
+    }
+
+    @FunctionalInterface
+    private interface RangeUpdate {
+        Mono<Integer> apply(long fromId, long toId);
+    }
+}
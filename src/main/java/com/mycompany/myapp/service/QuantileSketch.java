@@ -0,0 +1,190 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Mergeable sketch of a stream of values, tracking their exact count, sum, minimum and maximum, and their quantiles with a bounded
+ * relative error.
+ * <p>
+ * Values are counted in logarithmic buckets, as in DDSketch: a value {@code v > 0} falls in the bucket {@code ceil(log_gamma(v))},
+ * so any quantile is estimated within {@value #RELATIVE_ACCURACY} of its value. The number of buckets is bounded: past
+ * {@value #MAX_BUCKETS} buckets, the buckets of the values closest to zero are collapsed together. Sketches built on parts of a
+ * stream merge into the sketch of the whole stream. Not thread-safe.
+ */
+final class QuantileSketch {
+
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final int MAX_BUCKETS = 2048;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    private final Buckets positives = new Buckets();
+    private final Buckets negatives = new Buckets();
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    void add(double value) {
+        if (value > MIN_INDEXABLE_VALUE) {
+            positives.add(index(value), 1);
+        } else if (value < -MIN_INDEXABLE_VALUE) {
+            negatives.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void merge(QuantileSketch other) {
+        positives.merge(other.positives);
+        negatives.merge(other.negatives);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getSum() {
+        return sum;
+    }
+
+    double getMin() {
+        return min;
+    }
+
+    double getMax() {
+        return max;
+    }
+
+    /**
+     * Estimates a quantile of the values.
+     *
+     * @param quantile the quantile, between 0 and 1.
+     * @return the estimated quantile, or {@code NaN} if the sketch is empty.
+     */
+    double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = quantile * (count - 1);
+        long cumulated = 0;
+        for (int index = negatives.maxIndex; index >= negatives.minIndex && !negatives.isEmpty(); index--) {
+            cumulated += negatives.get(index);
+            if (cumulated > rank) {
+                return clamp(-value(index));
+            }
+        }
+        cumulated += zeroCount;
+        if (cumulated > rank) {
+            return clamp(0);
+        }
+        for (int index = positives.minIndex; index <= positives.maxIndex && !positives.isEmpty(); index++) {
+            cumulated += positives.get(index);
+            if (cumulated > rank) {
+                return clamp(value(index));
+            }
+        }
+        return max;
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private static double value(int index) {
+        // the value with the same relative distance to both bounds of the bucket
+        return 2 * Math.exp(index * LOG_GAMMA) / (1 + GAMMA);
+    }
+
+    /**
+     * Counts per bucket index, stored in an array covering the used indexes.
+     */
+    private static final class Buckets {
+
+        private long[] counts;
+        private int offset;
+        private int minIndex;
+        private int maxIndex;
+
+        private boolean isEmpty() {
+            return counts == null;
+        }
+
+        private long get(int index) {
+            return counts[index - offset];
+        }
+
+        private void add(int index, long added) {
+            if (counts == null) {
+                counts = new long[16];
+                offset = index - 8;
+                minIndex = index;
+                maxIndex = index;
+            } else if (index < minIndex) {
+                // the lowest buckets are collapsed when the span is too wide
+                index = Math.max(index, maxIndex - MAX_BUCKETS + 1);
+            } else if (index > maxIndex && index - minIndex >= MAX_BUCKETS) {
+                collapseBelow(index - MAX_BUCKETS + 1);
+            }
+            ensureCapacity(Math.min(index, minIndex), Math.max(index, maxIndex));
+            counts[index - offset] += added;
+            minIndex = Math.min(index, minIndex);
+            maxIndex = Math.max(index, maxIndex);
+        }
+
+        private void collapseBelow(int newMinIndex) {
+            long collapsed = 0;
+            for (int index = minIndex; index < newMinIndex && index <= maxIndex; index++) {
+                collapsed += counts[index - offset];
+                counts[index - offset] = 0;
+            }
+            minIndex = newMinIndex;
+            maxIndex = Math.max(maxIndex, newMinIndex);
+            ensureCapacity(minIndex, maxIndex);
+            counts[newMinIndex - offset] += collapsed;
+        }
+
+        private void ensureCapacity(int from, int to) {
+            if (from >= offset && to < offset + counts.length) {
+                return;
+            }
+            int needed = to - from + 1;
+            int length = Math.max(needed, Math.min(Math.max(counts.length, needed * 2), MAX_BUCKETS * 2));
+            int newOffset = from - (length - needed) / 2;
+            long[] grown = new long[length];
+            int start = Math.max(offset, newOffset);
+            int end = Math.min(offset + counts.length, newOffset + length);
+            if (start < end) {
+                System.arraycopy(counts, start - offset, grown, start - newOffset, end - start);
+            }
+            counts = grown;
+            offset = newOffset;
+        }
+
+        private void merge(Buckets other) {
+            if (other.counts == null) {
+                return;
+            }
+            for (int index = other.minIndex; index <= other.maxIndex; index++) {
+                long added = other.counts[index - other.offset];
+                if (added > 0) {
+                    add(index, added);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.mycompany.myapp.service;
+
+import java.util.Arrays;
+
+/**
+ * Order statistic tree of (score, id) pairs, ranked by descending score then ascending id, stored in primitive arrays.
+ * <p>
+ * The tree is a treap whose nodes carry the size of their subtree, so that insertions, removals and rank lookups take a logarithmic
+ * expected time, and the top n pairs are walked in {@code O(log size + n)}. Not thread-safe.
+ */
+final class RankedScores {
+
+    /**
+     * Receives the pairs walked by {@link #top(int, PairConsumer)}, in rank order.
+     */
+    @FunctionalInterface
+    interface PairConsumer {
+        void accept(float score, long id);
+    }
+
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private float[] scores;
+    private long[] ids;
+    private int[] priorities;
+    private int[] left;
+    private int[] right;
+    private int[] sizes;
+
+    private int root = NIL;
+    private int allocated;
+    private int freeList = NIL;
+    private int seed = 0x2545F491;
+
+    private int splitLeft;
+    private int splitRight;
+    private boolean removed;
+
+    RankedScores() {
+        this(INITIAL_CAPACITY);
+    }
+
+    RankedScores(int expectedSize) {
+        // node 0 is the nil node, with a size of 0
+        int capacity = Math.max(expectedSize, INITIAL_CAPACITY) + 1;
+        scores = new float[capacity];
+        ids = new long[capacity];
+        priorities = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        sizes = new int[capacity];
+    }
+
+    int size() {
+        return sizes[root];
+    }
+
+    /**
+     * Adds a pair. Adding a pair twice keeps both copies.
+     */
+    void add(float score, long id) {
+        int node = allocate(score, id);
+        root = insert(root, node);
+    }
+
+    /**
+     * Removes one copy of a pair.
+     *
+     * @return whether the pair was found.
+     */
+    boolean remove(float score, long id) {
+        removed = false;
+        root = remove(root, score, id);
+        return removed;
+    }
+
+    /**
+     * Counts the pairs ranked before the given pair, whether it is in the tree or not.
+     *
+     * @return the zero-based rank of the pair.
+     */
+    int rank(float score, long id) {
+        int rank = 0;
+        int node = root;
+        while (node != NIL) {
+            if (compare(score, id, node) <= 0) {
+                node = left[node];
+            } else {
+                rank += sizes[left[node]] + 1;
+                node = right[node];
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Walks the first pairs in rank order.
+     *
+     * @param n the maximum number of pairs to walk.
+     * @param consumer the consumer of the pairs.
+     */
+    void top(int n, PairConsumer consumer) {
+        int[] stack = new int[64];
+        int depth = 0;
+        int node = root;
+        int walked = 0;
+        while (walked < n && (node != NIL || depth > 0)) {
+            if (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = left[node];
+            } else {
+                node = stack[--depth];
+                consumer.accept(scores[node], ids[node]);
+                walked++;
+                node = right[node];
+            }
+        }
+    }
+
+    private int compare(float score, long id, int node) {
+        int byScore = Float.compare(scores[node], score);
+        return byScore != 0 ? byScore : Long.compare(id, ids[node]);
+    }
+
+    private int insert(int tree, int node) {
+        if (tree == NIL) {
+            return node;
+        }
+        if (priorities[node] > priorities[tree]) {
+            split(tree, scores[node], ids[node]);
+            left[node] = splitLeft;
+            right[node] = splitRight;
+            update(node);
+            return node;
+        }
+        if (compare(scores[node], ids[node], tree) < 0) {
+            left[tree] = insert(left[tree], node);
+        } else {
+            right[tree] = insert(right[tree], node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    /** Splits the tree into the pairs ranked before the given pair, and the others. */
+    private void split(int tree, float score, long id) {
+        if (tree == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (compare(score, id, tree) > 0) {
+            split(right[tree], score, id);
+            right[tree] = splitLeft;
+            update(tree);
+            splitLeft = tree;
+        } else {
+            split(left[tree], score, id);
+            left[tree] = splitRight;
+            update(tree);
+            splitRight = tree;
+        }
+    }
+
+    private int remove(int tree, float score, long id) {
+        if (tree == NIL) {
+            return NIL;
+        }
+        int comparison = compare(score, id, tree);
+        if (comparison == 0) {
+            removed = true;
+            int merged = merge(left[tree], right[tree]);
+            release(tree);
+            return merged;
+        }
+        if (comparison < 0) {
+            left[tree] = remove(left[tree], score, id);
+        } else {
+            right[tree] = remove(right[tree], score, id);
+        }
+        update(tree);
+        return tree;
+    }
+
+    private int merge(int first, int second) {
+        if (first == NIL) {
+            return second;
+        }
+        if (second == NIL) {
+            return first;
+        }
+        if (priorities[first] > priorities[second]) {
+            right[first] = merge(right[first], second);
+            update(first);
+            return first;
+        }
+        left[second] = merge(first, left[second]);
+        update(second);
+        return second;
+    }
+
+    private void update(int node) {
+        sizes[node] = sizes[left[node]] + sizes[right[node]] + 1;
+    }
+
+    private int allocate(float score, long id) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            node = ++allocated;
+            if (node == scores.length) {
+                grow();
+            }
+        }
+        scores[node] = score;
+        ids[node] = id;
+        priorities[node] = nextPriority();
+        left[node] = NIL;
+        right[node] = NIL;
+        sizes[node] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = scores.length + (scores.length >> 1);
+        scores = Arrays.copyOf(scores, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+    }
+
+    private int nextPriority() {
+        // xorshift32, the treap only needs the priorities to be well spread
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
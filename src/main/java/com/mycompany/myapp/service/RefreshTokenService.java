@@ -0,0 +1,141 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RefreshToken;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.RefreshTokenRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Service class for managing the refresh tokens.
+ * <p>
+ * A refresh token is exchanged for a new access token without the password of its user, so without any password hash. It is
+ * used once: the exchange deletes it and issues a new refresh token, expiring with it, so that the session started by a login
+ * ends at the latest when its first refresh token would have expired. Only the SHA-256 hashes of the tokens are stored, and
+ * the tokens of a user are revoked when its password changes.
+ */
+@Service
+public class RefreshTokenService {
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationProperties.Security.RefreshToken properties;
+
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.properties = applicationProperties.getSecurity().getRefreshToken();
+    }
+
+    /**
+     * Issues a refresh token to a user who just logged in.
+     * @param login the login of the user.
+     * @param rememberMe whether the user asked to be remembered, for a longer lived token.
+     * @return the refresh token.
+     */
+    @Transactional
+    public Mono<String> createToken(String login, boolean rememberMe) {
+        long timeToLive = rememberMe ? properties.getTimeToLiveForRememberMe() : properties.getTimeToLive();
+        return userRepository.findOneByLogin(login).flatMap(user -> issueToken(user.getId(), Instant.now().plusMillis(timeToLive)));
+    }
+
+    /**
+     * Exchanges a refresh token for a new one, expiring with it.
+     * @param token the refresh token, which cannot be used again.
+     * @return the activated user of the token, with its authorities, and the new refresh token; or empty if the token is unknown,
+     * expired or already used.
+     */
+    @Transactional
+    public Mono<Tuple2<User, String>> rotateToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Mono.empty();
+        }
+        return refreshTokenRepository
+            .findOneByTokenHash(hash(token))
+            .filter(refreshToken -> refreshToken.getExpiryDate().isAfter(Instant.now()))
+            // only one of the concurrent exchanges of a token deletes it
+            .filterWhen(refreshToken -> refreshTokenRepository.deleteOneById(refreshToken.getId()).map(deleted -> deleted > 0))
+            .flatMap(refreshToken ->
+                userRepository
+                    .findById(refreshToken.getUserId())
+                    .flatMap(user -> userRepository.findOneWithAuthoritiesByLogin(user.getLogin()))
+                    .filter(User::isActivated)
+                    .flatMap(user -> issueToken(user.getId(), refreshToken.getExpiryDate()).map(newToken -> Tuples.of(user, newToken)))
+            );
+    }
+
+    /**
+     * Revokes all the refresh tokens of a user.
+     * @param userId the id of the user.
+     * @return a completed {@link Mono}.
+     */
+    @Transactional
+    public Mono<Void> revokeTokens(Long userId) {
+        return refreshTokenRepository
+            .deleteAllByUserId(userId)
+            .doOnNext(count -> log.debug("Revoked {} refresh tokens of user {}", count, userId))
+            .then();
+    }
+
+    /**
+     * Expired refresh tokens are deleted every day, at 02:00 (am).
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void removeExpiredTokens() {
+        refreshTokenRepository
+            .deleteAllByExpiryDateBefore(Instant.now())
+            .doOnNext(count -> log.debug("Deleted {} expired refresh tokens", count))
+            .block();
+    }
+
+    private Mono<String> issueToken(Long userId, Instant expiryDate) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUserId(userId);
+        refreshToken.setExpiryDate(expiryDate);
+        return refreshTokenRepository.save(refreshToken).thenReturn(token);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.mycompany.myapp.service;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import java.util.Arrays;
+
+/**
+ * Resources of rows stored by column, in primitive arrays: an id, a user id and three resources per row, without any object per row.
+ * <p>
+ * Rows are found by id and by user id through primitive hash maps. Removing a row moves the last row in its place, so the columns
+ * stay dense. The scans are plain loops over the arrays, without branches in the loops counting and summing the matches, which the
+ * JIT can unroll and vectorize. Not thread-safe.
+ */
+final class ResourceColumns {
+
+    static final int GOLD = 0;
+    static final int WOOD = 1;
+    static final int FER = 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] ids;
+    private long[] userIds;
+    private final float[][] resources = new float[3][];
+    private int size;
+
+    private final LongIntHashMap rowsById;
+    private final LongIntHashMap rowsByUser;
+
+    ResourceColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    ResourceColumns(int capacity) {
+        ids = new long[capacity];
+        userIds = new long[capacity];
+        for (int i = 0; i < resources.length; i++) {
+            resources[i] = new float[capacity];
+        }
+        rowsById = new LongIntHashMap(capacity);
+        rowsByUser = new LongIntHashMap(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    long userId(int row) {
+        return userIds[row];
+    }
+
+    float resource(int resource, int row) {
+        return resources[resource][row];
+    }
+
+    /**
+     * Finds the row of a user. When a user has several rows, the last one written is found.
+     *
+     * @param userId the id of the user.
+     * @return the row, or -1 if the user has no row.
+     */
+    int rowOfUser(long userId) {
+        return rowsByUser.getOrDefault(userId, -1);
+    }
+
+    void put(long id, long userId, float gold, float wood, float fer) {
+        int row = rowsById.getOrDefault(id, -1);
+        if (row < 0) {
+            ensureCapacity(size + 1);
+            row = size++;
+            ids[row] = id;
+            rowsById.put(id, row);
+        } else if (userIds[row] != userId) {
+            unmapUser(row);
+        }
+        userIds[row] = userId;
+        rowsByUser.put(userId, row);
+        resources[GOLD][row] = gold;
+        resources[WOOD][row] = wood;
+        resources[FER][row] = fer;
+    }
+
+    void adjust(long id, float gold, float wood, float fer) {
+        int row = rowsById.getOrDefault(id, -1);
+        if (row >= 0) {
+            resources[GOLD][row] += gold;
+            resources[WOOD][row] += wood;
+            resources[FER][row] += fer;
+        }
+    }
+
+    void remove(long id) {
+        int row = rowsById.getOrDefault(id, -1);
+        if (row < 0) {
+            return;
+        }
+        rowsById.remove(id);
+        unmapUser(row);
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            userIds[row] = userIds[last];
+            for (float[] column : resources) {
+                column[row] = column[last];
+            }
+            rowsById.put(ids[row], row);
+            if (rowsByUser.getOrDefault(userIds[row], -1) == last) {
+                rowsByUser.put(userIds[row], row);
+            }
+        }
+    }
+
+    /**
+     * Counts the rows with each resource strictly between its bounds, and sums their resources.
+     *
+     * @param lower the exclusive lower bound of each resource.
+     * @param upper the exclusive upper bound of each resource.
+     * @param sums the sums of the resources of the matching rows, added to.
+     * @return the number of matching rows.
+     */
+    int aggregate(float[] lower, float[] upper, double[] sums) {
+        float[] gold = resources[GOLD];
+        float[] wood = resources[WOOD];
+        float[] fer = resources[FER];
+        float goldLower = lower[GOLD], goldUpper = upper[GOLD];
+        float woodLower = lower[WOOD], woodUpper = upper[WOOD];
+        float ferLower = lower[FER], ferUpper = upper[FER];
+        int count = 0;
+        double goldSum = 0, woodSum = 0, ferSum = 0;
+        for (int row = 0; row < size; row++) {
+            float g = gold[row], w = wood[row], f = fer[row];
+            int match = (g > goldLower & g < goldUpper & w > woodLower & w < woodUpper & f > ferLower & f < ferUpper) ? 1 : 0;
+            count += match;
+            goldSum += match * g;
+            woodSum += match * w;
+            ferSum += match * f;
+        }
+        sums[GOLD] += goldSum;
+        sums[WOOD] += woodSum;
+        sums[FER] += ferSum;
+        return count;
+    }
+
+    /**
+     * Selects the first rows with each resource strictly between its bounds.
+     *
+     * @param lower the exclusive lower bound of each resource.
+     * @param upper the exclusive upper bound of each resource.
+     * @param selected the selected rows; the scan stops once it is full.
+     * @return the number of selected rows.
+     */
+    int select(float[] lower, float[] upper, int[] selected) {
+        float[] gold = resources[GOLD];
+        float[] wood = resources[WOOD];
+        float[] fer = resources[FER];
+        int count = 0;
+        for (int row = 0; row < size && count < selected.length; row++) {
+            float g = gold[row], w = wood[row], f = fer[row];
+            if (g > lower[GOLD] & g < upper[GOLD] & w > lower[WOOD] & w < upper[WOOD] & f > lower[FER] & f < upper[FER]) {
+                selected[count++] = row;
+            }
+        }
+        return count;
+    }
+
+    private void unmapUser(int row) {
+        long userId = userIds[row];
+        if (rowsByUser.getOrDefault(userId, -1) == row) {
+            rowsByUser.remove(userId);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, grown);
+        userIds = Arrays.copyOf(userIds, grown);
+        for (int i = 0; i < resources.length; i++) {
+            resources[i] = Arrays.copyOf(resources[i], grown);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.service.dto.PlayerResourcesDTO;
+import com.mycompany.myapp.service.dto.PlayerSearchDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service mirroring the resources of the players' {@link ResourceGot} rows in memory, in {@link ResourceColumns}, to search the
+ * players by resource without the database.
+ * <p>
+ * The mirror is optional, enabled by {@code application.columns.enabled}. It is loaded when the application is ready by
+ * {@link ResourceGotSnapshotService}, with a streaming scan or from a snapshot, then updated incrementally by the mutations of the
+ * rows, and reloaded by the production ticks. Only the rows with a registerUser are mirrored; null resources are mirrored as zero.
+ */
+@Service
+public class ResourceColumnsService {
+
+    private final Logger log = LoggerFactory.getLogger(ResourceColumnsService.class);
+
+    private final ResourceGotRepository resourceGotRepository;
+
+    private final boolean enabled;
+
+    private final ResourceGotMirror<ResourceColumns> mirror;
+
+    public ResourceColumnsService(ResourceGotRepository resourceGotRepository, ApplicationProperties applicationProperties) {
+        this.resourceGotRepository = resourceGotRepository;
+        this.enabled = applicationProperties.getColumns().isEnabled();
+        this.mirror =
+            new ResourceGotMirror<>(
+                ResourceColumns::new,
+                ResourceColumnsService::put,
+                ResourceColumns::remove,
+                resourceGotRepository::findAllByIdIn
+            );
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads the columns from the database, if the mirror is enabled, when the application starts without a snapshot.
+     */
+    public void load() {
+        if (enabled) {
+            reload().block();
+            log.info("Loaded the resources of {} players in columns", size());
+        }
+    }
+
+    /**
+     * Rebuilds the columns from the database, unless the mirror is disabled or a reload is already in progress.
+     *
+     * @return a {@link Mono} completing once the reloaded columns are in use.
+     */
+    public Mono<Void> reload() {
+        return reload(resourceGotRepository.findAll());
+    }
+
+    /**
+     * Rebuilds the columns from the given rows, unless the mirror is disabled or a reload is already in progress.
+     *
+     * @param rows all the resourceGot rows, with their resources and registerUser id.
+     * @return a {@link Mono} completing once the reloaded columns are in use.
+     */
+    public Mono<Void> reload(Flux<ResourceGot> rows) {
+        return enabled ? mirror.reload(rows) : Mono.empty();
+    }
+
+    /**
+     * Mirrors the current resources of the given resourceGot.
+     *
+     * @param resourceGot the resourceGot, with all its resources.
+     */
+    public void update(ResourceGot resourceGot) {
+        if (enabled) {
+            mirror.put(resourceGot);
+        }
+    }
+
+    /**
+     * Adds the given deltas to the mirrored resources of a resourceGot.
+     *
+     * @param id the id of the resourceGot.
+     * @param gold the gold delta, or null.
+     * @param wood the wood delta, or null.
+     * @param fer the fer delta, or null.
+     */
+    public void adjust(Long id, Float gold, Float wood, Float fer) {
+        if (enabled) {
+            mirror.adjust(id, current -> current.adjust(id, valueOf(gold), valueOf(wood), valueOf(fer)));
+        }
+    }
+
+    /**
+     * Removes a resourceGot from the mirror.
+     *
+     * @param id the id of the resourceGot.
+     */
+    public void remove(Long id) {
+        if (enabled) {
+            mirror.remove(id);
+        }
+    }
+
+    /**
+     * Searches the players with each resource strictly between its bounds.
+     *
+     * @param lower the exclusive lower bounds of gold, wood and fer.
+     * @param upper the exclusive upper bounds of gold, wood and fer.
+     * @param limit the maximum number of players returned.
+     * @return the number of matching players, the sums of their resources, and the first matching players, in no particular order.
+     */
+    public PlayerSearchDTO search(float[] lower, float[] upper, int limit) {
+        return mirror.read(columns -> {
+            double[] sums = new double[3];
+            int[] selected = new int[Math.min(limit, columns.size())];
+            int count = columns.aggregate(lower, upper, sums);
+            int selectedCount = columns.select(lower, upper, selected);
+            List<PlayerResourcesDTO> players = new ArrayList<>(selectedCount);
+            for (int i = 0; i < selectedCount; i++) {
+                players.add(toPlayerResources(columns, selected[i]));
+            }
+            PlayerSearchDTO result = new PlayerSearchDTO();
+            result.setCount(count);
+            result.setGoldSum(sums[ResourceColumns.GOLD]);
+            result.setWoodSum(sums[ResourceColumns.WOOD]);
+            result.setFerSum(sums[ResourceColumns.FER]);
+            result.setPlayers(players);
+            return result;
+        });
+    }
+
+    /**
+     * Gets the resources of a player.
+     *
+     * @param userId the id of the user of the player.
+     * @return the resources of the player, or empty if the player is not mirrored.
+     */
+    public Optional<PlayerResourcesDTO> findByUser(Long userId) {
+        return mirror.read(columns -> {
+            int row = columns.rowOfUser(userId);
+            return row < 0 ? Optional.empty() : Optional.of(toPlayerResources(columns, row));
+        });
+    }
+
+    /**
+     * Gets the number of mirrored players.
+     *
+     * @return the number of mirrored players.
+     */
+    public int size() {
+        return mirror.read(ResourceColumns::size);
+    }
+
+    private static PlayerResourcesDTO toPlayerResources(ResourceColumns columns, int row) {
+        return new PlayerResourcesDTO(
+            columns.userId(row),
+            columns.id(row),
+            columns.resource(ResourceColumns.GOLD, row),
+            columns.resource(ResourceColumns.WOOD, row),
+            columns.resource(ResourceColumns.FER, row)
+        );
+    }
+
+    private static void put(ResourceColumns columns, ResourceGot resourceGot) {
+        if (resourceGot.getRegisterUserId() == null) {
+            columns.remove(resourceGot.getId());
+            return;
+        }
+        columns.put(
+            resourceGot.getId(),
+            resourceGot.getRegisterUserId(),
+            valueOf(resourceGot.getGold()),
+            valueOf(resourceGot.getWood()),
+            valueOf(resourceGot.getFer())
+        );
+    }
+
+    private static float valueOf(Float resource) {
+        return resource != null ? resource : 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.ResourceGotWriteListener;
+import com.mycompany.myapp.service.ResourceStatsService.StatsTable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service applying the committed writes of the {@link ResourceGot} rows to the state derived from them in memory: the
+ * {@link LeaderboardService}, the {@link ResourceStatsService} and the {@link ResourceColumnsService}.
+ */
+@Service
+public class ResourceGotDerivedStateService implements ResourceGotWriteListener {
+
+    private final LeaderboardService leaderboardService;
+
+    private final ResourceStatsService resourceStatsService;
+
+    private final ResourceColumnsService resourceColumnsService;
+
+    public ResourceGotDerivedStateService(
+        LeaderboardService leaderboardService,
+        ResourceStatsService resourceStatsService,
+        ResourceColumnsService resourceColumnsService
+    ) {
+        this.leaderboardService = leaderboardService;
+        this.resourceStatsService = resourceStatsService;
+        this.resourceColumnsService = resourceColumnsService;
+    }
+
+    @Override
+    public void update(ResourceGot resourceGot) {
+        leaderboardService.update(resourceGot);
+        resourceStatsService.invalidate(StatsTable.RESOURCE_GOT, resourceGot.getId());
+        resourceColumnsService.update(resourceGot);
+    }
+
+    @Override
+    public void adjust(Long id, Float gold, Float wood, Float fer) {
+        leaderboardService.adjust(id, gold, wood, fer);
+        resourceStatsService.invalidate(StatsTable.RESOURCE_GOT, id);
+        resourceColumnsService.adjust(id, gold, wood, fer);
+    }
+
+    @Override
+    public void remove(Long id) {
+        leaderboardService.remove(id);
+        resourceStatsService.invalidate(StatsTable.RESOURCE_GOT, id);
+        resourceColumnsService.remove(id);
+    }
+}
@@ -0,0 +1,205 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.ResourceGot;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory state mirroring the {@link ResourceGot} rows, guarded by a read-write lock, updated incrementally and rebuilt by
+ * reloads running alongside the updates.
+ * <p>
+ * A reload scans the rows into a new state, which may or may not see the updates made during the scan. The puts and removes are
+ * absolute, so they are replayed on the new state. The adjustments add deltas, which would be counted twice if replayed on a row
+ * the scan read after they were committed, so the adjusted rows are read again once the scan is done instead.
+ *
+ * @param <S> the type of the state.
+ */
+final class ResourceGotMirror<S> {
+
+    /** The maximum number of adjusted rows read again by a single statement. */
+    private static final int REREAD_CHUNK_SIZE = 1000;
+
+    private final Supplier<S> emptyState;
+
+    private final BiConsumer<S, ResourceGot> put;
+
+    private final BiConsumer<S, Long> remove;
+
+    private final Function<List<Long>, Flux<ResourceGot>> reader;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private S state;
+
+    /** The puts and removes made while a reload is in progress, replayed on the reloaded state; null when not reloading. */
+    private List<Consumer<S>> updatesDuringReload;
+
+    /** The ids of the rows adjusted while a reload is in progress, read again into the reloaded state; null when not reloading. */
+    private Set<Long> adjustedDuringReload;
+
+    /**
+     * @param emptyState creates an empty state.
+     * @param put puts a row in a state, replacing the previous version of the row.
+     * @param remove removes a row from a state, by id.
+     * @param reader reads the rows with the given ids.
+     */
+    ResourceGotMirror(
+        Supplier<S> emptyState,
+        BiConsumer<S, ResourceGot> put,
+        BiConsumer<S, Long> remove,
+        Function<List<Long>, Flux<ResourceGot>> reader
+    ) {
+        this.emptyState = emptyState;
+        this.put = put;
+        this.remove = remove;
+        this.reader = reader;
+        this.state = emptyState.get();
+    }
+
+    /**
+     * Reads the state under the read lock, so the reader must not block.
+     *
+     * @param stateReader reads the state.
+     * @return the result of the reader.
+     */
+    <R> R read(Function<S, R> stateReader) {
+        lock.readLock().lock();
+        try {
+            return stateReader.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puts the current version of a row.
+     *
+     * @param resourceGot the resourceGot, with all its resources.
+     */
+    void put(ResourceGot resourceGot) {
+        update(current -> put.accept(current, resourceGot));
+    }
+
+    /**
+     * Removes a row.
+     *
+     * @param id the id of the resourceGot.
+     */
+    void remove(Long id) {
+        update(current -> remove.accept(current, id));
+    }
+
+    /**
+     * Adjusts a row by deltas already committed to the database.
+     *
+     * @param id the id of the resourceGot.
+     * @param adjustment adds the deltas to the row in a state.
+     */
+    void adjust(Long id, Consumer<S> adjustment) {
+        lock.writeLock().lock();
+        try {
+            adjustment.accept(state);
+            if (adjustedDuringReload != null) {
+                adjustedDuringReload.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the state from the given rows, unless a reload is already in progress.
+     *
+     * @param rows all the resourceGot rows, with their resources and registerUser id.
+     * @return a {@link Mono} completing once the reloaded state is in use.
+     */
+    Mono<Void> reload(Flux<ResourceGot> rows) {
+        return Mono.defer(() -> {
+            if (!startReload()) {
+                return Mono.empty();
+            }
+            S loaded = emptyState.get();
+            return rows
+                .doOnNext(row -> put.accept(loaded, row))
+                .then(Mono.defer(() -> catchUp(loaded)))
+                .doOnError(e -> abortReload())
+                .doOnCancel(this::abortReload);
+        });
+    }
+
+    private void update(Consumer<S> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(state);
+            if (updatesDuringReload != null) {
+                updatesDuringReload.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean startReload() {
+        lock.writeLock().lock();
+        try {
+            if (updatesDuringReload != null) {
+                return false;
+            }
+            updatesDuringReload = new ArrayList<>();
+            adjustedDuringReload = new HashSet<>();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays the updates made so far on the loaded state, then reads again the rows adjusted so far, until no row was adjusted
+     * since the last read, and uses the loaded state.
+     */
+    private Mono<Void> catchUp(S loaded) {
+        List<Long> adjusted;
+        lock.writeLock().lock();
+        try {
+            updatesDuringReload.forEach(update -> update.accept(loaded));
+            updatesDuringReload.clear();
+            if (adjustedDuringReload.isEmpty()) {
+                state = loaded;
+                updatesDuringReload = null;
+                adjustedDuringReload = null;
+                return Mono.empty();
+            }
+            adjusted = new ArrayList<>(adjustedDuringReload);
+            adjustedDuringReload.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // the rows deleted since they were adjusted are not read again
+        adjusted.forEach(id -> remove.accept(loaded, id));
+        return Flux
+            .fromIterable(adjusted)
+            .buffer(REREAD_CHUNK_SIZE)
+            .concatMap(reader)
+            .doOnNext(row -> put.accept(loaded, row))
+            .then(Mono.defer(() -> catchUp(loaded)));
+    }
+
+    private void abortReload() {
+        lock.writeLock().lock();
+        try {
+            updatesDuringReload = null;
+            adjustedDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
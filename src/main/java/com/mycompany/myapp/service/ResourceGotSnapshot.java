@@ -0,0 +1,186 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.ResourceGot;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32;
+import reactor.core.publisher.Flux;
+
+/**
+ * Snapshot of the resources of the players' {@link ResourceGot} rows, in a memory-mapped binary file.
+ * <p>
+ * The file starts with a header: a magic number, the format version, the time the snapshot was taken at in epoch milliseconds, the
+ * number of rows and the CRC32 of the rows. Then each row takes {@value #RECORD_BYTES} bytes: its id and the id of its user as longs,
+ * then its gold, wood and fer as floats. A snapshot is written to a temporary file, then moved in place, so that a reader never sees
+ * a partial file.
+ */
+final class ResourceGotSnapshot {
+
+    static final int MAGIC = 0x52475350;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 8;
+    static final int RECORD_BYTES = 8 + 8 + 3 * 4;
+
+    private final Instant takenAt;
+    private final ByteBuffer buffer;
+    private final int size;
+
+    private ResourceGotSnapshot(Instant takenAt, ByteBuffer buffer, int size) {
+        this.takenAt = takenAt;
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Maps and checks a snapshot file.
+     *
+     * @param path the path of the file.
+     * @return the snapshot, reading its rows from the mapped file.
+     * @throws IOException if the file cannot be read, or is not a valid snapshot.
+     */
+    static ResourceGotSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid snapshot length " + length + " of " + path);
+            }
+            // the mapping stays valid once the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a resourceGot snapshot: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + " of " + path);
+            }
+            Instant takenAt = Instant.ofEpochMilli(buffer.getLong(8));
+            int size = buffer.getInt(16);
+            if (size < 0 || length != HEADER_BYTES + (long) size * RECORD_BYTES) {
+                throw new IOException("Truncated snapshot " + path);
+            }
+            if (buffer.getLong(20) != checksum(buffer)) {
+                throw new IOException("Corrupted snapshot " + path);
+            }
+            return new ResourceGotSnapshot(takenAt, buffer, size);
+        }
+    }
+
+    Instant getTakenAt() {
+        return takenAt;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return buffer.getLong(HEADER_BYTES + row * RECORD_BYTES);
+    }
+
+    /**
+     * Streams the rows of the snapshot, each as a resourceGot with only its id, registerUser id and resources.
+     *
+     * @return the rows.
+     */
+    Flux<ResourceGot> rows() {
+        return Flux
+            .range(0, size)
+            .map(row -> {
+                int offset = HEADER_BYTES + row * RECORD_BYTES;
+                ResourceGot resourceGot = new ResourceGot()
+                    .gold(buffer.getFloat(offset + 16))
+                    .wood(buffer.getFloat(offset + 20))
+                    .fer(buffer.getFloat(offset + 24));
+                resourceGot.setId(buffer.getLong(offset));
+                resourceGot.setRegisterUserId(buffer.getLong(offset + 8));
+                return resourceGot;
+            });
+    }
+
+    private static long checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_BYTES));
+        return crc.getValue();
+    }
+
+    /**
+     * Writes a snapshot from the rows of the leaderboard: the rows are copied to memory as they are exported, then written to a
+     * temporary file mapped in memory, which is moved to the snapshot path by {@link #commit(Path)}.
+     */
+    static final class Writer implements LeaderboardService.RowExporter {
+
+        private ByteBuffer buffer;
+        private Instant takenAt;
+        private int size;
+        private int offset = HEADER_BYTES;
+
+        @Override
+        public void begin(int size) {
+            // the rows exported are the current ones, so the rows changed from now on are missing from the snapshot
+            this.takenAt = Instant.now();
+            this.size = size;
+            this.buffer = ByteBuffer.allocate(Math.toIntExact(HEADER_BYTES + (long) size * RECORD_BYTES));
+        }
+
+        @Override
+        public void row(long id, long userId, float gold, float wood, float fer) {
+            buffer.putLong(offset, id);
+            buffer.putLong(offset + 8, userId);
+            buffer.putFloat(offset + 16, gold);
+            buffer.putFloat(offset + 20, wood);
+            buffer.putFloat(offset + 24, fer);
+            offset += RECORD_BYTES;
+        }
+
+        Instant getTakenAt() {
+            return takenAt;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Completes the header, writes the file, flushes it and moves it to the snapshot path.
+         *
+         * @param path the path of the snapshot file, replaced atomically.
+         * @throws IOException if the file cannot be written or moved.
+         */
+        void commit(Path path) throws IOException {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, takenAt.toEpochMilli());
+            buffer.putInt(16, size);
+            buffer.putLong(20, checksum(buffer));
+            Path directory = path.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                try (
+                    FileChannel channel = FileChannel.open(
+                        temporaryPath,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE
+                    )
+                ) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, buffer.capacity());
+                    mapped.put(buffer.duplicate().clear());
+                    mapped.force();
+                }
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.mycompany.myapp.service;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service snapshotting the in-memory working set of the players' {@link ResourceGot} rows to a local file, and warm starting the
+ * {@link LeaderboardService} and {@link ResourceColumnsService} from it.
+ * <p>
+ * Only the resourceGot rows are snapshotted, as they are the only rows held in memory; the resource_data, client and user_profile
+ * rows are read from the database and its caches as usual.
+ * <p>
+ * Snapshots are written on a fixed rate and on shutdown, from memory: the rows are copied under the read lock of the leaderboard,
+ * then written to the file on a bounded elastic thread, without holding the lock. When the application is ready, the services are loaded from
+ * the snapshot, which only reads the mapped file, and the application accepts traffic; the rows modified since the snapshot, and the
+ * rows deleted since, are reconciled afterwards. Without a valid snapshot, the services are loaded from the database.
+ * <p>
+ * The production ticks do not stamp the rows they change, so the production since the snapshot is only caught up by the next tick.
+ */
+@Service
+public class ResourceGotSnapshotService {
+
+    public static final String WRITE_METER_NAME = "resource-got.snapshot.write";
+    public static final String RESTORE_METER_NAME = "resource-got.snapshot.restore";
+
+    /** How long before a snapshot the rows are reconciled from, for the writes in flight and the clock skew between nodes. */
+    private static final Duration RECONCILE_MARGIN = Duration.ofMinutes(1);
+
+    private final Logger log = LoggerFactory.getLogger(ResourceGotSnapshotService.class);
+
+    private final ResourceGotRepository resourceGotRepository;
+
+    private final LeaderboardService leaderboardService;
+
+    private final ResourceColumnsService resourceColumnsService;
+
+    private final ApplicationProperties.Snapshot properties;
+
+    /** The snapshot the services were restored from, until it is reconciled. */
+    private final AtomicReference<ResourceGotSnapshot> restored = new AtomicReference<>();
+
+    private final Timer writeTimer;
+
+    private final Timer restoreTimer;
+
+    public ResourceGotSnapshotService(
+        ResourceGotRepository resourceGotRepository,
+        LeaderboardService leaderboardService,
+        ResourceColumnsService resourceColumnsService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.resourceGotRepository = resourceGotRepository;
+        this.leaderboardService = leaderboardService;
+        this.resourceColumnsService = resourceColumnsService;
+        this.properties = applicationProperties.getSnapshot();
+        this.writeTimer = Timer.builder(WRITE_METER_NAME).description("Duration of the resourceGot snapshot writes").register(registry);
+        this.restoreTimer =
+            Timer.builder(RESTORE_METER_NAME).description("Duration of the warm starts from a resourceGot snapshot").register(registry);
+    }
+
+    /**
+     * Loads the in-memory services once the application is ready: from the snapshot if there is a valid one, then reconciled in the
+     * background, and from the database otherwise.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Path path = Paths.get(properties.getPath());
+        if (properties.isEnabled() && Files.exists(path)) {
+            try {
+                restore(path).block();
+                reconcile().subscribe(null, e -> log.warn("Could not reconcile the resourceGot snapshot", e));
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not restore the resourceGot snapshot {}, loading from the database", path, e);
+            }
+        }
+        leaderboardService.load();
+        resourceColumnsService.load();
+    }
+
+    @Scheduled(
+        fixedRateString = "${application.snapshot.interval:300000}",
+        initialDelayString = "${application.snapshot.interval:300000}"
+    )
+    public void scheduledWrite() {
+        if (properties.isEnabled()) {
+            writeQuietly();
+        }
+    }
+
+    /**
+     * Writes a last snapshot before the application context is closed, so that the next start is warm.
+     */
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (properties.isEnabled()) {
+            writeQuietly();
+        }
+    }
+
+    private void writeQuietly() {
+        try {
+            write(Paths.get(properties.getPath())).block();
+        } catch (RuntimeException e) {
+            log.warn("Could not write the resourceGot snapshot", Exceptions.unwrap(e));
+        }
+    }
+
+    /**
+     * Writes a snapshot of the rows of the leaderboard, on a bounded elastic thread.
+     *
+     * @param path the path of the snapshot file, replaced atomically.
+     * @return the number of rows written, or an {@link IOException} if the snapshot cannot be written.
+     */
+    public Mono<Integer> write(Path path) {
+        return Mono
+            .fromCallable(() -> {
+                long start = System.nanoTime();
+                ResourceGotSnapshot.Writer writer = new ResourceGotSnapshot.Writer();
+                // the rows are only copied to memory under the read lock of the leaderboard, the file is written once it is released
+                leaderboardService.exportRows(writer);
+                writer.commit(path);
+                long duration = System.nanoTime() - start;
+                writeTimer.record(duration, TimeUnit.NANOSECONDS);
+                log.debug("Wrote the snapshot of {} resourceGots in {} ms", writer.size(), TimeUnit.NANOSECONDS.toMillis(duration));
+                return writer.size();
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Reloads the in-memory services from a snapshot. The snapshot is kept until {@link #reconcile()}.
+     *
+     * @param path the path of the snapshot file.
+     * @return a {@link Mono} completing once the services use the rows of the snapshot, or failing if the snapshot is invalid.
+     */
+    public Mono<Void> restore(Path path) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            ResourceGotSnapshot snapshot;
+            try {
+                snapshot = ResourceGotSnapshot.read(path);
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            return leaderboardService
+                .reload(snapshot.rows())
+                .then(resourceColumnsService.reload(snapshot.rows()))
+                .doOnSuccess(loaded -> {
+                    restored.set(snapshot);
+                    long duration = System.nanoTime() - start;
+                    restoreTimer.record(duration, TimeUnit.NANOSECONDS);
+                    log.info(
+                        "Restored {} resourceGots from the snapshot taken at {} in {} ms",
+                        snapshot.size(),
+                        snapshot.getTakenAt(),
+                        TimeUnit.NANOSECONDS.toMillis(duration)
+                    );
+                });
+        });
+    }
+
+    /**
+     * Applies to the in-memory services the rows modified and deleted since the restored snapshot.
+     *
+     * @return a {@link Mono} completing once the services are reconciled, or at once if no snapshot is left to reconcile.
+     */
+    public Mono<Void> reconcile() {
+        return Mono.defer(() -> {
+            ResourceGotSnapshot snapshot = restored.getAndSet(null);
+            if (snapshot == null) {
+                return Mono.empty();
+            }
+            Instant since = snapshot.getTakenAt().minus(RECONCILE_MARGIN);
+            Mono<Long> modified = resourceGotRepository
+                .findAllModifiedSince(since)
+                .doOnNext(resourceGot -> {
+                    leaderboardService.update(resourceGot);
+                    resourceColumnsService.update(resourceGot);
+                })
+                .count();
+            Mono<Integer> deleted = resourceGotRepository
+                .findAllIds()
+                .collect(LongHashSet::new, LongHashSet::add)
+                .map(ids -> {
+                    int removed = 0;
+                    for (int row = 0; row < snapshot.size(); row++) {
+                        long id = snapshot.id(row);
+                        if (!ids.contains(id)) {
+                            leaderboardService.remove(id);
+                            resourceColumnsService.remove(id);
+                            removed++;
+                        }
+                    }
+                    return removed;
+                });
+            return Mono
+                .zip(modified, deleted)
+                .doOnNext(counts ->
+                    log.info("Reconciled the snapshot with {} modified and {} deleted resourceGots", counts.getT1(), counts.getT2())
+                )
+                .then();
+        });
+    }
+}
@@ -0,0 +1,350 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service buffering the deferred adjustments of {@link ResourceGot} resources in memory, and writing them behind to the database.
+ * <p>
+ * Only the adjustments explicitly requested as deferred go through this buffer; the other writes of the rows, including the
+ * immediate adjustments, the updates, the patches and the deletes, are written straight through the repository and do not
+ * wait for the buffer. As the pending deltas are additions, they are then added to whatever the row holds when they are
+ * flushed, and the deltas of a deleted row are dropped.
+ * <p>
+ * The adjustments of a row are coalesced into a single pending delta, and the pending deltas are flushed with set-based
+ * updates on a fixed interval, when too many rows are pending, and on shutdown. Reads see the pending deltas through
+ * {@link #merge(ResourceGot)}, except for the deltas of a flush in progress.
+ */
+@Service
+public class ResourceGotWriteBehindService {
+
+    public static final String PENDING_METER_NAME = "resource-got.write-behind.pending";
+    public static final String ADJUSTMENTS_METER_NAME = "resource-got.write-behind.adjustments";
+    public static final String FLUSHED_ROWS_METER_NAME = "resource-got.write-behind.flushed-rows";
+    public static final String COALESCING_METER_NAME = "resource-got.write-behind.coalescing-ratio";
+    public static final String FLUSH_METER_NAME = "resource-got.write-behind.flush";
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Duration SEAL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Logger log = LoggerFactory.getLogger(ResourceGotWriteBehindService.class);
+
+    private final ResourceGotRepository resourceGotRepository;
+
+    private final ApplicationProperties.WriteBehind properties;
+
+    private final ConcurrentHashMap<Long, PendingDelta> pending = new ConcurrentHashMap<>();
+
+    /** The deltas drained while a writer was still adding to them, flushed once it is done. */
+    private final Queue<PendingDelta> sealing = new ConcurrentLinkedQueue<>();
+
+    /** The single permit of the flushes, which the shutdown waits for. */
+    private final Semaphore flushing = new Semaphore(1);
+
+    private final LongAdder flushedAdjustments = new LongAdder();
+
+    private final LongAdder flushedRows = new LongAdder();
+
+    private final Counter adjustmentsCounter;
+
+    private final Timer flushTimer;
+
+    public ResourceGotWriteBehindService(
+        ResourceGotRepository resourceGotRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.resourceGotRepository = resourceGotRepository;
+        this.properties = applicationProperties.getWriteBehind();
+        Gauge
+            .builder(PENDING_METER_NAME, pending, ConcurrentHashMap::size)
+            .baseUnit("rows")
+            .description("Number of rows with adjustments waiting to be flushed")
+            .register(registry);
+        this.adjustmentsCounter = Counter
+            .builder(ADJUSTMENTS_METER_NAME)
+            .baseUnit("adjustments")
+            .description("Number of adjustments accepted by the write-behind buffer")
+            .register(registry);
+        FunctionCounter
+            .builder(FLUSHED_ROWS_METER_NAME, flushedRows, LongAdder::sum)
+            .baseUnit("rows")
+            .description("Number of row updates flushed to the database")
+            .register(registry);
+        Gauge
+            .builder(COALESCING_METER_NAME, this, ResourceGotWriteBehindService::coalescingRatio)
+            .description("Number of flushed adjustments per flushed row update")
+            .register(registry);
+        this.flushTimer = Timer
+            .builder(FLUSH_METER_NAME)
+            .description("Duration of the flushes of the write-behind buffer")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    /**
+     * Adds the given deltas to the pending deltas of the resourceGot.
+     *
+     * @param id the id of the resourceGot.
+     * @param gold the gold delta, or null.
+     * @param wood the wood delta, or null.
+     * @param fer the fer delta, or null.
+     */
+    public void adjust(Long id, Float gold, Float wood, Float fer) {
+        addPending(id, gold, wood, fer, 1);
+        adjustmentsCounter.increment();
+        if (pending.size() >= properties.getMaxPendingRows()) {
+            flush().subscribe();
+        }
+    }
+
+    private void addPending(Long id, Float gold, Float wood, Float fer, long adjustments) {
+        // a delta is sealed only once it has left the map, so the retry gets a fresh one
+        while (!pending.computeIfAbsent(id, PendingDelta::new).tryAdd(gold, wood, fer, adjustments)) {}
+    }
+
+    /**
+     * Adds the pending deltas of the given resourceGot to its resources.
+     *
+     * @param resourceGot the resourceGot as read from the database.
+     * @return the given resourceGot, with its pending deltas.
+     */
+    public ResourceGot merge(ResourceGot resourceGot) {
+        PendingDelta delta = pending.get(resourceGot.getId());
+        if (delta != null) {
+            resourceGot.setGold(merge(resourceGot.getGold(), delta.gold));
+            resourceGot.setWood(merge(resourceGot.getWood(), delta.wood));
+            resourceGot.setFer(merge(resourceGot.getFer(), delta.fer));
+        }
+        return resourceGot;
+    }
+
+    private static Float merge(Float value, DoubleAdder delta) {
+        double sum = delta.sum();
+        if (sum == 0) {
+            return value;
+        }
+        return (float) ((value != null ? value : 0) + sum);
+    }
+
+    /**
+     * Flushes the pending deltas on a fixed interval.
+     */
+    @Scheduled(fixedDelayString = "${application.write-behind.flush-interval:1000}")
+    public void flushPending() {
+        flush().block();
+    }
+
+    /**
+     * Flushes the pending deltas before the application context is closed, so that no accepted adjustment is lost.
+     */
+    @PreDestroy
+    public void flushAll() {
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        try {
+            long remaining;
+            while (!(pending.isEmpty() && sealing.isEmpty()) && (remaining = deadline - System.nanoTime()) > 0) {
+                // waits for the flush in progress, if any, which may leave deltas behind when it fails
+                if (!flushing.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                flushing.release();
+                flush().block(Duration.ofNanos(remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!(pending.isEmpty() && sealing.isEmpty())) {
+            log.error("Lost the pending adjustments of {} resourceGots on shutdown", pending.size() + sealing.size());
+        }
+    }
+
+    /**
+     * Writes the pending deltas to the database, unless a flush is already in progress. The deltas are drained on a
+     * bounded elastic thread, as sealing them may wait for the adjustments being added to them.
+     *
+     * @return the number of updated rows.
+     */
+    public Mono<Integer> flush() {
+        return Mono
+            .defer(() -> {
+                if (!flushing.tryAcquire()) {
+                    return Mono.just(0);
+                }
+                List<PendingDelta> deltas = drain();
+                if (deltas.isEmpty()) {
+                    flushing.release();
+                    return Mono.just(0);
+                }
+                Timer.Sample sample = Timer.start();
+                return Flux
+                    .fromIterable(deltas)
+                    .buffer(properties.getFlushChunkSize())
+                    .concatMap(this::flushChunk)
+                    .reduce(0, Integer::sum)
+                    .doFinally(signal -> {
+                        sample.stop(flushTimer);
+                        flushing.release();
+                    });
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private List<PendingDelta> drain() {
+        List<PendingDelta> deltas = new ArrayList<>(pending.size());
+        for (Iterator<PendingDelta> iterator = sealing.iterator(); iterator.hasNext();) {
+            PendingDelta delta = iterator.next();
+            if (delta.awaitWriters()) {
+                iterator.remove();
+                deltas.add(delta);
+            }
+        }
+        for (PendingDelta delta : pending.values()) {
+            if (pending.remove(delta.id, delta)) {
+                if (delta.seal()) {
+                    deltas.add(delta);
+                } else {
+                    log.warn("The adjustments of resourceGot {} are still being added, they are flushed on the next flush", delta.id);
+                    sealing.add(delta);
+                }
+            }
+        }
+        return deltas;
+    }
+
+    private Mono<Integer> flushChunk(List<PendingDelta> chunk) {
+        List<ResourceGot> deltas = new ArrayList<>(chunk.size());
+        long adjustments = 0;
+        for (PendingDelta delta : chunk) {
+            deltas.add(delta.toResourceGot());
+            adjustments += delta.adjustments.sum();
+        }
+        long chunkAdjustments = adjustments;
+        return resourceGotRepository
+            .adjustAll(deltas)
+            .doOnNext(rows -> {
+                flushedAdjustments.add(chunkAdjustments);
+                flushedRows.add(chunk.size());
+            })
+            .onErrorResume(e -> {
+                log.warn("Could not flush the adjustments of {} resourceGots, they are retried on the next flush", chunk.size(), e);
+                chunk.forEach(delta ->
+                    addPending(delta.id, nullIfZero(delta.gold), nullIfZero(delta.wood), nullIfZero(delta.fer), delta.adjustments.sum())
+                );
+                return Mono.just(0);
+            });
+    }
+
+    private double coalescingRatio() {
+        long rows = flushedRows.sum();
+        return rows == 0 ? 1 : (double) flushedAdjustments.sum() / rows;
+    }
+
+    private static Float nullIfZero(DoubleAdder delta) {
+        double sum = delta.sum();
+        return sum == 0 ? null : (float) sum;
+    }
+
+    /**
+     * The coalesced deltas of a row. Writers register themselves in {@code writers} while adding, and the flush seals the delta
+     * by setting the {@link #SEALED} bit, after which writers move on to a new delta; the last writer still adding to a sealed
+     * delta releases the flush waiting for it.
+     */
+    private static final class PendingDelta {
+
+        private static final int SEALED = Integer.MIN_VALUE;
+
+        private final Long id;
+        private final AtomicInteger writers = new AtomicInteger();
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final DoubleAdder gold = new DoubleAdder();
+        private final DoubleAdder wood = new DoubleAdder();
+        private final DoubleAdder fer = new DoubleAdder();
+        private final LongAdder adjustments = new LongAdder();
+
+        private PendingDelta(Long id) {
+            this.id = id;
+        }
+
+        private boolean tryAdd(Float goldDelta, Float woodDelta, Float ferDelta, long addedAdjustments) {
+            int state;
+            do {
+                state = writers.get();
+                if (state < 0) {
+                    return false;
+                }
+            } while (!writers.compareAndSet(state, state + 1));
+            try {
+                add(gold, goldDelta);
+                add(wood, woodDelta);
+                add(fer, ferDelta);
+                adjustments.add(addedAdjustments);
+            } finally {
+                if (writers.decrementAndGet() == SEALED) {
+                    released.countDown();
+                }
+            }
+            return true;
+        }
+
+        private static void add(DoubleAdder adder, Float delta) {
+            if (delta != null) {
+                adder.add(delta);
+            }
+        }
+
+        /**
+         * Seals the delta, and waits for the writers still adding to it.
+         * @return {@code true} if no writer is left, {@code false} if the wait timed out.
+         */
+        private boolean seal() {
+            writers.getAndAdd(SEALED);
+            return awaitWriters();
+        }
+
+        private boolean awaitWriters() {
+            if (writers.get() == SEALED) {
+                return true;
+            }
+            try {
+                // the writers only add a few numbers, so the wait is short unless a writer thread is descheduled
+                return released.await(SEAL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private ResourceGot toResourceGot() {
+            return new ResourceGot().id(id).gold(nullIfZero(gold)).wood(nullIfZero(wood)).fer(nullIfZero(fer));
+        }
+    }
+}
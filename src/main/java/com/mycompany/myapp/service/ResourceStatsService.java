@@ -0,0 +1,306 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.ResourceDataRepository;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.repository.ResourceRepository;
+import com.mycompany.myapp.service.dto.ResourceStatisticsDTO;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service computing the aggregate statistics of the resources of the {@link com.mycompany.myapp.domain.ResourceGot},
+ * {@link com.mycompany.myapp.domain.ResourceData} and {@link com.mycompany.myapp.domain.Resource} rows.
+ * <p>
+ * The id space of each table is split into {@code partitions} ranges, and the resources of each range are summarized in mergeable
+ * {@link QuantileSketch}es by a streaming scan, so the memory used does not depend on the number of rows. The sketches of a range
+ * are kept until a write to the range invalidates them; a request only rescans the invalidated ranges, in parallel, then merges the
+ * sketches of all the ranges.
+ */
+@Service
+public class ResourceStatsService {
+
+    /**
+     * The tables the statistics are computed on.
+     */
+    public enum StatsTable {
+        RESOURCE_GOT("resourceGot"),
+        RESOURCE_DATA("resourceData"),
+        RESOURCE("resource");
+
+        private final String key;
+
+        StatsTable(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final String[] RESOURCES = { "gold", "wood", "fer" };
+
+    private final Logger log = LoggerFactory.getLogger(ResourceStatsService.class);
+
+    private final ApplicationProperties.Stats properties;
+
+    private final Map<StatsTable, TableStatistics> tables = new EnumMap<>(StatsTable.class);
+
+    private final AtomicReference<Mono<Map<String, Map<String, ResourceStatisticsDTO>>>> refreshing = new AtomicReference<>();
+
+    public ResourceStatsService(
+        ResourceGotRepository resourceGotRepository,
+        ResourceDataRepository resourceDataRepository,
+        ResourceRepository resourceRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.properties = applicationProperties.getStats();
+        tables.put(
+            StatsTable.RESOURCE_GOT,
+            new TableStatistics(
+                resourceGotRepository::findFirstId,
+                resourceGotRepository::findLastId,
+                (fromId, toId) ->
+                    resourceGotRepository.findAllByIdBetween(fromId, toId).map(row -> values(row.getGold(), row.getWood(), row.getFer()))
+            )
+        );
+        tables.put(
+            StatsTable.RESOURCE_DATA,
+            new TableStatistics(
+                resourceDataRepository::findFirstId,
+                resourceDataRepository::findLastId,
+                (fromId, toId) ->
+                    resourceDataRepository.findAllByIdBetween(fromId, toId).map(row -> values(row.getGold(), row.getWood(), row.getFer()))
+            )
+        );
+        tables.put(
+            StatsTable.RESOURCE,
+            new TableStatistics(
+                resourceRepository::findFirstId,
+                resourceRepository::findLastId,
+                (fromId, toId) ->
+                    resourceRepository.findAllByIdBetween(fromId, toId).map(row -> values(row.getGold(), row.getWood(), row.getFer()))
+            )
+        );
+    }
+
+    /**
+     * Invalidates the statistics of the range of a written row.
+     *
+     * @param table the table of the row.
+     * @param id the id of the row.
+     */
+    public void invalidate(StatsTable table, Long id) {
+        tables.get(table).invalidate(id);
+    }
+
+    /**
+     * Invalidates the statistics of all the rows of a table.
+     *
+     * @param table the table.
+     */
+    public void invalidateAll(StatsTable table) {
+        tables.get(table).invalidateAll();
+    }
+
+    /**
+     * Gets the statistics of each resource, per table. Concurrent requests share the same refresh.
+     *
+     * @return the statistics, keyed by table then by resource.
+     */
+    public Mono<Map<String, Map<String, ResourceStatisticsDTO>>> getStatistics() {
+        return Mono.defer(() -> {
+            Mono<Map<String, Map<String, ResourceStatisticsDTO>>> current = refreshing.get();
+            if (current != null) {
+                return current;
+            }
+            Mono<Map<String, Map<String, ResourceStatisticsDTO>>> refresh = refresh().doFinally(signal -> refreshing.set(null)).cache();
+            return refreshing.compareAndSet(null, refresh) ? refresh : getStatistics();
+        });
+    }
+
+    private Mono<Map<String, Map<String, ResourceStatisticsDTO>>> refresh() {
+        return Flux
+            .fromArray(StatsTable.values())
+            .flatMapSequential(table -> tables.get(table).refresh().map(sketches -> Map.entry(table.key, toStatistics(sketches))))
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+    }
+
+    private static Map<String, ResourceStatisticsDTO> toStatistics(QuantileSketch[] sketches) {
+        Map<String, ResourceStatisticsDTO> statistics = new LinkedHashMap<>();
+        for (int i = 0; i < RESOURCES.length; i++) {
+            QuantileSketch sketch = sketches[i];
+            ResourceStatisticsDTO dto = new ResourceStatisticsDTO();
+            dto.setCount(sketch.getCount());
+            if (sketch.getCount() > 0) {
+                dto.setSum(sketch.getSum());
+                dto.setMean(sketch.getSum() / sketch.getCount());
+                dto.setMin(sketch.getMin());
+                dto.setMax(sketch.getMax());
+                dto.setP50(sketch.quantile(0.5));
+                dto.setP90(sketch.quantile(0.9));
+                dto.setP99(sketch.quantile(0.99));
+            }
+            statistics.put(RESOURCES[i], dto);
+        }
+        return statistics;
+    }
+
+    private static float[] values(Float gold, Float wood, Float fer) {
+        return new float[] { valueOf(gold), valueOf(wood), valueOf(fer) };
+    }
+
+    private static float valueOf(Float resource) {
+        return resource != null ? resource : Float.NaN;
+    }
+
+    private static QuantileSketch[] newSketches() {
+        QuantileSketch[] sketches = new QuantileSketch[RESOURCES.length];
+        for (int i = 0; i < sketches.length; i++) {
+            sketches[i] = new QuantileSketch();
+        }
+        return sketches;
+    }
+
+    @FunctionalInterface
+    private interface RangeScan {
+        Flux<float[]> scan(long fromId, long toId);
+    }
+
+    /**
+     * The split of the id space of a table into ranges of {@code width} ids from {@code base}, with the sketches of the ranges.
+     * A new layout is made when the ids outgrow the ranges.
+     */
+    private static final class Layout {
+
+        private final long base;
+        private final long width;
+        private final Map<Long, QuantileSketch[]> partials = new ConcurrentHashMap<>();
+        private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+        private Layout(long base, long width) {
+            this.base = base;
+            this.width = width;
+        }
+
+        private long partition(long id) {
+            return Math.floorDiv(id - base, width);
+        }
+
+        private void invalidateBelow(long partitionCount) {
+            for (long partition = 0; partition < partitionCount; partition++) {
+                dirty.add(partition);
+            }
+        }
+    }
+
+    private final class TableStatistics {
+
+        private final Supplier<Mono<Long>> firstId;
+        private final Supplier<Mono<Long>> lastId;
+        private final RangeScan rangeScan;
+        private final AtomicReference<Layout> layout = new AtomicReference<>();
+
+        private TableStatistics(Supplier<Mono<Long>> firstId, Supplier<Mono<Long>> lastId, RangeScan rangeScan) {
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.rangeScan = rangeScan;
+        }
+
+        private void invalidate(Long id) {
+            // a layout made after the write rescans all its ranges anyway
+            Layout current = layout.get();
+            if (current != null && id != null) {
+                current.dirty.add(current.partition(id));
+            }
+        }
+
+        private void invalidateAll() {
+            // the next refresh makes a new layout, with all its ranges to scan
+            layout.set(null);
+        }
+
+        private Mono<QuantileSketch[]> refresh() {
+            return Mono
+                .zip(firstId.get(), lastId.get())
+                .flatMap(ids -> {
+                    Layout current = layoutFor(ids.getT1(), ids.getT2());
+                    long partitionCount = current.partition(ids.getT2()) + 1;
+                    current.partials.keySet().removeIf(partition -> partition >= partitionCount);
+                    List<Long> rescanned = new ArrayList<>();
+                    for (Long partition : current.dirty) {
+                        if (current.dirty.remove(partition) && partition >= 0 && partition < partitionCount) {
+                            rescanned.add(partition);
+                        }
+                    }
+                    return Flux
+                        .fromIterable(rescanned)
+                        .flatMap(partition -> scan(current, partition), properties.getParallelism())
+                        .then(Mono.fromCallable(() -> merge(current)));
+                })
+                .switchIfEmpty(
+                    Mono.fromCallable(() -> {
+                        layout.set(null);
+                        return newSketches();
+                    })
+                );
+        }
+
+        private Layout layoutFor(long first, long last) {
+            Layout current = layout.get();
+            int partitions = properties.getPartitions();
+            if (current == null || first < current.base || current.partition(last) >= 2L * partitions) {
+                long width = Math.max(1, (last - first) / partitions + 1);
+                Layout made = new Layout(first, width);
+                made.invalidateBelow(made.partition(last) + 1);
+                layout.set(made);
+                log.debug("Split the ids from {} to {} into ranges of {} ids", first, last, width);
+                return made;
+            }
+            return current;
+        }
+
+        private Mono<Void> scan(Layout current, long partition) {
+            long fromId = current.base + partition * current.width;
+            return rangeScan
+                .scan(fromId, fromId + current.width - 1)
+                .reduce(
+                    newSketches(),
+                    (sketches, values) -> {
+                        for (int i = 0; i < values.length; i++) {
+                            if (!Float.isNaN(values[i])) {
+                                sketches[i].add(values[i]);
+                            }
+                        }
+                        return sketches;
+                    }
+                )
+                .doOnNext(sketches -> current.partials.put(partition, sketches))
+                .onErrorResume(e -> {
+                    log.warn("Could not aggregate the resources of the ids from {}, they are rescanned on the next request", fromId, e);
+                    current.dirty.add(partition);
+                    return Mono.empty();
+                })
+                .then();
+        }
+
+        private QuantileSketch[] merge(Layout current) {
+            QuantileSketch[] merged = newSketches();
+            for (QuantileSketch[] partial : current.partials.values()) {
+                for (int i = 0; i < merged.length; i++) {
+                    merged[i].merge(partial[i]);
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -4,8 +4,11 @@ import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.TransactionCallbacks;
+import com.mycompany.myapp.repository.UserCache;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.PasswordHashing;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
@@ -40,10 +43,30 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final UserCache userCache;
+
+    private final PasswordHashing passwordHashing;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final MailService mailService;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        UserCache userCache,
+        PasswordHashing passwordHashing,
+        RefreshTokenService refreshTokenService,
+        MailService mailService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.userCache = userCache;
+        this.passwordHashing = passwordHashing;
+        this.refreshTokenService = refreshTokenService;
+        this.mailService = mailService;
     }
 
     @Transactional
@@ -66,14 +89,15 @@ public class UserService {
         return userRepository
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .map(user -> {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
                 return user;
             })
-            .flatMap(this::saveUser);
+            .flatMap(this::saveUser)
+            .flatMap(user -> refreshTokenService.revokeTokens(user.getId()).thenReturn(user));
     }
 
     @Transactional
@@ -87,7 +111,8 @@ public class UserService {
                 user.setResetDate(Instant.now());
                 return user;
             })
-            .flatMap(this::saveUser);
+            .flatMap(this::saveUser)
+            .flatMap(user -> mailService.queuePasswordResetMail(user).thenReturn(user));
     }
 
     @Transactional
@@ -109,7 +134,7 @@ public class UserService {
                     return Mono.error(new EmailAlreadyUsedException());
                 }
             })
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .then(
                 Mono.fromCallable(() -> {
                     User newUser = new User();
@@ -139,7 +164,8 @@ public class UserService {
                     .thenReturn(newUser)
                     .doOnNext(user -> user.setAuthorities(authorities))
                     .flatMap(this::saveUser)
-                    .doOnNext(user -> log.debug("Created Information for User: {}", user));
+                    .doOnNext(user -> log.debug("Created Information for User: {}", user))
+                    .flatMap(user -> mailService.queueActivationEmail(user).thenReturn(user));
             });
     }
 
@@ -163,7 +189,7 @@ public class UserService {
             .flatMap(authorityRepository::findById)
             .doOnNext(authority -> user.getAuthorities().add(authority))
             .then(Mono.just(user))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .map(newUser -> {
                 String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
                 newUser.setPassword(encryptedPassword);
@@ -173,7 +199,8 @@ public class UserService {
                 return newUser;
             })
             .flatMap(this::saveUser)
-            .doOnNext(user1 -> log.debug("Created Information for User: {}", user1));
+            .doOnNext(user1 -> log.debug("Created Information for User: {}", user1))
+            .flatMap(user1 -> mailService.queueCreationEmail(user1).thenReturn(user1));
     }
 
     /**
@@ -187,6 +214,7 @@ public class UserService {
         return userRepository
             .findById(userDTO.getId())
             .flatMap(user -> {
+                String previousLogin = user.getLogin();
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -198,14 +226,16 @@ public class UserService {
                 user.setLangKey(userDTO.getLangKey());
                 Set<Authority> managedAuthorities = user.getAuthorities();
                 managedAuthorities.clear();
-                return userRepository
+                Mono<User> update = userRepository
                     .deleteUserAuthorities(user.getId())
                     .thenMany(Flux.fromIterable(userDTO.getAuthorities()))
                     .flatMap(authorityRepository::findById)
                     .map(managedAuthorities::add)
-                    .then(Mono.just(user));
+                    .then(Mono.just(user))
+                    .flatMap(this::saveUser);
+                // the user is no longer found by its previous login
+                return TransactionCallbacks.afterCompletion(update, () -> userCache.evict(previousLogin));
             })
-            .flatMap(this::saveUser)
             .doOnNext(user -> log.debug("Changed Information for User: {}", user))
             .map(AdminUserDTO::new);
     }
@@ -260,7 +290,7 @@ public class UserService {
                 user.setLastModifiedBy(login);
                 // Saving the relationship can be done in an entity callback
                 // once https://github.com/spring-projects/spring-data-r2dbc/issues/215 is done
-                return userRepository
+                Mono<User> save = userRepository
                     .save(user)
                     .flatMap(savedUser ->
                         Flux
@@ -268,6 +298,7 @@ public class UserService {
                             .flatMap(authority -> userRepository.saveUserAuthority(savedUser.getId(), authority.getName()))
                             .then(Mono.just(savedUser))
                     );
+                return TransactionCallbacks.afterCompletion(save, () -> userCache.evict(user.getLogin()));
             });
     }
 
@@ -276,7 +307,7 @@ public class UserService {
         return SecurityUtils
             .getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .map(user -> {
                 String currentEncryptedPassword = user.getPassword();
                 if (!passwordEncoder.matches(currentClearTextPassword, currentEncryptedPassword)) {
@@ -287,6 +318,7 @@ public class UserService {
                 return user;
             })
             .flatMap(this::saveUser)
+            .flatMap(user -> refreshTokenService.revokeTokens(user.getId()).thenReturn(user))
             .doOnNext(user -> log.debug("Changed password for User: {}", user))
             .then();
     }
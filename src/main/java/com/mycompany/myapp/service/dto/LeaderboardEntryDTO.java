@@ -0,0 +1,73 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the rank of a player in a resource leaderboard.
+ */
+public class LeaderboardEntryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int rank;
+
+    private Long userId;
+
+    private Long resourceGotId;
+
+    private float value;
+
+    public LeaderboardEntryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public LeaderboardEntryDTO(int rank, Long userId, Long resourceGotId, float value) {
+        this.rank = rank;
+        this.userId = userId;
+        this.resourceGotId = resourceGotId;
+        this.value = value;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getResourceGotId() {
+        return resourceGotId;
+    }
+
+    public void setResourceGotId(Long resourceGotId) {
+        this.resourceGotId = resourceGotId;
+    }
+
+    public float getValue() {
+        return value;
+    }
+
+    public void setValue(float value) {
+        this.value = value;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LeaderboardEntryDTO{" +
+            "rank=" + rank +
+            ", userId=" + userId +
+            ", resourceGotId=" + resourceGotId +
+            ", value=" + value +
+            "}";
+    }
+}
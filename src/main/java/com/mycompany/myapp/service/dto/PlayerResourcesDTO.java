@@ -0,0 +1,85 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the resources of a player, read from the in-memory resource columns.
+ */
+public class PlayerResourcesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+
+    private Long resourceGotId;
+
+    private float gold;
+
+    private float wood;
+
+    private float fer;
+
+    public PlayerResourcesDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PlayerResourcesDTO(Long userId, Long resourceGotId, float gold, float wood, float fer) {
+        this.userId = userId;
+        this.resourceGotId = resourceGotId;
+        this.gold = gold;
+        this.wood = wood;
+        this.fer = fer;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getResourceGotId() {
+        return resourceGotId;
+    }
+
+    public void setResourceGotId(Long resourceGotId) {
+        this.resourceGotId = resourceGotId;
+    }
+
+    public float getGold() {
+        return gold;
+    }
+
+    public void setGold(float gold) {
+        this.gold = gold;
+    }
+
+    public float getWood() {
+        return wood;
+    }
+
+    public void setWood(float wood) {
+        this.wood = wood;
+    }
+
+    public float getFer() {
+        return fer;
+    }
+
+    public void setFer(float fer) {
+        this.fer = fer;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PlayerResourcesDTO{" +
+            "userId=" + userId +
+            ", resourceGotId=" + resourceGotId +
+            ", gold=" + gold +
+            ", wood=" + wood +
+            ", fer=" + fer +
+            "}";
+    }
+}
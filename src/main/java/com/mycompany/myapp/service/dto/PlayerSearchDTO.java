@@ -0,0 +1,75 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO representing the players matching a search on their resources: the number of matches, the sums of their resources, and
+ * the first matches.
+ */
+public class PlayerSearchDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int count;
+
+    private double goldSum;
+
+    private double woodSum;
+
+    private double ferSum;
+
+    private List<PlayerResourcesDTO> players;
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getGoldSum() {
+        return goldSum;
+    }
+
+    public void setGoldSum(double goldSum) {
+        this.goldSum = goldSum;
+    }
+
+    public double getWoodSum() {
+        return woodSum;
+    }
+
+    public void setWoodSum(double woodSum) {
+        this.woodSum = woodSum;
+    }
+
+    public double getFerSum() {
+        return ferSum;
+    }
+
+    public void setFerSum(double ferSum) {
+        this.ferSum = ferSum;
+    }
+
+    public List<PlayerResourcesDTO> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<PlayerResourcesDTO> players) {
+        this.players = players;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PlayerSearchDTO{" +
+            "count=" + count +
+            ", goldSum=" + goldSum +
+            ", woodSum=" + woodSum +
+            ", ferSum=" + ferSum +
+            ", players=" + players +
+            "}";
+    }
+}
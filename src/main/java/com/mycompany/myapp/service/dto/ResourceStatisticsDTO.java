@@ -0,0 +1,107 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the aggregate statistics of a resource over the rows of a table. Null values are not counted; the
+ * statistics other than the count are null when no value is counted.
+ */
+public class ResourceStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long count;
+
+    private Double sum;
+
+    private Double mean;
+
+    private Double min;
+
+    private Double max;
+
+    private Double p50;
+
+    private Double p90;
+
+    private Double p99;
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getSum() {
+        return sum;
+    }
+
+    public void setSum(Double sum) {
+        this.sum = sum;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Double getP50() {
+        return p50;
+    }
+
+    public void setP50(Double p50) {
+        this.p50 = p50;
+    }
+
+    public Double getP90() {
+        return p90;
+    }
+
+    public void setP90(Double p90) {
+        this.p90 = p90;
+    }
+
+    public Double getP99() {
+        return p99;
+    }
+
+    public void setP99(Double p99) {
+        this.p99 = p99;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResourceStatisticsDTO{" +
+            "count=" + count +
+            ", sum=" + sum +
+            ", mean=" + mean +
+            ", min=" + min +
+            ", max=" + max +
+            ", p50=" + p50 +
+            ", p90=" + p90 +
+            ", p99=" + p99 +
+            "}";
+    }
+}
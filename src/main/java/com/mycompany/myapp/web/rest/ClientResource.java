@@ -2,21 +2,27 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Client;
 import com.mycompany.myapp.repository.ClientRepository;
+import com.mycompany.myapp.repository.KeysetCursor;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -34,6 +40,8 @@ public class ClientResource {
 
     private static final String ENTITY_NAME = "client";
 
+    private static final Map<String, Function<Client, ?>> KEYSET_PROPERTIES = Map.of("id", Client::getId);
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -77,6 +85,7 @@ public class ClientResource {
      * @param client the client to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated client,
      * or with status {@code 400 (Bad Request)} if the client is not valid,
+     * or with status {@code 404 (Not Found)} if the client is not found,
      * or with status {@code 500 (Internal Server Error)} if the client couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -94,22 +103,14 @@ public class ClientResource {
         }
 
         return clientRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return clientRepository
-                    .save(client)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .updateIfExists(client)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -137,28 +138,14 @@ public class ClientResource {
         }
 
         return clientRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Client> result = clientRepository
-                    .findById(client.getId())
-                    .map(existingClient -> {
-                        return existingClient;
-                    })
-                    .flatMap(clientRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .patchIfExists(client)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -182,6 +169,45 @@ public class ClientResource {
         return clientRepository.findAll();
     }
 
+    /**
+     * {@code GET  /clients?size=:size} : get a page of the clients, seeking past the given cursor.
+     *
+     * @param size the size of the page.
+     * @param sort the property to sort by, with an optional direction, used for the first page.
+     * @param cursor the cursor of the page, taken from the {@code next} link of the previous page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of clients in body.
+     */
+    @GetMapping(value = "/clients", params = "size")
+    public Mono<ResponseEntity<List<Client>>> getAllClientsAfter(
+        @RequestParam int size,
+        @RequestParam(defaultValue = "id") String sort,
+        @RequestParam(required = false) String cursor,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a page of Clients after cursor {}", cursor);
+        KeysetCursor keysetCursor = KeysetPaginationUtil.parseCursor(sort, cursor, size, KEYSET_PROPERTIES.keySet(), ENTITY_NAME);
+        return Flux
+            .defer(() -> clientRepository.findAllAfter(keysetCursor, size))
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "invalidcursor"))
+            .collectList()
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateNextPageHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            keysetCursor,
+                            page,
+                            size,
+                            Client::getId,
+                            KEYSET_PROPERTIES.get(keysetCursor.getProperty())
+                        )
+                    )
+                    .body(page)
+            );
+    }
+
     /**
      * {@code GET  /clients/:id} : get the "id" client.
      *
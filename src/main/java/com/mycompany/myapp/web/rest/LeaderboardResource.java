@@ -0,0 +1,76 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.LeaderboardService;
+import com.mycompany.myapp.service.LeaderboardService.RankedResource;
+import com.mycompany.myapp.service.dto.LeaderboardEntryDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for the resource leaderboards, served from memory by {@link LeaderboardService}.
+ */
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardResource {
+
+    static final int MAX_TOP = 1000;
+
+    private static final String ENTITY_NAME = "leaderboard";
+
+    private final Logger log = LoggerFactory.getLogger(LeaderboardResource.class);
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardResource(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * {@code GET  /leaderboard/:resource} : get the first players ranked by a resource.
+     *
+     * @param resource the resource the players are ranked by: gold, wood or fer.
+     * @param top the number of players, at most {@value #MAX_TOP}.
+     * @return the {@link List} of the first players, in rank order, or status {@code 400 (Bad Request)} if the parameters are invalid.
+     */
+    @GetMapping("/{resource}")
+    public List<LeaderboardEntryDTO> getTop(@PathVariable String resource, @RequestParam(defaultValue = "100") int top) {
+        log.debug("REST request to get the top {} players by {}", top, resource);
+        if (top < 1 || top > MAX_TOP) {
+            throw new BadRequestAlertException("The number of players must be between 1 and " + MAX_TOP, ENTITY_NAME, "invalidtop");
+        }
+        return leaderboardService.top(parseResource(resource), top);
+    }
+
+    /**
+     * {@code GET  /leaderboard/:resource/rank/:userId} : get the rank of a player.
+     *
+     * @param resource the resource the players are ranked by: gold, wood or fer.
+     * @param userId the id of the user of the player.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the rank of the player, or with status
+     * {@code 404 (Not Found)} if the player is not ranked.
+     */
+    @GetMapping("/{resource}/rank/{userId}")
+    public Mono<ResponseEntity<LeaderboardEntryDTO>> getRank(@PathVariable String resource, @PathVariable Long userId) {
+        log.debug("REST request to get the rank by {} of the user : {}", resource, userId);
+        return ResponseUtil.wrapOrNotFound(Mono.justOrEmpty(leaderboardService.rank(parseResource(resource), userId)));
+    }
+
+    private static RankedResource parseResource(String resource) {
+        try {
+            return RankedResource.valueOf(resource.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown resource " + resource, ENTITY_NAME, "invalidresource");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.ResourceColumnsService;
+import com.mycompany.myapp.service.dto.PlayerResourcesDTO;
+import com.mycompany.myapp.service.dto.PlayerSearchDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller searching the players by resource, served from memory by {@link ResourceColumnsService}.
+ */
+@RestController
+@RequestMapping("/api/players")
+public class PlayerResourcesResource {
+
+    static final int MAX_LIMIT = 1000;
+
+    private static final String ENTITY_NAME = "playerResources";
+
+    private final Logger log = LoggerFactory.getLogger(PlayerResourcesResource.class);
+
+    private final ResourceColumnsService resourceColumnsService;
+
+    public PlayerResourcesResource(ResourceColumnsService resourceColumnsService) {
+        this.resourceColumnsService = resourceColumnsService;
+    }
+
+    /**
+     * {@code GET  /players/search} : search the players by resource, as in {@code ?gold.greaterThan=100&wood.lessThan=50}.
+     * Omitted bounds are unbounded; null resources are searched as zero.
+     *
+     * @param limit the maximum number of players returned, at most {@value #MAX_LIMIT}.
+     * @return the number of matching players, the sums of their resources, and the first matching players in no particular order,
+     * or status {@code 400 (Bad Request)} if the limit is invalid, or status {@code 503 (Service Unavailable)} if the in-memory
+     * resource columns are disabled.
+     */
+    @GetMapping("/search")
+    public PlayerSearchDTO searchPlayers(
+        @RequestParam(name = "gold.greaterThan", required = false) Float goldGreaterThan,
+        @RequestParam(name = "gold.lessThan", required = false) Float goldLessThan,
+        @RequestParam(name = "wood.greaterThan", required = false) Float woodGreaterThan,
+        @RequestParam(name = "wood.lessThan", required = false) Float woodLessThan,
+        @RequestParam(name = "fer.greaterThan", required = false) Float ferGreaterThan,
+        @RequestParam(name = "fer.lessThan", required = false) Float ferLessThan,
+        @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.debug("REST request to search the players by resource");
+        checkEnabled();
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new BadRequestAlertException("The number of players must be between 0 and " + MAX_LIMIT, ENTITY_NAME, "invalidlimit");
+        }
+        float[] lower = { lowerBound(goldGreaterThan), lowerBound(woodGreaterThan), lowerBound(ferGreaterThan) };
+        float[] upper = { upperBound(goldLessThan), upperBound(woodLessThan), upperBound(ferLessThan) };
+        return resourceColumnsService.search(lower, upper, limit);
+    }
+
+    /**
+     * {@code GET  /players/:userId/resources} : get the resources of a player.
+     *
+     * @param userId the id of the user of the player.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the resources of the player, or with status
+     * {@code 404 (Not Found)}, or with status {@code 503 (Service Unavailable)} if the in-memory resource columns are disabled.
+     */
+    @GetMapping("/{userId}/resources")
+    public Mono<ResponseEntity<PlayerResourcesDTO>> getPlayerResources(@PathVariable Long userId) {
+        log.debug("REST request to get the resources of the player : {}", userId);
+        checkEnabled();
+        return ResponseUtil.wrapOrNotFound(Mono.justOrEmpty(resourceColumnsService.findByUser(userId)));
+    }
+
+    private void checkEnabled() {
+        if (!resourceColumnsService.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The in-memory resource columns are disabled");
+        }
+    }
+
+    private static float lowerBound(Float bound) {
+        return bound != null ? bound : Float.NEGATIVE_INFINITY;
+    }
+
+    private static float upperBound(Float bound) {
+        return bound != null ? bound : Float.POSITIVE_INFINITY;
+    }
+}
@@ -1,22 +1,30 @@
 package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.ResourceData;
+import com.mycompany.myapp.repository.KeysetCursor;
 import com.mycompany.myapp.repository.ResourceDataRepository;
+import com.mycompany.myapp.service.ResourceStatsService;
+import com.mycompany.myapp.service.ResourceStatsService.StatsTable;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -34,13 +42,27 @@ public class ResourceDataResource {
 
     private static final String ENTITY_NAME = "resourceData";
 
+    private static final Map<String, Function<ResourceData, ?>> KEYSET_PROPERTIES = Map.of(
+        "id",
+        ResourceData::getId,
+        "gold",
+        ResourceData::getGold,
+        "wood",
+        ResourceData::getWood,
+        "fer",
+        ResourceData::getFer
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final ResourceDataRepository resourceDataRepository;
 
-    public ResourceDataResource(ResourceDataRepository resourceDataRepository) {
+    private final ResourceStatsService resourceStatsService;
+
+    public ResourceDataResource(ResourceDataRepository resourceDataRepository, ResourceStatsService resourceStatsService) {
         this.resourceDataRepository = resourceDataRepository;
+        this.resourceStatsService = resourceStatsService;
     }
 
     /**
@@ -58,6 +80,7 @@ public class ResourceDataResource {
         }
         return resourceDataRepository
             .save(resourceData)
+            .doOnNext(result -> resourceStatsService.invalidate(StatsTable.RESOURCE_DATA, result.getId()))
             .map(result -> {
                 try {
                     return ResponseEntity
@@ -77,6 +100,7 @@ public class ResourceDataResource {
      * @param resourceData the resourceData to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated resourceData,
      * or with status {@code 400 (Bad Request)} if the resourceData is not valid,
+     * or with status {@code 404 (Not Found)} if the resourceData is not found,
      * or with status {@code 500 (Internal Server Error)} if the resourceData couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -94,22 +118,15 @@ public class ResourceDataResource {
         }
 
         return resourceDataRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return resourceDataRepository
-                    .save(resourceData)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .updateIfExists(resourceData)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .doOnNext(result -> resourceStatsService.invalidate(StatsTable.RESOURCE_DATA, result.getId()))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -137,38 +154,15 @@ public class ResourceDataResource {
         }
 
         return resourceDataRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<ResourceData> result = resourceDataRepository
-                    .findById(resourceData.getId())
-                    .map(existingResourceData -> {
-                        if (resourceData.getGold() != null) {
-                            existingResourceData.setGold(resourceData.getGold());
-                        }
-                        if (resourceData.getWood() != null) {
-                            existingResourceData.setWood(resourceData.getWood());
-                        }
-                        if (resourceData.getFer() != null) {
-                            existingResourceData.setFer(resourceData.getFer());
-                        }
-
-                        return existingResourceData;
-                    })
-                    .flatMap(resourceDataRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .patchIfExists(resourceData)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .doOnNext(result -> resourceStatsService.invalidate(StatsTable.RESOURCE_DATA, result.getId()))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -192,6 +186,45 @@ public class ResourceDataResource {
         return resourceDataRepository.findAll();
     }
 
+    /**
+     * {@code GET  /resource-data?size=:size} : get a page of the resourceData, seeking past the given cursor.
+     *
+     * @param size the size of the page.
+     * @param sort the property to sort by, with an optional direction, used for the first page.
+     * @param cursor the cursor of the page, taken from the {@code next} link of the previous page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of resourceData in body.
+     */
+    @GetMapping(value = "/resource-data", params = "size")
+    public Mono<ResponseEntity<List<ResourceData>>> getAllResourceDataAfter(
+        @RequestParam int size,
+        @RequestParam(defaultValue = "id") String sort,
+        @RequestParam(required = false) String cursor,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a page of ResourceData after cursor {}", cursor);
+        KeysetCursor keysetCursor = KeysetPaginationUtil.parseCursor(sort, cursor, size, KEYSET_PROPERTIES.keySet(), ENTITY_NAME);
+        return Flux
+            .defer(() -> resourceDataRepository.findAllAfter(keysetCursor, size))
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "invalidcursor"))
+            .collectList()
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateNextPageHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            keysetCursor,
+                            page,
+                            size,
+                            ResourceData::getId,
+                            KEYSET_PROPERTIES.get(keysetCursor.getProperty())
+                        )
+                    )
+                    .body(page)
+            );
+    }
+
     /**
      * {@code GET  /resource-data/:id} : get the "id" resourceData.
      *
@@ -216,6 +249,7 @@ public class ResourceDataResource {
         log.debug("REST request to delete ResourceData : {}", id);
         return resourceDataRepository
             .deleteById(id)
+            .doOnSuccess(deleted -> resourceStatsService.invalidate(StatsTable.RESOURCE_DATA, id))
             .then(
                 Mono.just(
                     ResponseEntity
@@ -1,22 +1,31 @@
 package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.KeysetCursor;
 import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.service.ResourceGotWriteBehindService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.vm.ResourceAdjustmentVM;
+import com.mycompany.myapp.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -34,13 +43,27 @@ public class ResourceGotResource {
 
     private static final String ENTITY_NAME = "resourceGot";
 
+    private static final Map<String, Function<ResourceGot, ?>> KEYSET_PROPERTIES = Map.of(
+        "id",
+        ResourceGot::getId,
+        "gold",
+        ResourceGot::getGold,
+        "wood",
+        ResourceGot::getWood,
+        "fer",
+        ResourceGot::getFer
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final ResourceGotRepository resourceGotRepository;
 
-    public ResourceGotResource(ResourceGotRepository resourceGotRepository) {
+    private final ResourceGotWriteBehindService resourceGotWriteBehindService;
+
+    public ResourceGotResource(ResourceGotRepository resourceGotRepository, ResourceGotWriteBehindService resourceGotWriteBehindService) {
         this.resourceGotRepository = resourceGotRepository;
+        this.resourceGotWriteBehindService = resourceGotWriteBehindService;
     }
 
     /**
@@ -77,6 +100,7 @@ public class ResourceGotResource {
      * @param resourceGot the resourceGot to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated resourceGot,
      * or with status {@code 400 (Bad Request)} if the resourceGot is not valid,
+     * or with status {@code 404 (Not Found)} if the resourceGot is not found,
      * or with status {@code 500 (Internal Server Error)} if the resourceGot couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -94,22 +118,14 @@ public class ResourceGotResource {
         }
 
         return resourceGotRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return resourceGotRepository
-                    .save(resourceGot)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .updateIfExists(resourceGot)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -137,38 +153,60 @@ public class ResourceGotResource {
         }
 
         return resourceGotRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+            .patchIfExists(resourceGot)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
+    }
 
-                Mono<ResourceGot> result = resourceGotRepository
-                    .findById(resourceGot.getId())
-                    .map(existingResourceGot -> {
-                        if (resourceGot.getGold() != null) {
-                            existingResourceGot.setGold(resourceGot.getGold());
-                        }
-                        if (resourceGot.getWood() != null) {
-                            existingResourceGot.setWood(resourceGot.getWood());
-                        }
-                        if (resourceGot.getFer() != null) {
-                            existingResourceGot.setFer(resourceGot.getFer());
-                        }
-
-                        return existingResourceGot;
-                    })
-                    .flatMap(resourceGotRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+    /**
+     * {@code POST  /resource-gots/:id/adjust} : Atomically adds deltas to the resources of an existing resourceGot.
+     *
+     * @param id the id of the resourceGot to adjust.
+     * @param adjustment the deltas to add, null deltas leave the resource unchanged.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the adjusted resourceGot,
+     * or with status {@code 202 (Accepted)} if the adjustment is deferred, as it is then written behind and unknown ids are ignored,
+     * or with status {@code 400 (Bad Request)} if there is no delta, or if a guarded resource would become negative,
+     * or with status {@code 404 (Not Found)} if the resourceGot is not found.
+     */
+    @PostMapping("/resource-gots/{id}/adjust")
+    public Mono<ResponseEntity<ResourceGot>> adjustResourceGot(@PathVariable Long id, @RequestBody ResourceAdjustmentVM adjustment) {
+        log.debug("REST request to adjust ResourceGot : {}, {}", id, adjustment);
+        if (adjustment.getGold() == null && adjustment.getWood() == null && adjustment.getFer() == null) {
+            throw new BadRequestAlertException("No resource to adjust", ENTITY_NAME, "nodelta");
+        }
+        if (adjustment.isDeferred()) {
+            if (adjustment.isNonNegative()) {
+                throw new BadRequestAlertException("A deferred adjustment cannot be guarded", ENTITY_NAME, "deferredguard");
+            }
+            resourceGotWriteBehindService.adjust(id, adjustment.getGold(), adjustment.getWood(), adjustment.getFer());
+            return Mono.just(ResponseEntity.accepted().build());
+        }
+
+        return resourceGotRepository
+            .adjust(id, adjustment.getGold(), adjustment.getWood(), adjustment.getFer(), adjustment.isNonNegative())
+            // nothing was updated, find out why only on this slow path
+            .switchIfEmpty(
+                resourceGotRepository
+                    .existsById(id)
+                    .flatMap(exists ->
+                        Mono.error(
+                            exists
+                                ? new BadRequestAlertException("Resource would become negative", ENTITY_NAME, "negativeresource")
+                                : new ResponseStatusException(HttpStatus.NOT_FOUND)
+                        )
+                    )
+            )
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -179,7 +217,7 @@ public class ResourceGotResource {
     @GetMapping("/resource-gots")
     public Mono<List<ResourceGot>> getAllResourceGots() {
         log.debug("REST request to get all ResourceGots");
-        return resourceGotRepository.findAll().collectList();
+        return resourceGotRepository.findAll().map(resourceGotWriteBehindService::merge).collectList();
     }
 
     /**
@@ -189,7 +227,44 @@ public class ResourceGotResource {
     @GetMapping(value = "/resource-gots", produces = MediaType.APPLICATION_NDJSON_VALUE)
     public Flux<ResourceGot> getAllResourceGotsAsStream() {
         log.debug("REST request to get all ResourceGots as a stream");
-        return resourceGotRepository.findAll();
+        return resourceGotRepository.findAll().map(resourceGotWriteBehindService::merge);
+    }
+
+    /**
+     * {@code GET  /resource-gots?size=:size} : get a page of the resourceGots, seeking past the given cursor.
+     *
+     * @param size the size of the page.
+     * @param sort the property to sort by, with an optional direction, used for the first page.
+     * @param cursor the cursor of the page, taken from the {@code next} link of the previous page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of resourceGots in body.
+     */
+    @GetMapping(value = "/resource-gots", params = "size")
+    public Mono<ResponseEntity<List<ResourceGot>>> getAllResourceGotsAfter(
+        @RequestParam int size,
+        @RequestParam(defaultValue = "id") String sort,
+        @RequestParam(required = false) String cursor,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a page of ResourceGots after cursor {}", cursor);
+        KeysetCursor keysetCursor = KeysetPaginationUtil.parseCursor(sort, cursor, size, KEYSET_PROPERTIES.keySet(), ENTITY_NAME);
+        return Flux
+            .defer(() -> resourceGotRepository.findAllAfter(keysetCursor, size))
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "invalidcursor"))
+            .collectList()
+            .map(page -> {
+                // the next page seeks past the sort values stored in the database, so the cursor is built before the merge
+                HttpHeaders headers = KeysetPaginationUtil.generateNextPageHeaders(
+                    UriComponentsBuilder.fromHttpRequest(request),
+                    keysetCursor,
+                    page,
+                    size,
+                    ResourceGot::getId,
+                    KEYSET_PROPERTIES.get(keysetCursor.getProperty())
+                );
+                page.forEach(resourceGotWriteBehindService::merge);
+                return ResponseEntity.ok().headers(headers).body(page);
+            });
     }
 
     /**
@@ -201,7 +276,7 @@ public class ResourceGotResource {
     @GetMapping("/resource-gots/{id}")
     public Mono<ResponseEntity<ResourceGot>> getResourceGot(@PathVariable Long id) {
         log.debug("REST request to get ResourceGot : {}", id);
-        Mono<ResourceGot> resourceGot = resourceGotRepository.findById(id);
+        Mono<ResourceGot> resourceGot = resourceGotRepository.findById(id).map(resourceGotWriteBehindService::merge);
         return ResponseUtil.wrapOrNotFound(resourceGot);
     }
 
@@ -2,6 +2,8 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Resource;
 import com.mycompany.myapp.repository.ResourceRepository;
+import com.mycompany.myapp.service.ResourceStatsService;
+import com.mycompany.myapp.service.ResourceStatsService.StatsTable;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -39,8 +41,11 @@ public class ResourceResource {
 
     private final ResourceRepository resourceRepository;
 
-    public ResourceResource(ResourceRepository resourceRepository) {
+    private final ResourceStatsService resourceStatsService;
+
+    public ResourceResource(ResourceRepository resourceRepository, ResourceStatsService resourceStatsService) {
         this.resourceRepository = resourceRepository;
+        this.resourceStatsService = resourceStatsService;
     }
 
     /**
@@ -58,6 +63,7 @@ public class ResourceResource {
         }
         return resourceRepository
             .save(resource)
+            .doOnNext(result -> resourceStatsService.invalidate(StatsTable.RESOURCE, result.getId()))
             .map(result -> {
                 try {
                     return ResponseEntity
@@ -77,6 +83,7 @@ public class ResourceResource {
      * @param resource the resource to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated resource,
      * or with status {@code 400 (Bad Request)} if the resource is not valid,
+     * or with status {@code 404 (Not Found)} if the resource is not found,
      * or with status {@code 500 (Internal Server Error)} if the resource couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -94,22 +101,15 @@ public class ResourceResource {
         }
 
         return resourceRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return resourceRepository
-                    .save(resource)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .updateIfExists(resource)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .doOnNext(result -> resourceStatsService.invalidate(StatsTable.RESOURCE, result.getId()))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -137,38 +137,15 @@ public class ResourceResource {
         }
 
         return resourceRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Resource> result = resourceRepository
-                    .findById(resource.getId())
-                    .map(existingResource -> {
-                        if (resource.getGold() != null) {
-                            existingResource.setGold(resource.getGold());
-                        }
-                        if (resource.getWood() != null) {
-                            existingResource.setWood(resource.getWood());
-                        }
-                        if (resource.getFer() != null) {
-                            existingResource.setFer(resource.getFer());
-                        }
-
-                        return existingResource;
-                    })
-                    .flatMap(resourceRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .patchIfExists(resource)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .doOnNext(result -> resourceStatsService.invalidate(StatsTable.RESOURCE, result.getId()))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -216,6 +193,7 @@ public class ResourceResource {
         log.debug("REST request to delete Resource : {}", id);
         return resourceRepository
             .deleteById(id)
+            .doOnSuccess(deleted -> resourceStatsService.invalidate(StatsTable.RESOURCE, id))
             .then(
                 Mono.just(
                     ResponseEntity
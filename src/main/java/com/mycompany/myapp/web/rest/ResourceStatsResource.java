@@ -0,0 +1,42 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.ResourceStatsService;
+import com.mycompany.myapp.service.dto.ResourceStatisticsDTO;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for the aggregate statistics of the resources, computed by {@link ResourceStatsService}.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class ResourceStatsResource {
+
+    private final Logger log = LoggerFactory.getLogger(ResourceStatsResource.class);
+
+    private final ResourceStatsService resourceStatsService;
+
+    public ResourceStatsResource(ResourceStatsService resourceStatsService) {
+        this.resourceStatsService = resourceStatsService;
+    }
+
+    /**
+     * {@code GET  /stats/resources} : get the statistics of the resources.
+     *
+     * @return the count, sum, mean, minimum, maximum and 50th, 90th and 99th percentiles of gold, wood and fer, for the resourceGots,
+     * the resourceData and the resources. The percentiles are estimated within 1% of their value.
+     */
+    @GetMapping("/resources")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<Map<String, Map<String, ResourceStatisticsDTO>>> getResourceStatistics() {
+        log.debug("REST request to get the statistics of the resources");
+        return resourceStatsService.getStatistics();
+    }
+}
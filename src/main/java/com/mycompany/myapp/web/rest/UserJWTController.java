@@ -1,18 +1,28 @@
 package com.mycompany.myapp.web.rest;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.security.jwt.JWTFilter;
 import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.service.RefreshTokenService;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
+import com.mycompany.myapp.web.rest.vm.RefreshTokenVM;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * Controller to authenticate users.
@@ -25,26 +35,81 @@ public class UserJWTController {
 
     private final ReactiveAuthenticationManager authenticationManager;
 
-    public UserJWTController(TokenProvider tokenProvider, ReactiveAuthenticationManager authenticationManager) {
+    private final RefreshTokenService refreshTokenService;
+
+    private final boolean legacyAccessToken;
+
+    public UserJWTController(
+        TokenProvider tokenProvider,
+        ReactiveAuthenticationManager authenticationManager,
+        RefreshTokenService refreshTokenService,
+        ApplicationProperties applicationProperties
+    ) {
         this.tokenProvider = tokenProvider;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.legacyAccessToken = applicationProperties.getSecurity().getRefreshToken().isLegacyAccessToken();
     }
 
+    /**
+     * {@code POST  /authenticate} : authenticate a user with its password.
+     *
+     * @param loginVM the login and password of the user.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and a refresh token, with the long-lived access token of the
+     * previous versions while {@code application.security.refresh-token.legacy-access-token} is set, as it is by default for the
+     * clients which do not refresh their tokens, or with a short-lived access token otherwise.
+     */
     @PostMapping("/authenticate")
     public Mono<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody Mono<LoginVM> loginVM) {
         return loginVM
             .flatMap(login ->
                 authenticationManager
                     .authenticate(new UsernamePasswordAuthenticationToken(login.getUsername(), login.getPassword()))
-                    .flatMap(auth -> Mono.fromCallable(() -> tokenProvider.createToken(auth, login.isRememberMe())))
+                    .flatMap(auth ->
+                        Mono
+                            .fromCallable(() ->
+                                legacyAccessToken
+                                    ? tokenProvider.createToken(auth, login.isRememberMe())
+                                    : tokenProvider.createAccessToken(auth)
+                            )
+                            .zipWith(refreshTokenService.createToken(auth.getName(), login.isRememberMe()))
+                    )
             )
-            .map(jwt -> {
-                HttpHeaders httpHeaders = new HttpHeaders();
-                httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
-                return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+            .map(tokens -> createResponse(tokens.getT1(), tokens.getT2()));
+    }
+
+    /**
+     * {@code POST  /authenticate/refresh} : exchange a refresh token for a new access token and a new refresh token, without the
+     * password of the user.
+     *
+     * @param refreshTokenVM the refresh token, which cannot be used again.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the new tokens, or with status {@code 401 (Unauthorized)}
+     * if the refresh token is unknown, expired or already used.
+     */
+    @PostMapping("/authenticate/refresh")
+    public Mono<ResponseEntity<JWTToken>> refresh(@Valid @RequestBody Mono<RefreshTokenVM> refreshTokenVM) {
+        return refreshTokenVM
+            .flatMap(refresh -> refreshTokenService.rotateToken(refresh.getRefreshToken()))
+            .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid refresh token")))
+            .map(rotated -> {
+                User user = rotated.getT1();
+                List<GrantedAuthority> authorities = user
+                    .getAuthorities()
+                    .stream()
+                    .map(Authority::getName)
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList());
+                Authentication authentication = new UsernamePasswordAuthenticationToken(user.getLogin(), null, authorities);
+                return createResponse(tokenProvider.createAccessToken(authentication), rotated.getT2());
             });
     }
 
+    private ResponseEntity<JWTToken> createResponse(String jwt, String refreshToken) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        return new ResponseEntity<>(new JWTToken(jwt, refreshToken), httpHeaders, HttpStatus.OK);
+    }
+
     /**
      * Object to return as body in JWT Authentication.
      */
@@ -52,8 +117,11 @@ public class UserJWTController {
 
         private String idToken;
 
-        JWTToken(String idToken) {
+        private String refreshToken;
+
+        JWTToken(String idToken, String refreshToken) {
             this.idToken = idToken;
+            this.refreshToken = refreshToken;
         }
 
         @JsonProperty("id_token")
@@ -64,5 +132,14 @@ public class UserJWTController {
         void setIdToken(String idToken) {
             this.idToken = idToken;
         }
+
+        @JsonProperty("refresh_token")
+        String getRefreshToken() {
+            return refreshToken;
+        }
+
+        void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
 }
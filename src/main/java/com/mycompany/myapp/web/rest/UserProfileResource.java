@@ -77,6 +77,7 @@ public class UserProfileResource {
      * @param userProfile the userProfile to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated userProfile,
      * or with status {@code 400 (Bad Request)} if the userProfile is not valid,
+     * or with status {@code 404 (Not Found)} if the userProfile is not found,
      * or with status {@code 500 (Internal Server Error)} if the userProfile couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -94,22 +95,14 @@ public class UserProfileResource {
         }
 
         return userProfileRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return userProfileRepository
-                    .save(userProfile)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .updateIfExists(userProfile)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -137,28 +130,14 @@ public class UserProfileResource {
         }
 
         return userProfileRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<UserProfile> result = userProfileRepository
-                    .findById(userProfile.getId())
-                    .map(existingUserProfile -> {
-                        return existingUserProfile;
-                    })
-                    .flatMap(userProfileRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .patchIfExists(userProfile)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
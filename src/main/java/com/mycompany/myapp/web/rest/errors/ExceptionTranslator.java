@@ -1,18 +1,23 @@
 package com.mycompany.myapp.web.rest.errors;
 
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.security.PasswordHashingBusyException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.stereotype.Component;
@@ -51,8 +56,11 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
 
     private final Environment env;
 
-    public ExceptionTranslator(Environment env) {
+    private final ApplicationProperties applicationProperties;
+
+    public ExceptionTranslator(Environment env, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -164,6 +172,18 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    @ExceptionHandler
+    public Mono<ResponseEntity<Problem>> handleRejectedExecution(RejectedExecutionException ex, ServerWebExchange request) {
+        // the schedulers wrap the rejections of their executors, the full password hashing queue is found among the causes
+        if (ExceptionUtils.indexOfType(ex, PasswordHashingBusyException.class) < 0) {
+            return handleThrowable(ex, request);
+        }
+        Problem problem = Problem.builder().withStatus(Status.SERVICE_UNAVAILABLE).withDetail("The server is overloaded").build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(applicationProperties.getSecurity().getPasswordHashing().getRetryAfter()));
+        return create(ex, problem, request, headers);
+    }
+
     @Override
     public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
         Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.web.rest.vm;
+
+/**
+ * View Model object for storing the resource deltas of an adjustment.
+ */
+public class ResourceAdjustmentVM {
+
+    private Float gold;
+
+    private Float wood;
+
+    private Float fer;
+
+    private boolean nonNegative;
+
+    private boolean deferred;
+
+    public Float getGold() {
+        return gold;
+    }
+
+    public void setGold(Float gold) {
+        this.gold = gold;
+    }
+
+    public Float getWood() {
+        return wood;
+    }
+
+    public void setWood(Float wood) {
+        this.wood = wood;
+    }
+
+    public Float getFer() {
+        return fer;
+    }
+
+    public void setFer(Float fer) {
+        this.fer = fer;
+    }
+
+    public boolean isNonNegative() {
+        return nonNegative;
+    }
+
+    public void setNonNegative(boolean nonNegative) {
+        this.nonNegative = nonNegative;
+    }
+
+    public boolean isDeferred() {
+        return deferred;
+    }
+
+    public void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResourceAdjustmentVM{" +
+            "gold=" + gold +
+            ", wood=" + wood +
+            ", fer=" + fer +
+            ", nonNegative=" + nonNegative +
+            ", deferred=" + deferred +
+            '}';
+    }
+}
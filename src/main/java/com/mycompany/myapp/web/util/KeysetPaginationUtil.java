@@ -0,0 +1,91 @@
+package com.mycompany.myapp.web.util;
+
+import com.mycompany.myapp.repository.KeysetCursor;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * Clients pass the {@code size} of the page, an optional {@code sort} of the form {@code property[,asc|desc]} and the
+ * {@code cursor} of the previous response. The cursor of the next page is handed out in a
+ * <a href="https://tools.ietf.org/html/rfc5988">Link header</a>, which is omitted on the last page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String CURSOR_PARAMETER = "cursor";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Parses the cursor of a keyset paginated request.
+     *
+     * @param sort the sort parameter, used for the first page.
+     * @param cursor the cursor parameter of the following pages, or null for the first page.
+     * @param size the size parameter.
+     * @param sortableProperties the properties the entity may be sorted by.
+     * @param entityName the name of the entity, used in error messages.
+     * @return the parsed cursor.
+     * @throws BadRequestAlertException if the parameters are invalid.
+     */
+    public static KeysetCursor parseCursor(String sort, String cursor, int size, Set<String> sortableProperties, String entityName) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("Page size must be between 1 and " + MAX_PAGE_SIZE, entityName, "invalidsize");
+        }
+        KeysetCursor keysetCursor;
+        try {
+            keysetCursor = cursor != null ? KeysetCursor.decode(cursor) : parseSort(sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor or sort", entityName, "invalidcursor");
+        }
+        if (!sortableProperties.contains(keysetCursor.getProperty())) {
+            throw new BadRequestAlertException("Cannot sort by " + keysetCursor.getProperty(), entityName, "invalidsort");
+        }
+        return keysetCursor;
+    }
+
+    /**
+     * Generates the Link header of the next page, if the given page is full.
+     *
+     * @param uriBuilder the builder of the request URI.
+     * @param cursor the cursor of the given page.
+     * @param page the rows of the given page.
+     * @param size the requested page size.
+     * @param id the getter of the row id.
+     * @param sortValue the getter of the sort property.
+     * @param <T> the type of the rows.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateNextPageHeaders(
+        UriComponentsBuilder uriBuilder,
+        KeysetCursor cursor,
+        List<T> page,
+        int size,
+        Function<T, Long> id,
+        Function<T, ?> sortValue
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == size) {
+            T last = page.get(page.size() - 1);
+            String next = cursor.next(id.apply(last), sortValue.apply(last)).encode();
+            headers.add(HttpHeaders.LINK, "<" + uriBuilder.replaceQueryParam(CURSOR_PARAMETER, next).toUriString() + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    private static KeysetCursor parseSort(String sort) {
+        String[] parts = sort.split(",");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Malformed sort: " + sort);
+        }
+        Sort.Direction direction = parts.length == 2 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.ASC;
+        return KeysetCursor.first(parts[0], direction);
+    }
+}
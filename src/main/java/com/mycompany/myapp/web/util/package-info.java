@@ -0,0 +1,4 @@
+/**
+ * Web utilities.
+ */
+package com.mycompany.myapp.web.util;
@@ -0,0 +1,110 @@
+package com.mycompany.myapp.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for the {@link LoggingAspect} class.
+ */
+class LoggingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoggingAspect loggingAspect;
+
+    @BeforeEach
+    void init() {
+        loggingAspect = new LoggingAspect(new MockEnvironment(), meterRegistry, new ApplicationProperties());
+    }
+
+    @Test
+    void reactiveCallsAreTimedFromTheSubscriptionToTheCompletion() throws Throwable {
+        Mono<?> result = (Mono<?>) loggingAspect.logAround(joinPoint("find", Mono.delay(Duration.ofMillis(100))));
+
+        assertThat(timer("find", "success", "none").count()).isZero();
+
+        result.block();
+
+        assertThat(timer("find", "success", "none").count()).isEqualTo(1);
+        assertThat(timer("find", "success", "none").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void reactiveErrorsAreTimedByException() throws Throwable {
+        Flux<?> result = (Flux<?>) loggingAspect.logAround(joinPoint("findAll", Flux.error(new IllegalStateException())));
+
+        assertThatThrownBy(result::blockLast).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("findAll", "error", "IllegalStateException").count()).isEqualTo(1);
+        assertThat(timer("findAll", "success", "none").count()).isZero();
+    }
+
+    @Test
+    void synchronousCallsAreTimed() throws Throwable {
+        ProceedingJoinPoint failing = joinPoint("save", null);
+        when(failing.proceed()).thenThrow(new IllegalArgumentException());
+
+        assertThat(loggingAspect.logAround(joinPoint("count", 42L))).isEqualTo(42L);
+        assertThatThrownBy(() -> loggingAspect.logAround(failing)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(timer("count", "success", "none").count()).isEqualTo(1);
+        assertThat(timer("save", "error", "IllegalArgumentException").count()).isEqualTo(1);
+    }
+
+    private ProceedingJoinPoint joinPoint(String methodName, Object result) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getName()).thenReturn(methodName);
+        when(signature.getDeclaringTypeName()).thenReturn(Sample.class.getName());
+        when(signature.getMethod()).thenReturn(Sample.class.getMethod(methodName));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getThis()).thenReturn(new Sample());
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    private Timer timer(String methodName, String outcome, String exception) {
+        return meterRegistry
+            .get(LoggingAspect.METER_NAME)
+            .tag("class", Sample.class.getName())
+            .tag("method", methodName)
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .timer();
+    }
+
+    public static class Sample {
+
+        public Mono<Long> find() {
+            return Mono.empty();
+        }
+
+        public Flux<Long> findAll() {
+            return Flux.empty();
+        }
+
+        public Long count() {
+            return 0L;
+        }
+
+        public void save() {
+            // sample method
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Integration tests for the connection pool of the {@link DatabaseConfiguration}.
+ */
+@IntegrationTest
+class DatabaseConfigurationIT {
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void connectionsAreAcquiredFromThePool() {
+        ConnectionFactory unwrapped = connectionFactory;
+        while (!(unwrapped instanceof ConnectionPool) && unwrapped instanceof Wrapped) {
+            unwrapped = (ConnectionFactory) ((Wrapped<?>) unwrapped).unwrap();
+        }
+        assertThat(unwrapped).isInstanceOf(ConnectionPool.class);
+        long acquisitionsBefore = acquisitions();
+
+        db.sql("SELECT name FROM jhi_authority").map(row -> row.get(0)).all().collectList().block();
+
+        assertThat(acquisitions()).isGreaterThan(acquisitionsBefore);
+        assertThat(((ConnectionPool) unwrapped).getMetrics()).hasValueSatisfying(metrics -> assertThat(metrics.acquiredSize()).isZero());
+        for (String gauge : new String[] { "r2dbc.pool.acquired", "r2dbc.pool.idle", "r2dbc.pool.pending" }) {
+            assertThat(meterRegistry.get(gauge).tag("name", DatabaseConfiguration.POOL_NAME).gauge().value()).isGreaterThanOrEqualTo(0);
+        }
+    }
+
+    private long acquisitions() {
+        return meterRegistry
+            .get(DatabaseConfiguration.POOL_ACQUIRE_METER_NAME)
+            .tag("name", DatabaseConfiguration.POOL_NAME)
+            .tag("outcome", "success")
+            .timer()
+            .count();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link SqlStatistics} class.
+ */
+class SqlStatisticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SqlStatistics sqlStatistics;
+
+    @BeforeEach
+    void init() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getDatabase().getSqlStats().setMaxFingerprints(2);
+        sqlStatistics = new SqlStatistics(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void literalsAndBindMarkersAreReplaced() {
+        assertThat(SqlStatistics.fingerprint("SELECT * FROM jhi_user WHERE login = 'it''s' AND id > 42 AND e.version = 1.5e3"))
+            .isEqualTo("SELECT * FROM jhi_user WHERE login = ? AND id > ? AND e.version = ?");
+        assertThat(SqlStatistics.fingerprint("SELECT t1.id FROM t1 WHERE a = $1 AND b = :name AND c = ? AND d::text = @p"))
+            .isEqualTo("SELECT t1.id FROM t1 WHERE a = ? AND b = ? AND c = ? AND d::text = ?");
+        assertThat(SqlStatistics.fingerprint("SELECT \"it's 1\" FROM t")).isEqualTo("SELECT \"it's 1\" FROM t");
+    }
+
+    @Test
+    void listsAndWhitespaceAreCollapsed() {
+        assertThat(SqlStatistics.fingerprint("SELECT *\n  FROM t\tWHERE id IN ($1, $2,$3)  "))
+            .isEqualTo("SELECT * FROM t WHERE id IN (?)")
+            .isEqualTo(SqlStatistics.fingerprint("SELECT * FROM t WHERE id IN (7)"));
+        assertThat(SqlStatistics.fingerprint("INSERT INTO t (a, b) VALUES ($1, $2), ($3, $4),($5, $6)"))
+            .isEqualTo("INSERT INTO t (a, b) VALUES (?)");
+    }
+
+    @Test
+    void executionsAreSummedByFingerprint() {
+        SqlStatistics.StatementStatistics statistics = sqlStatistics.statement("SELECT * FROM t WHERE id = 1");
+        assertThat(sqlStatistics.statement("SELECT * FROM t WHERE id = 2")).isSameAs(statistics);
+
+        sqlStatistics.record(statistics, "SELECT * FROM t WHERE id = 1", TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+        sqlStatistics.record(statistics, "SELECT * FROM t WHERE id = 2", TimeUnit.MILLISECONDS.toNanos(30), 0, true);
+
+        assertThat(statistics.getFingerprint()).isEqualTo("SELECT * FROM t WHERE id = ?");
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(statistics.getTotalTime()).isEqualTo(40.0);
+        assertThat(statistics.getMeanTime()).isEqualTo(20.0);
+        assertThat(statistics.getMaxTime()).isEqualTo(30.0);
+        assertThat(statistics.getRows()).isEqualTo(1);
+        assertThat(statistics.getErrors()).isEqualTo(1);
+        assertThat(statistics.getPercentiles()).containsOnlyKeys("p50", "p95", "p99");
+        assertThat(meterRegistry.get(SqlStatistics.METER_NAME).tag(SqlStatistics.FINGERPRINT_TAG, statistics.getId()).timer().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get(SqlStatistics.ERRORS_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fingerprintsAreBounded() {
+        SqlStatistics.StatementStatistics first = sqlStatistics.statement("SELECT a FROM t");
+        SqlStatistics.StatementStatistics second = sqlStatistics.statement("SELECT b FROM t");
+        SqlStatistics.StatementStatistics third = sqlStatistics.statement("SELECT c FROM t");
+
+        assertThat(first.getFingerprint()).isEqualTo("SELECT a FROM t");
+        assertThat(second.getFingerprint()).isEqualTo("SELECT b FROM t");
+        assertThat(third.getFingerprint()).isEqualTo(SqlStatistics.OTHER);
+        assertThat(sqlStatistics.statement("SELECT d FROM t")).isSameAs(third);
+        assertThat(sqlStatistics.getStatements()).hasSize(3);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link SqlStatsEndpoint}.
+ */
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+class SqlStatsEndpointIT {
+
+    private static final String FINGERPRINT = "SELECT name FROM jhi_authority WHERE name IN (?) AND name <> ?";
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void statementsAreRecordedByFingerprint() {
+        SqlStatistics.StatementStatistics statistics = sqlStatistics.statement(FINGERPRINT);
+        long countBefore = statistics.getCount();
+        long rowsBefore = statistics.getRows();
+
+        db
+            .sql("SELECT name FROM jhi_authority WHERE name IN ('ROLE_ADMIN', 'ROLE_USER') AND name <> 'none'")
+            .map(row -> row.get(0))
+            .all()
+            .collectList()
+            .block();
+        db
+            .sql("SELECT name FROM jhi_authority WHERE name IN (:names) AND name <> :name")
+            .bind("names", List.of(AuthoritiesConstants.ADMIN))
+            .bind("name", "none")
+            .map(row -> row.get(0))
+            .all()
+            .collectList()
+            .block();
+
+        assertThat(statistics.getCount()).isEqualTo(countBefore + 2);
+        assertThat(statistics.getRows()).isEqualTo(rowsBefore + 3);
+
+        webTestClient
+            .get()
+            .uri("/management/sql-stats")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$[?(@.id == '" + statistics.getId() + "')].fingerprint")
+            .isEqualTo(FINGERPRINT)
+            .jsonPath("$[?(@.id == '" + statistics.getId() + "')].percentiles.p99")
+            .exists();
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.USER)
+    void endpointIsRestrictedToAdmins() {
+        webTestClient.get().uri("/management/sql-stats").exchange().expectStatus().isForbidden();
+    }
+}
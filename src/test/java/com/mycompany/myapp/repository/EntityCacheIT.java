@@ -0,0 +1,164 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Client;
+import com.mycompany.myapp.domain.ResourceData;
+import com.mycompany.myapp.domain.ResourceGot;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Integration tests for the {@link EntityCache} of the repositories.
+ */
+@IntegrationTest
+class EntityCacheIT {
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private ResourceDataRepository resourceDataRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    private ResourceGot resourceGot;
+
+    @BeforeEach
+    public void init() {
+        em.deleteAll(ResourceGot.class).block();
+        resourceGot = resourceGotRepository.save(new ResourceGot().gold(10F).wood(3F)).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+    }
+
+    @Test
+    void entitiesAreReadFromTheCache() {
+        double hitsBefore = hits("resource_got");
+
+        ResourceGot first = resourceGotRepository.findById(resourceGot.getId()).block();
+        // the cached entity is a copy, not modified by the callers
+        first.setGold(1000F);
+        storeGold(20F);
+        ResourceGot second = resourceGotRepository.findById(resourceGot.getId()).block();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getGold()).isEqualTo(10F);
+        assertThat(hits("resource_got")).isEqualTo(hitsBefore + 1);
+        String cache = EntityManager.ENTITY_CACHE_NAME_PREFIX + "resource_got";
+        assertThat(meterRegistry.get(EntityCache.HIT_RATIO_METER_NAME).tag("cache", cache).gauge().value()).isPositive();
+    }
+
+    @Test
+    void writesInvalidateTheCachedEntities() {
+        resourceGotRepository.findById(resourceGot.getId()).block();
+
+        resourceGotRepository.adjust(resourceGot.getId(), 5F, null, null, false).block();
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(15F);
+
+        resourceGotRepository.updateIfExists(resourceGot.gold(30F)).block();
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(30F);
+
+        storeGold(40F);
+        resourceGotRepository.evictCache().block();
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(40F);
+
+        resourceGotRepository.deleteById(resourceGot.getId()).block();
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void entitiesReadBeforeTheCommitOfAWriteAreNotCached() {
+        resourceGotRepository.findById(resourceGot.getId()).block();
+
+        Mono<ResourceGot> write = resourceGotRepository
+            .updateIfExists(resourceGot.gold(30F))
+            // a read on another connection, before the commit
+            .flatMap(updated ->
+                resourceGotRepository.findById(updated.getId()).contextWrite(context -> Context.empty()).thenReturn(updated)
+            );
+        TransactionalOperator.create(transactionManager).transactional(write).block();
+
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(30F);
+    }
+
+    @Test
+    void writesInvalidateTheEntitiesEmbeddingThem() {
+        ResourceData company = resourceDataRepository.save(new ResourceData().gold(1F)).block();
+        Client client = clientRepository.save(new Client().company(company)).block();
+        try {
+            assertThat(clientRepository.findById(client.getId()).block().getCompany().getGold()).isEqualTo(1F);
+
+            resourceDataRepository.save(company.gold(2F)).block();
+
+            assertThat(clientRepository.findById(client.getId()).block().getCompany().getGold()).isEqualTo(2F);
+        } finally {
+            clientRepository.deleteById(client.getId()).block();
+            resourceDataRepository.deleteById(company.getId()).block();
+        }
+    }
+
+    @Test
+    void writesKeepTheEntitiesEmbeddingOtherEntities() {
+        ResourceData company = resourceDataRepository.save(new ResourceData().gold(1F)).block();
+        ResourceData otherCompany = resourceDataRepository.save(new ResourceData().gold(1F)).block();
+        Client client = clientRepository.save(new Client().company(company)).block();
+        Client otherClient = clientRepository.save(new Client().company(otherCompany)).block();
+        try {
+            clientRepository.findById(client.getId()).block();
+            clientRepository.findById(otherClient.getId()).block();
+            double hitsBefore = hits("client");
+
+            resourceDataRepository.save(company.gold(2F)).block();
+
+            assertThat(clientRepository.findById(otherClient.getId()).block().getCompany().getGold()).isEqualTo(1F);
+            assertThat(hits("client")).isEqualTo(hitsBefore + 1);
+            assertThat(clientRepository.findById(client.getId()).block().getCompany().getGold()).isEqualTo(2F);
+            assertThat(hits("client")).isEqualTo(hitsBefore + 1);
+        } finally {
+            clientRepository.deleteById(client.getId()).block();
+            clientRepository.deleteById(otherClient.getId()).block();
+            resourceDataRepository.deleteById(company.getId()).block();
+            resourceDataRepository.deleteById(otherCompany.getId()).block();
+        }
+    }
+
+    private void storeGold(float gold) {
+        // written behind the back of the repository
+        db.sql("UPDATE resource_got SET gold = :gold WHERE id = :id").bind("gold", gold).bind("id", resourceGot.getId()).then().block();
+    }
+
+    private double hits(String table) {
+        return meterRegistry
+            .get("cache.gets")
+            .tag("cache", EntityManager.ENTITY_CACHE_NAME_PREFIX + table)
+            .tag("result", "hit")
+            .functionCounter()
+            .count();
+    }
+}
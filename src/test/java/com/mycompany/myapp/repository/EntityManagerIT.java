@@ -0,0 +1,130 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.ResourceGot;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+/**
+ * Integration tests for the {@link EntityManager} select rendering.
+ */
+@IntegrationTest
+class EntityManagerIT {
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void initTest() {
+        em.deleteAll(ResourceGot.class).block();
+        Flux.range(0, 5).concatMap(gold -> resourceGotRepository.save(new ResourceGot().gold((float) gold))).blockLast();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+    }
+
+    @Test
+    void pagesAreAppendedToCachedSelects() {
+        assertThat(findGold(PageRequest.of(0, 2, Sort.by("gold")))).containsExactly(0F, 1F);
+        assertThat(findGold(PageRequest.of(1, 2, Sort.by("gold")))).containsExactly(2F, 3F);
+        assertThat(findGold(PageRequest.of(2, 2, Sort.by("gold")))).containsExactly(4F);
+        assertThat(findGold(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "gold")))).containsExactly(4F, 3F);
+    }
+
+    @Test
+    void selectsAreRenderedOncePerShape() {
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        findGold(PageRequest.of(0, 2, Sort.by("wood")));
+        findGold(PageRequest.of(1, 3, Sort.by("wood")));
+        findGold(PageRequest.of(2, 4, Sort.by("wood")));
+
+        assertThat(cacheGets("miss") - missesBefore).isEqualTo(1);
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(2);
+    }
+
+    @Test
+    void keysetPagesSeekPastTheCursor() {
+        resourceGotRepository.save(new ResourceGot().wood(1F)).block();
+        resourceGotRepository.save(new ResourceGot().gold(2F)).block();
+
+        assertThat(walkGold(KeysetCursor.first("gold", Sort.Direction.ASC), 2)).containsExactly(0F, 1F, 2F, 2F, 3F, 4F, null);
+        assertThat(walkGold(KeysetCursor.first("gold", Sort.Direction.DESC), 2)).containsExactly(4F, 3F, 2F, 2F, 1F, 0F, null);
+        assertThat(walkGold(KeysetCursor.first("gold", Sort.Direction.DESC), 3)).containsExactly(4F, 3F, 2F, 2F, 1F, 0F, null);
+        assertThat(walkGold(KeysetCursor.first("id", Sort.Direction.DESC), 4)).hasSize(7);
+    }
+
+    @Test
+    void insertAllReturnsGeneratedIdsInOrder() {
+        List<ResourceGot> entities = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            entities.add(new ResourceGot().gold((float) i).wood(i % 2 == 0 ? null : 1F));
+        }
+
+        List<ResourceGot> inserted = em.insertAll(entities).collectList().block();
+
+        assertThat(inserted).hasSize(1200).allMatch(resourceGot -> resourceGot.getId() != null);
+        assertThat(inserted).extracting(ResourceGot::getId).isSorted().doesNotHaveDuplicates();
+        ResourceGot last = resourceGotRepository.findById(inserted.get(1199).getId()).block();
+        assertThat(last.getGold()).isEqualTo(1199F);
+        assertThat(last.getWood()).isEqualTo(1F);
+        assertThat(resourceGotRepository.findById(inserted.get(0).getId()).block().getWood()).isNull();
+        assertThat(resourceGotRepository.count().block()).isEqualTo(1205);
+    }
+
+    @Test
+    void patchesWriteOnlyThePatchableColumns() {
+        ResourceGot saved = resourceGotRepository.save(new ResourceGot().gold(1F).wood(2F)).block();
+
+        // an unknown user, which would break the foreign key if it were written
+        ResourceGot patch = new ResourceGot().id(saved.getId()).gold(10F);
+        patch.setRegisterUserId(Long.MAX_VALUE);
+        ResourceGot patched = resourceGotRepository.patchIfExists(patch).block();
+
+        assertThat(patched.getGold()).isEqualTo(10F);
+        assertThat(patched.getWood()).isEqualTo(2F);
+        assertThat(patched.getRegisterUserId()).isNull();
+    }
+
+    private List<Float> walkGold(KeysetCursor cursor, int size) {
+        List<Float> gold = new ArrayList<>();
+        List<ResourceGot> page;
+        do {
+            page = resourceGotRepository.findAllAfter(cursor, size).collectList().block();
+            page.forEach(resourceGot -> gold.add(resourceGot.getGold()));
+            if (!page.isEmpty()) {
+                ResourceGot last = page.get(page.size() - 1);
+                Object lastValue = cursor.isSortedById() ? (Object) last.getId() : last.getGold();
+                cursor = KeysetCursor.decode(cursor.next(last.getId(), lastValue).encode());
+            }
+        } while (page.size() == size);
+        return gold;
+    }
+
+    private List<Float> findGold(PageRequest pageRequest) {
+        return resourceGotRepository.findAllBy(pageRequest).map(ResourceGot::getGold).collectList().block();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", EntityManager.SELECT_CACHE_NAME).tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Tests for the {@link KeysetCursor} class.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void encodedCursorsAreDecoded() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.first("gold", Sort.Direction.DESC).next(42L, 1.5F).encode());
+
+        assertThat(cursor.getProperty()).isEqualTo("gold");
+        assertThat(cursor.getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(cursor.getLastId()).isEqualTo(42L);
+        assertThat(cursor.getLastValue()).isEqualTo("1.5");
+        assertThat(cursor.isFirst()).isFalse();
+    }
+
+    @Test
+    void nullLastValuesAreDistinguishedFromEmptyValues() {
+        KeysetCursor nullValue = KeysetCursor.decode(KeysetCursor.first("login", Sort.Direction.ASC).next(1L, null).encode());
+        KeysetCursor emptyValue = KeysetCursor.decode(KeysetCursor.first("login", Sort.Direction.ASC).next(1L, "").encode());
+
+        assertThat(nullValue.getLastValue()).isNull();
+        assertThat(emptyValue.getLastValue()).isEmpty();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("QVNDLGdvbGQ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pagesAreSortedByPropertyThenId() {
+        Pageable pageable = KeysetCursor.first("gold", Sort.Direction.DESC).toPageable(20);
+
+        assertThat(pageable.getOffset()).isZero();
+        assertThat(pageable.getPageSize()).isEqualTo(20);
+        assertThat(pageable.getSort())
+            .containsExactly(new Sort.Order(Sort.Direction.DESC, "gold", Sort.NullHandling.NULLS_LAST), Sort.Order.asc("id"));
+        assertThat(KeysetCursor.first("id", Sort.Direction.DESC).toPageable(20).getSort()).containsExactly(Sort.Order.desc("id"));
+    }
+}
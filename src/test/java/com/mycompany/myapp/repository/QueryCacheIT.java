@@ -0,0 +1,103 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.domain.User;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Integration tests for the {@link QueryCache} of the repositories.
+ */
+@IntegrationTest
+class QueryCacheIT {
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    private User user;
+
+    private ResourceGot resourceGot;
+
+    @BeforeEach
+    public void init() {
+        em.deleteAll(ResourceGot.class).block();
+        user = new User();
+        user.setLogin("query-cache-" + RandomStringUtils.randomAlphabetic(5).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setEmail(user.getLogin() + "@localhost");
+        user.setCreatedBy(Constants.SYSTEM);
+        user = userRepository.save(user).block();
+        resourceGot = resourceGotRepository.save(new ResourceGot().gold(10F).registerUser(user)).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+        userRepository.delete(user).block();
+    }
+
+    @Test
+    void listsAreCachedUntilTheirTablesAreWritten() {
+        assertThat(findAll()).extracting(ResourceGot::getGold).containsExactly(10F);
+        // written behind the back of the repositories
+        db.sql("UPDATE resource_got SET gold = 20").then().block();
+        assertThat(findAll()).extracting(ResourceGot::getGold).containsExactly(10F);
+
+        resourceGotRepository.adjust(resourceGot.getId(), 5F, null, null, false).block();
+
+        assertThat(findAll()).extracting(ResourceGot::getGold).containsExactly(25F);
+    }
+
+    @Test
+    void listsAreInvalidatedByTheWritesToTheJoinedTables() {
+        assertThat(findAll()).extracting(resourceGot -> resourceGot.getRegisterUser().getFirstName()).containsExactly((String) null);
+
+        user.setFirstName("Renamed");
+        userRepository.save(user).block();
+
+        assertThat(findAll()).extracting(resourceGot -> resourceGot.getRegisterUser().getFirstName()).containsExactly("Renamed");
+    }
+
+    @Test
+    void listsReadBeforeTheCommitOfAWriteAreNotCached() {
+        findAll();
+
+        user.setFirstName("Committed");
+        Mono<User> write = userRepository
+            .save(user)
+            // a list read on another connection, before the commit
+            .flatMap(saved -> resourceGotRepository.findAll().contextWrite(context -> Context.empty()).then(Mono.just(saved)));
+        TransactionalOperator.create(transactionManager).transactional(write).block();
+
+        assertThat(findAll()).extracting(resourceGot -> resourceGot.getRegisterUser().getFirstName()).containsExactly("Committed");
+    }
+
+    private List<ResourceGot> findAll() {
+        return resourceGotRepository.findAll().collectList().block();
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ResourceGot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+/**
+ * Tests for the {@link QueryCache} class.
+ */
+class QueryCacheTest {
+
+    private static final List<String> TABLES = List.of("resource_got", "jhi_user");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private QueryCache queryCache;
+
+    @BeforeEach
+    void init() {
+        ApplicationProperties.Database.QueryCache properties = new ApplicationProperties.Database.QueryCache();
+        properties.setMaxResultRows(2);
+        queryCache = new QueryCache(properties, meterRegistry);
+    }
+
+    @Test
+    void resultsAreCachedByStatementAndBinds() {
+        assertThat(get(List.of(1L), rows(10F)).blockLast().getGold()).isEqualTo(10F);
+        ResourceGot cached = get(List.of(1L), rows(20F)).blockFirst();
+        get(List.of(2L), rows(30F)).blockLast();
+
+        assertThat(cached.getGold()).isEqualTo(10F);
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void cachedRowsAreCopies() {
+        get(List.of(), rows(10F)).blockLast().setGold(1000F);
+
+        assertThat(get(List.of(), rows(20F)).blockFirst().getGold()).isEqualTo(10F);
+    }
+
+    @Test
+    void writesInvalidateTheResultsReadingTheirTable() {
+        get(List.of(), rows(10F)).blockLast();
+        queryCache.invalidate("resource");
+        assertThat(get(List.of(), rows(20F)).blockFirst().getGold()).isEqualTo(10F);
+
+        queryCache.invalidate("jhi_user");
+
+        assertThat(get(List.of(), rows(30F)).blockFirst().getGold()).isEqualTo(30F);
+        assertThat(meterRegistry.get(QueryCache.STALE_METER_NAME).tag("on", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void resultsReadWhileTheirTableIsWrittenAreNotCached() {
+        get(List.of(), () -> rows(10F).get().doOnComplete(() -> queryCache.invalidate("resource_got"))).blockLast();
+
+        assertThat(get(List.of(), rows(20F)).blockFirst().getGold()).isEqualTo(20F);
+        assertThat(meterRegistry.get(QueryCache.STALE_METER_NAME).tag("on", "load").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void largeResultsAreStreamedWithoutBeingCached() {
+        assertThat(get(List.of(), rows(1F, 2F, 3F)).collectList().block()).hasSize(3);
+        assertThat(get(List.of(), rows(1F, 2F, 3F)).collectList().block()).hasSize(3);
+
+        assertThat(executions).hasValue(2);
+        assertThat(meterRegistry.get(QueryCache.REFUSED_METER_NAME).counter().count()).isEqualTo(2);
+    }
+
+    private Flux<ResourceGot> get(List<?> binds, Supplier<Flux<ResourceGot>> query) {
+        return queryCache.get("SELECT * FROM resource_got", binds, TABLES, query);
+    }
+
+    private Supplier<Flux<ResourceGot>> rows(Float... golds) {
+        return () -> {
+            executions.incrementAndGet();
+            return Flux.fromArray(golds).map(gold -> new ResourceGot().gold(gold));
+        };
+    }
+}
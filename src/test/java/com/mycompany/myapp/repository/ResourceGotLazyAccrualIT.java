@@ -0,0 +1,132 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.service.ProductionTickService;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the lazy accrual of the {@link ResourceGot} production.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.production.lazy-accrual=true")
+class ResourceGotLazyAccrualIT {
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private ProductionTickService productionTickService;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private EntityManager em;
+
+    private ResourceGot resourceGot;
+
+    @BeforeEach
+    public void init() {
+        em.deleteAll(ResourceGot.class).block();
+        resourceGot = resourceGotRepository.save(new ResourceGot().gold(10F).goldRate(100F).wood(3F)).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+    }
+
+    @Test
+    void resourcesAreAccruedOnRead() {
+        assertThat(resourceGot.getLastSettledAt()).isNotNull();
+        settledSecondsAgo(10);
+
+        ResourceGot read = resourceGotRepository.findById(resourceGot.getId()).block();
+
+        assertThat(read.getGold()).isCloseTo(1010F, within(50F));
+        assertThat(read.getWood()).isEqualTo(3F);
+        assertThat(read.getFer()).isNull();
+        assertThat(stored("gold")).isEqualTo(10F);
+    }
+
+    @Test
+    void queriedResourcesAreAccruedOnRead() {
+        settledSecondsAgo(10);
+
+        assertThat(resourceGotRepository.findAllWhereRegisterUserIsNull().blockFirst().getGold()).isCloseTo(1010F, within(50F));
+        assertThat(resourceGotRepository.findAllByIdBetween(resourceGot.getId(), resourceGot.getId()).blockFirst().getGold())
+            .isCloseTo(1010F, within(50F));
+    }
+
+    @Test
+    void adjustmentsSettleTheAccruedProduction() {
+        settledSecondsAgo(10);
+
+        ResourceGot adjusted = resourceGotRepository.adjust(resourceGot.getId(), 5F, null, null, false).block();
+
+        assertThat(adjusted.getGold()).isCloseTo(1015F, within(50F));
+        assertThat(stored("gold")).isCloseTo(1015F, within(50F));
+        assertThat(adjusted.getLastSettledAt()).isAfter(Instant.now().minusSeconds(5));
+        assertThat(adjusted.getWood()).isEqualTo(3F);
+    }
+
+    @Test
+    void batchedAdjustmentsSettleTheAccruedProduction() {
+        settledSecondsAgo(10);
+
+        resourceGotRepository.adjustAll(List.of(new ResourceGot().id(resourceGot.getId()).wood(1F))).block();
+
+        assertThat(stored("gold")).isCloseTo(1010F, within(50F));
+        assertThat(stored("wood")).isEqualTo(4F);
+    }
+
+    @Test
+    void patchesSettleBeforeChangingTheRate() {
+        settledSecondsAgo(10);
+
+        resourceGotRepository.patchIfExists(new ResourceGot().id(resourceGot.getId()).goldRate(0F)).block();
+        settledSecondsAgo(10);
+
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isCloseTo(1010F, within(50F));
+    }
+
+    @Test
+    void lazyRowsAreSkippedByTheTicks() {
+        productionTickService.produce(10).block();
+
+        assertThat(stored("gold")).isEqualTo(10F);
+    }
+
+    private void settledSecondsAgo(long seconds) {
+        LocalDateTime settledAt = LocalDateTime.ofInstant(Instant.now().minus(Duration.ofSeconds(seconds)), ZoneOffset.UTC);
+        db
+            .sql("UPDATE resource_got SET last_settled_at = :settledAt WHERE id = :id")
+            .bind("settledAt", settledAt)
+            .bind("id", resourceGot.getId())
+            .then()
+            .block();
+    }
+
+    private Float stored(String resource) {
+        return db
+            .sql("SELECT " + resource + " FROM resource_got WHERE id = :id")
+            .bind("id", resourceGot.getId())
+            .map(row -> row.get(0, Float.class))
+            .one()
+            .block();
+    }
+}
@@ -0,0 +1,146 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.UserService;
+import com.mycompany.myapp.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Integration tests for the {@link UserCache}.
+ */
+@IntegrationTest
+class UserCacheIT {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    public void init() {
+        user = new User();
+        user.setLogin("user-cache-" + RandomStringUtils.randomAlphabetic(5).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setEmail(user.getLogin() + "@localhost");
+        user.setActivated(true);
+        user.setCreatedBy(Constants.SYSTEM);
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        user.setAuthorities(Set.of(authority));
+        user = userService.saveUser(user).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.findOneByLogin(user.getLogin()).flatMap(userRepository::delete).block();
+    }
+
+    @Test
+    void usersAreReadFromTheCache() {
+        double hitsBefore = hits();
+
+        User first = userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).block();
+        // the cached user is a copy, not modified by the callers
+        first.setFirstName("Modified");
+        first.getAuthorities().clear();
+        storeFirstName("Stored");
+        User second = userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).block();
+
+        assertThat(second.getFirstName()).isNull();
+        assertThat(second.getAuthorities()).extracting(Authority::getName).containsExactly(AuthoritiesConstants.USER);
+        assertThat(hits()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void unknownLoginsAreCached() {
+        String login = "user-cache-unknown-" + RandomStringUtils.randomAlphabetic(5).toLowerCase();
+        double hitsBefore = hits();
+
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(login).blockOptional()).isEmpty();
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(login).blockOptional()).isEmpty();
+
+        assertThat(hits()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void writesEvictTheCachedUsers() {
+        userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).block();
+
+        user.setFirstName("Saved");
+        // the authorities are already stored
+        user.setAuthorities(new HashSet<>());
+        userService.saveUser(user).block();
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).block().getFirstName()).isEqualTo("Saved");
+
+        String previousLogin = user.getLogin();
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setLogin(previousLogin + "-renamed");
+        userService.updateUser(userDTO).block();
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(previousLogin).blockOptional()).isEmpty();
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(userDTO.getLogin()).blockOptional()).isPresent();
+
+        userService.deleteUser(userDTO.getLogin()).block();
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(userDTO.getLogin()).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void usersReadBeforeTheCommitOfAWriteAreNotCached() {
+        userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).block();
+
+        user.setFirstName("Committed");
+        user.setAuthorities(new HashSet<>());
+        Mono<User> write = userService
+            .saveUser(user)
+            // a login reading the user on another connection, before the commit
+            .flatMap(saved ->
+                userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).contextWrite(context -> Context.empty()).thenReturn(saved)
+            );
+        TransactionalOperator.create(transactionManager).transactional(write).block();
+
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).block().getFirstName()).isEqualTo("Committed");
+    }
+
+    private void storeFirstName(String firstName) {
+        // written behind the back of the user service
+        db
+            .sql("UPDATE jhi_user SET first_name = :firstName WHERE id = :id")
+            .bind("firstName", firstName)
+            .bind("id", user.getId())
+            .then()
+            .block();
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", UserCache.CACHE_NAME).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,107 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for the {@link PasswordHashing} class.
+ */
+class PasswordHashingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashing passwordHashing;
+
+    @BeforeEach
+    void init() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getPasswordHashing().setThreads(1);
+        applicationProperties.getSecurity().getPasswordHashing().setQueueCapacity(1);
+        passwordHashing = new PasswordHashing(applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void destroy() {
+        release.countDown();
+        passwordHashing.destroy();
+    }
+
+    @Test
+    void hashesAreRejectedOnceTheQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        // occupies the only thread, then the only place in the queue
+        hash(() -> {
+            started.countDown();
+            release.await();
+            return "running";
+        })
+            .subscribe();
+        started.await();
+        Mono<String> queued = hash(() -> "queued").cache();
+        queued.subscribe();
+
+        assertThatThrownBy(() -> hash(() -> "rejected").block(Duration.ofSeconds(5)))
+            .isInstanceOf(RejectedExecutionException.class)
+            .satisfies(e -> assertThat(ExceptionUtils.indexOfType(e, PasswordHashingBusyException.class)).isNotNegative());
+        assertThat(meterRegistry.get("executor.queued").tag("name", PasswordHashing.EXECUTOR_NAME).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get(PasswordHashing.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+
+        release.countDown();
+
+        assertThat(queued.block(Duration.ofSeconds(5))).isEqualTo("queued");
+    }
+
+    @Test
+    void hashesAreTimed() {
+        PasswordEncoder encoder = passwordHashing.timed(
+            new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    return "{hashed}" + rawPassword;
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return encodedPassword.equals(encode(rawPassword));
+                }
+            }
+        );
+
+        assertThat(encoder.matches("password", encoder.encode("password"))).isTrue();
+
+        assertThat(meterRegistry.get(PasswordHashing.HASH_METER_NAME).tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PasswordHashing.HASH_METER_NAME).tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    private interface Hash {
+        String run() throws InterruptedException;
+    }
+
+    private Mono<String> hash(Hash hash) {
+        return Mono
+            .just("password")
+            .publishOn(passwordHashing.getScheduler())
+            .map(password -> {
+                try {
+                    return hash.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return "interrupted";
+                }
+            });
+    }
+}
@@ -0,0 +1,185 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboxMail;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.OutboxMailRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Integration tests for {@link MailOutboxService}, sending to a GreenMail SMTP server.
+ */
+@IntegrationTest
+class MailOutboxServiceIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String login;
+
+    @BeforeEach
+    public void init() {
+        // the mails queued by the other tests
+        outboxMailRepository.deleteAll().block();
+        login = "mail-outbox-" + RandomStringUtils.randomAlphabetic(5).toLowerCase();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.findOneByLogin(login).flatMap(userRepository::delete).block();
+    }
+
+    @Test
+    void registrationMailsAreSent() throws Exception {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(login);
+        userDTO.setEmail(login + "@localhost");
+        userDTO.setLangKey("en");
+        double sentBefore = messages("sent");
+
+        userService.registerUser(userDTO, "password").block();
+        assertThat(outboxMailRepository.countPending().block()).isEqualTo(1);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        assertThat(mailOutboxService.dispatch().block()).isEqualTo(1);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getAllRecipients()[0]).hasToString(login + "@localhost");
+        assertThat(received[0].getSubject()).isEqualTo("myapp account activation is required");
+        assertThat(outboxMailRepository.count().block()).isZero();
+        assertThat(messages("sent")).isEqualTo(sentBefore + 1);
+        assertThat(meterRegistry.get(MailOutboxService.LAG_METER_NAME).timer().count()).isPositive();
+        assertThat(meterRegistry.get(MailOutboxService.PENDING_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void mailsAreQueuedInTheTransactionOfTheWrite() {
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@localhost");
+        user.setLangKey("en");
+
+        Mono<Void> rolledBack = mailService.queueActivationEmail(user).then(Mono.error(new IllegalStateException("Rolled back")));
+        TransactionalOperator
+            .create(transactionManager)
+            .transactional(rolledBack)
+            .onErrorResume(IllegalStateException.class, e -> Mono.empty())
+            .block();
+
+        assertThat(outboxMailRepository.count().block()).isZero();
+    }
+
+    @Test
+    void mailsAreSentInConcurrentBatches() {
+        ApplicationProperties.MailOutbox properties = applicationProperties.getMailOutbox();
+        int batchSize = properties.getBatchSize();
+        properties.setBatchSize(5);
+        try {
+            assertThatMailsAreSentInConcurrentBatches(properties.getBatchSize() * properties.getParallelism() + 1);
+        } finally {
+            properties.setBatchSize(batchSize);
+        }
+    }
+
+    private void assertThatMailsAreSentInConcurrentBatches(int count) {
+        Flux.range(0, count).map(i -> mail("batch-" + i + "@localhost")).flatMap(outboxMailRepository::save).blockLast();
+        long batchesBefore = meterRegistry.get(MailOutboxService.BATCHES_METER_NAME).timer().count();
+
+        assertThat(mailOutboxService.dispatch().block()).isEqualTo(count);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(count);
+        assertThat(outboxMailRepository.count().block()).isZero();
+        assertThat(meterRegistry.get(MailOutboxService.BATCHES_METER_NAME).timer().count()).isGreaterThanOrEqualTo(batchesBefore + 3);
+    }
+
+    @Test
+    void unsentMailsAreRetriedWithBackoff() {
+        OutboxMail mail = outboxMailRepository.save(mail(login + "@localhost")).block();
+        double retriedBefore = messages("retried");
+        double abandonedBefore = messages("abandoned");
+        greenMail.stop();
+
+        assertThat(mailOutboxService.dispatch().block()).isZero();
+
+        OutboxMail retried = outboxMailRepository.findById(mail.getId()).block();
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLeaseId()).isNull();
+        assertThat(retried.getNextAttemptDate())
+            .isCloseTo(Instant.now().plusMillis(applicationProperties.getMailOutbox().getRetryDelay()), within(10, ChronoUnit.SECONDS));
+        assertThat(messages("retried")).isEqualTo(retriedBefore + 1);
+        // not due yet
+        assertThat(mailOutboxService.dispatch().block()).isZero();
+        assertThat(outboxMailRepository.findById(mail.getId()).block().getAttempts()).isEqualTo(1);
+
+        // the last attempt fails
+        int maxAttempts = applicationProperties.getMailOutbox().getMaxAttempts();
+        outboxMailRepository.reschedule(mail.getId(), maxAttempts - 1, Instant.now()).block();
+        mailOutboxService.dispatch().block();
+
+        OutboxMail abandoned = outboxMailRepository.findById(mail.getId()).block();
+        assertThat(abandoned.getAttempts()).isEqualTo(maxAttempts);
+        assertThat(abandoned.getNextAttemptDate()).isNull();
+        assertThat(messages("abandoned")).isEqualTo(abandonedBefore + 1);
+        assertThat(outboxMailRepository.countPending().block()).isZero();
+    }
+
+    private static OutboxMail mail(String recipient) {
+        OutboxMail mail = new OutboxMail();
+        mail.setRecipient(recipient);
+        mail.setSubject("subject");
+        mail.setContent("content");
+        mail.setCreatedDate(Instant.now());
+        mail.setNextAttemptDate(Instant.now());
+        return mail;
+    }
+
+    private double messages(String result) {
+        return meterRegistry.get(MailOutboxService.MESSAGES_METER_NAME).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.User;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailTemplateCache}.
+ */
+@IntegrationTest
+class MailTemplateCacheIT {
+
+    private static final String[] TEMPLATES = { "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail" };
+
+    private static final String[] LANGUAGES = { "en", "fr" };
+
+    @Autowired
+    private MailTemplateCache mailTemplateCache;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Test
+    void templatesAreRenderedAsByThymeleaf() {
+        User user = new User();
+        // printed escaped
+        user.setLogin("o'neil<&>\"");
+        user.setEmail("o'neil@localhost");
+        user.setActivationKey("activation&key");
+        user.setResetKey("reset<key>");
+        for (String templateName : TEMPLATES) {
+            for (String language : LANGUAGES) {
+                Locale locale = Locale.forLanguageTag(language);
+                Context context = new Context(locale);
+                context.setVariable("user", user);
+                context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+
+                MailTemplateCache.MailTemplate template = mailTemplateCache.get(templateName, "email.activation.title", locale);
+
+                assertThat(template.render(user)).isEqualTo(templateEngine.process(templateName, context));
+                assertThat(template.getSubject()).isEqualTo(messageSource.getMessage("email.activation.title", null, locale));
+            }
+        }
+    }
+
+    @Test
+    void templatesAreRenderedOncePerLocale() {
+        Locale locale = Locale.forLanguageTag("fr");
+
+        MailTemplateCache.MailTemplate template = mailTemplateCache.get("mail/activationEmail", "email.activation.title", locale);
+
+        assertThat(mailTemplateCache.get("mail/activationEmail", "email.activation.title", locale)).isSameAs(template);
+        assertThat(mailTemplateCache.get("mail/activationEmail", "email.activation.title", Locale.ENGLISH)).isNotSameAs(template);
+    }
+}
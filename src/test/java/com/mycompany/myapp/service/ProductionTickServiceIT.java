@@ -0,0 +1,150 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.ProductionTick;
+import com.mycompany.myapp.domain.ResourceData;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ProductionTickRepository;
+import com.mycompany.myapp.repository.ResourceDataRepository;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link ProductionTickService}.
+ */
+@IntegrationTest
+class ProductionTickServiceIT {
+
+    @Autowired
+    private ProductionTickService productionTickService;
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private ResourceDataRepository resourceDataRepository;
+
+    @Autowired
+    private ProductionTickRepository productionTickRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void init() {
+        em.deleteAll(ResourceGot.class).block();
+        em.deleteAll(ResourceData.class).block();
+        // releases the lease of the previous ticks
+        ProductionTick tick = productionTickRepository.findById(ProductionTickService.TICK_ID).block();
+        tick.setLeaseId(null);
+        tick.setLeaseEnd(null);
+        productionTickRepository.save(tick).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+        em.deleteAll(ResourceData.class).block();
+    }
+
+    @Test
+    void productionIsAppliedToEveryChunk() {
+        // more rows than the default chunk size, so that the tick runs several statements
+        List<ResourceGot> resourceGots = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            resourceGots.add(new ResourceGot().gold(1F).goldRate(2F).ferRate(i % 2 == 0 ? null : 0.5F));
+        }
+        List<ResourceGot> inserted = em.insertAll(resourceGots).collectList().block();
+        ResourceGot idle = resourceGotRepository.save(new ResourceGot().gold(7F)).block();
+        ResourceData resourceData = resourceDataRepository.save(new ResourceData().wood(3F).woodRate(1F)).block();
+        double rowsBefore = meterRegistry.get(ProductionTickService.ROWS_METER_NAME).tag("table", "resource_got").counter().count();
+
+        Long rows = productionTickService.produce(10).block();
+
+        assertThat(rows).isEqualTo(2501);
+        ResourceGot even = resourceGotRepository.findById(inserted.get(0).getId()).block();
+        assertThat(even.getGold()).isEqualTo(21F);
+        assertThat(even.getFer()).isNull();
+        ResourceGot odd = resourceGotRepository.findById(inserted.get(2499).getId()).block();
+        assertThat(odd.getGold()).isEqualTo(21F);
+        assertThat(odd.getFer()).isEqualTo(5F);
+        assertThat(resourceGotRepository.findById(idle.getId()).block().getGold()).isEqualTo(7F);
+        assertThat(resourceDataRepository.findById(resourceData.getId()).block().getWood()).isEqualTo(13F);
+        assertThat(meterRegistry.get(ProductionTickService.ROWS_METER_NAME).tag("table", "resource_got").counter().count() - rowsBefore)
+            .isEqualTo(2500);
+    }
+
+    @Test
+    void tickAppliesTheElapsedProduction() {
+        ResourceGot resourceGot = resourceGotRepository.save(new ResourceGot().goldRate(1000F)).block();
+        long ticksBefore = meterRegistry.get(ProductionTickService.TICK_METER_NAME).timer().count();
+
+        assertThat(productionTickService.tick().block()).isEqualTo(1);
+
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isPositive();
+        assertThat(meterRegistry.get(ProductionTickService.TICK_METER_NAME).timer().count()).isEqualTo(ticksBefore + 1);
+        assertThat(meterRegistry.get(ProductionTickService.LAG_METER_NAME).gauge().value()).isGreaterThanOrEqualTo(0);
+        assertThat(meterRegistry.get(ProductionTickService.THROUGHPUT_METER_NAME).gauge().value()).isPositive();
+    }
+
+    @Test
+    void tickAppliesTheProductionSinceThePersistedDate() {
+        ResourceGot resourceGot = resourceGotRepository.save(new ResourceGot().gold(0F).goldRate(1F)).block();
+        ProductionTick tick = productionTickRepository.findById(ProductionTickService.TICK_ID).block();
+        tick.setProducedUntil(Instant.now().minusSeconds(100));
+        productionTickRepository.save(tick).block();
+
+        productionTickService.tick().block();
+
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isBetween(100F, 110F);
+        assertThat(productionTickRepository.findById(ProductionTickService.TICK_ID).block().getProducedUntil())
+            .isAfter(Instant.now().minusSeconds(10));
+    }
+
+    @Test
+    void tickIsSkippedWhileTheLeaseIsHeld() {
+        ResourceGot resourceGot = resourceGotRepository.save(new ResourceGot().gold(0F).goldRate(1000F)).block();
+        productionTickService.tick().block();
+        Float gold = resourceGotRepository.findById(resourceGot.getId()).block().getGold();
+
+        // as another instance would, while the lease of the first tick runs
+        assertThat(productionTickService.tick().block()).isZero();
+
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(gold);
+    }
+
+    @Test
+    void skippedTickRefreshesTheProductionOfAnotherInstance() {
+        ResourceGot resourceGot = resourceGotRepository.save(new ResourceGot().gold(0F).goldRate(1F)).block();
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isZero();
+        // as another instance would, holding the lease once it has applied its production
+        resourceGotRepository.produce(resourceGot.getId(), resourceGot.getId(), 100, Instant.now()).block();
+        ProductionTick tick = productionTickRepository.findById(ProductionTickService.TICK_ID).block();
+        tick.setLeaseId("another-instance");
+        tick.setLeaseEnd(Instant.now().plusSeconds(60));
+        tick.setProducedUntil(Instant.now().plusSeconds(1));
+        productionTickRepository.save(tick).block();
+
+        assertThat(productionTickService.tick().block()).isZero();
+
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(100F);
+    }
+
+    @Test
+    void emptyTablesAreSkipped() {
+        assertThat(productionTickService.produce(10).block()).isZero();
+    }
+}
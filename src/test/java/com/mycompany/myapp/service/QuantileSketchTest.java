@@ -0,0 +1,89 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link QuantileSketch}.
+ */
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = { 0, 0.1, 0.5, 0.9, 0.99, 1 };
+
+    @Test
+    void emptySketchHasNoQuantile() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertThat(sketch.getCount()).isZero();
+        assertThat(sketch.quantile(0.5)).isNaN();
+    }
+
+    @Test
+    void quantilesAreWithinTheRelativeAccuracy() {
+        Random random = new Random(42);
+        double[] values = new double[100000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 3);
+            sketch.add(values[i]);
+        }
+
+        assertQuantiles(sketch, values);
+        assertThat(sketch.getCount()).isEqualTo(values.length);
+        assertThat(sketch.getSum()).isCloseTo(Arrays.stream(values).sum(), within(1e-6 * sketch.getSum()));
+        assertThat(sketch.getMin()).isEqualTo(Arrays.stream(values).min().getAsDouble());
+        assertThat(sketch.getMax()).isEqualTo(Arrays.stream(values).max().getAsDouble());
+    }
+
+    @Test
+    void negativeAndZeroValuesAreCounted() {
+        double[] values = new double[3001];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i - 1500;
+            sketch.add(values[i]);
+        }
+
+        assertQuantiles(sketch, values);
+        assertThat(sketch.quantile(0.5)).isZero();
+    }
+
+    @Test
+    void mergedSketchesMatchTheSketchOfTheWholeStream() {
+        Random random = new Random(7);
+        double[] values = new double[50000];
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch[] parts = { new QuantileSketch(), new QuantileSketch(), new QuantileSketch() };
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1000;
+            whole.add(values[i]);
+            parts[i % parts.length].add(values[i]);
+        }
+        QuantileSketch merged = new QuantileSketch();
+        for (QuantileSketch part : parts) {
+            merged.merge(part);
+        }
+        merged.merge(new QuantileSketch());
+
+        assertQuantiles(merged, values);
+        assertThat(merged.getCount()).isEqualTo(whole.getCount());
+        for (double quantile : QUANTILES) {
+            assertThat(merged.quantile(quantile)).isEqualTo(whole.quantile(quantile));
+        }
+    }
+
+    private static void assertQuantiles(QuantileSketch sketch, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double quantile : QUANTILES) {
+            double expected = sorted[(int) Math.floor(quantile * (sorted.length - 1))];
+            assertThat(sketch.quantile(quantile))
+                .as("quantile %s", quantile)
+                .isCloseTo(expected, within(Math.abs(expected) * QuantileSketch.RELATIVE_ACCURACY + 1e-9));
+        }
+    }
+}
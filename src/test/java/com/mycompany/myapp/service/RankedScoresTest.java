@@ -0,0 +1,83 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RankedScores}.
+ */
+class RankedScoresTest {
+
+    private static final Comparator<float[]> RANK_ORDER = Comparator
+        .<float[]>comparingDouble(pair -> -pair[0])
+        .thenComparingDouble(pair -> pair[1]);
+
+    @Test
+    void pairsAreRankedByDescendingScoreThenAscendingId() {
+        RankedScores ranked = new RankedScores();
+        ranked.add(10F, 3);
+        ranked.add(30F, 2);
+        ranked.add(10F, 1);
+        ranked.add(-5F, 4);
+
+        assertThat(top(ranked, 10)).containsExactly(2L, 1L, 3L, 4L);
+        assertThat(top(ranked, 2)).containsExactly(2L, 1L);
+        assertThat(ranked.rank(30F, 2)).isZero();
+        assertThat(ranked.rank(10F, 3)).isEqualTo(2);
+        assertThat(ranked.rank(20F, 99)).isEqualTo(1);
+        assertThat(ranked.rank(-10F, 0)).isEqualTo(4);
+    }
+
+    @Test
+    void removeOnlyRemovesTheGivenPair() {
+        RankedScores ranked = new RankedScores();
+        ranked.add(10F, 1);
+        ranked.add(10F, 2);
+
+        assertThat(ranked.remove(10F, 3)).isFalse();
+        assertThat(ranked.remove(11F, 1)).isFalse();
+        assertThat(ranked.remove(10F, 1)).isTrue();
+
+        assertThat(ranked.size()).isEqualTo(1);
+        assertThat(top(ranked, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void randomOperationsMatchASortedList() {
+        Random random = new Random(42);
+        RankedScores ranked = new RankedScores(4);
+        List<float[]> expected = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                float[] pair = { random.nextInt(100), i };
+                ranked.add(pair[0], i);
+                expected.add(pair);
+            } else {
+                float[] pair = expected.remove(random.nextInt(expected.size()));
+                assertThat(ranked.remove(pair[0], (long) pair[1])).isTrue();
+            }
+        }
+        expected.sort(RANK_ORDER);
+
+        assertThat(ranked.size()).isEqualTo(expected.size());
+        List<Long> ids = top(ranked, Integer.MAX_VALUE);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(ids.get(i)).isEqualTo((long) expected.get(i)[1]);
+        }
+        for (int i = 0; i < expected.size(); i += 97) {
+            float[] pair = expected.get(i);
+            assertThat(ranked.rank(pair[0], (long) pair[1])).isEqualTo(i);
+        }
+    }
+
+    private static List<Long> top(RankedScores ranked, int n) {
+        List<Long> ids = new ArrayList<>();
+        ranked.top(n, (score, id) -> ids.add(id));
+        return ids;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ResourceColumns}.
+ */
+class ResourceColumnsTest {
+
+    private static final float[] UNBOUNDED_LOWER = { Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY };
+    private static final float[] UNBOUNDED_UPPER = { Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY };
+
+    @Test
+    void rowsAreFoundByUserAfterRemovals() {
+        ResourceColumns columns = new ResourceColumns(2);
+        columns.put(1, 10, 1F, 2F, 3F);
+        columns.put(2, 20, 4F, 5F, 6F);
+        columns.put(3, 30, 7F, 8F, 9F);
+
+        columns.remove(1);
+        columns.remove(4);
+
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(columns.rowOfUser(10)).isEqualTo(-1);
+        int row = columns.rowOfUser(30);
+        assertThat(columns.id(row)).isEqualTo(3);
+        assertThat(columns.resource(ResourceColumns.WOOD, row)).isEqualTo(8F);
+    }
+
+    @Test
+    void putMovesTheUserOfARow() {
+        ResourceColumns columns = new ResourceColumns();
+        columns.put(1, 10, 1F, 1F, 1F);
+        columns.put(1, 11, 2F, 1F, 1F);
+        columns.adjust(1, 3F, 0F, -1F);
+
+        assertThat(columns.size()).isEqualTo(1);
+        assertThat(columns.rowOfUser(10)).isEqualTo(-1);
+        int row = columns.rowOfUser(11);
+        assertThat(columns.resource(ResourceColumns.GOLD, row)).isEqualTo(5F);
+        assertThat(columns.resource(ResourceColumns.FER, row)).isZero();
+    }
+
+    @Test
+    void scansMatchABruteForceFilter() {
+        Random random = new Random(42);
+        ResourceColumns columns = new ResourceColumns(16);
+        Map<Long, float[]> expected = new HashMap<>();
+        for (long id = 0; id < 20000; id++) {
+            float[] values = { random.nextInt(1000), random.nextInt(1000), random.nextInt(1000) };
+            columns.put(id, id + 100000, values[0], values[1], values[2]);
+            expected.put(id, values);
+            if (random.nextInt(4) == 0) {
+                long removed = random.nextInt((int) id + 1);
+                columns.remove(removed);
+                expected.remove(removed);
+            }
+        }
+        float[] lower = { 100F, Float.NEGATIVE_INFINITY, 250F };
+        float[] upper = { Float.POSITIVE_INFINITY, 500F, 900F };
+        Set<Long> matching = new HashSet<>();
+        double goldSum = 0;
+        for (Map.Entry<Long, float[]> entry : expected.entrySet()) {
+            float[] values = entry.getValue();
+            if (values[0] > 100 && values[1] < 500 && values[2] > 250 && values[2] < 900) {
+                matching.add(entry.getKey());
+                goldSum += values[0];
+            }
+        }
+
+        double[] sums = new double[3];
+        assertThat(columns.aggregate(lower, upper, sums)).isEqualTo(matching.size());
+        assertThat(sums[ResourceColumns.GOLD]).isCloseTo(goldSum, within(1e-3));
+        int[] selected = new int[50];
+        assertThat(columns.select(lower, upper, selected)).isEqualTo(selected.length);
+        for (int row : selected) {
+            assertThat(matching).contains(columns.id(row));
+            assertThat(columns.userId(row)).isEqualTo(columns.id(row) + 100000);
+        }
+        assertThat(columns.aggregate(UNBOUNDED_LOWER, UNBOUNDED_UPPER, new double[3])).isEqualTo(expected.size());
+        assertThat(columns.size()).isEqualTo(expected.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.domain.ResourceGot;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+/**
+ * Unit tests for {@link ResourceGotMirror}.
+ */
+class ResourceGotMirrorTest {
+
+    /** The committed rows, as the database would hold them. */
+    private final Map<Long, Float> database = new HashMap<>();
+
+    private final ResourceGotMirror<Map<Long, Float>> mirror = new ResourceGotMirror<>(
+        HashMap::new,
+        (state, row) -> state.put(row.getId(), row.getGold()),
+        Map::remove,
+        this::read
+    );
+
+    @Test
+    void adjustmentsDuringAReloadAreCountedOnce() {
+        database.put(1L, 10F);
+        database.put(2L, 20F);
+        mirror.reload(Flux.just(row(1L), row(2L))).block();
+
+        // the first row is adjusted before the scan reads it, the second one after
+        Flux<ResourceGot> scan = Flux
+            .just(1L, 2L)
+            .doOnNext(id -> {
+                if (id == 1L) {
+                    adjust(1L, 5F);
+                }
+            })
+            .map(this::row)
+            .doOnComplete(() -> adjust(2L, 7F));
+        mirror.reload(scan).block();
+
+        assertThat(gold(1L)).isEqualTo(15F);
+        assertThat(gold(2L)).isEqualTo(27F);
+    }
+
+    @Test
+    void putsAndRemovesDuringAReloadAreReplayed() {
+        database.put(1L, 10F);
+        database.put(2L, 20F);
+
+        Flux<ResourceGot> scan = Flux
+            .just(row(1L), row(2L))
+            .doOnComplete(() -> {
+                database.put(1L, 11F);
+                mirror.put(row(1L));
+                database.remove(2L);
+                mirror.remove(2L);
+            });
+        mirror.reload(scan).block();
+
+        assertThat(gold(1L)).isEqualTo(11F);
+        assertThat(mirror.read(state -> state.containsKey(2L))).isFalse();
+    }
+
+    private void adjust(Long id, float delta) {
+        database.merge(id, delta, Float::sum);
+        mirror.adjust(id, state -> state.computeIfPresent(id, (key, gold) -> gold + delta));
+    }
+
+    private Float gold(Long id) {
+        return mirror.read(state -> state.get(id));
+    }
+
+    private ResourceGot row(Long id) {
+        return new ResourceGot().id(id).gold(database.get(id));
+    }
+
+    private Flux<ResourceGot> read(List<Long> ids) {
+        return Flux.fromIterable(ids).filter(database::containsKey).map(this::row);
+    }
+}
@@ -0,0 +1,138 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.LeaderboardService.RankedResource;
+import com.mycompany.myapp.service.dto.PlayerResourcesDTO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Flux;
+
+/**
+ * Integration tests for {@link ResourceGotSnapshotService}.
+ */
+@IntegrationTest
+class ResourceGotSnapshotServiceIT {
+
+    @Autowired
+    private ResourceGotSnapshotService resourceGotSnapshotService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ResourceColumnsService resourceColumnsService;
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @TempDir
+    Path directory;
+
+    private final List<User> users = new ArrayList<>();
+
+    private final List<ResourceGot> resourceGots = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        em.deleteAll(ResourceGot.class).block();
+        for (float gold : new float[] { 10F, 20F, 30F }) {
+            User user = createUser();
+            users.add(user);
+            resourceGots.add(resourceGotRepository.save(new ResourceGot().gold(gold).wood(gold / 10).registerUser(user)).block());
+        }
+        leaderboardService.reload().block();
+        resourceColumnsService.reload().block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+        users.forEach(user -> userRepository.delete(user).block());
+        resourceGotSnapshotService.reconcile().block();
+        leaderboardService.reload().block();
+        resourceColumnsService.reload().block();
+    }
+
+    @Test
+    void restoreThenReconcile() throws Exception {
+        Path path = directory.resolve("resource-got.snapshot");
+        assertThat(resourceGotSnapshotService.write(path).block()).isEqualTo(3);
+
+        // changes made while the node is down
+        resourceGotRepository.save(resourceGots.get(0).gold(100F)).block();
+        resourceGotRepository.deleteById(resourceGots.get(1).getId()).block();
+        User newcomer = createUser();
+        users.add(newcomer);
+        resourceGotRepository.save(new ResourceGot().gold(5F).registerUser(newcomer)).block();
+
+        // a cold node
+        leaderboardService.reload(Flux.empty()).block();
+        resourceColumnsService.reload(Flux.empty()).block();
+
+        resourceGotSnapshotService.restore(path).block();
+        assertThat(leaderboardService.size()).isEqualTo(3);
+        assertThat(leaderboardService.rank(RankedResource.GOLD, users.get(0).getId())).get().extracting("value").isEqualTo(10F);
+        assertThat(resourceColumnsService.findByUser(users.get(2).getId())).get().extracting(PlayerResourcesDTO::getWood).isEqualTo(3F);
+
+        resourceGotSnapshotService.reconcile().block();
+        assertThat(leaderboardService.size()).isEqualTo(3);
+        assertThat(leaderboardService.rank(RankedResource.GOLD, users.get(0).getId()))
+            .get()
+            .extracting("rank", "value")
+            .containsExactly(1, 100F);
+        assertThat(leaderboardService.rank(RankedResource.GOLD, users.get(1).getId())).isEmpty();
+        assertThat(leaderboardService.rank(RankedResource.GOLD, newcomer.getId())).get().extracting("rank").isEqualTo(3);
+        assertThat(resourceColumnsService.findByUser(users.get(1).getId())).isEmpty();
+        assertThat(resourceColumnsService.findByUser(newcomer.getId())).get().extracting(PlayerResourcesDTO::getGold).isEqualTo(5F);
+    }
+
+    @Test
+    void corruptedSnapshotIsRefused() throws Exception {
+        Path path = directory.resolve("resource-got.snapshot");
+        resourceGotSnapshotService.write(path).block();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), ResourceGotSnapshot.HEADER_BYTES + 4);
+        }
+
+        assertThatThrownBy(() -> resourceGotSnapshotService.restore(path).block()).hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> resourceGotSnapshotService.restore(directory.resolve("missing")).block())
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(leaderboardService.size()).isEqualTo(3);
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setLogin("snapshot-" + RandomStringUtils.randomAlphabetic(5).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(user.getLogin() + "@localhost");
+        user.setCreatedBy(Constants.SYSTEM);
+        return userRepository.save(user).block();
+    }
+}
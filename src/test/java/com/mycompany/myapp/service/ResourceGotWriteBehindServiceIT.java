@@ -0,0 +1,98 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link ResourceGotWriteBehindService}.
+ */
+@IntegrationTest
+class ResourceGotWriteBehindServiceIT {
+
+    @Autowired
+    private ResourceGotWriteBehindService resourceGotWriteBehindService;
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ResourceGot first;
+
+    private ResourceGot second;
+
+    @BeforeEach
+    public void init() {
+        resourceGotWriteBehindService.flushAll();
+        em.deleteAll(ResourceGot.class).block();
+        first = resourceGotRepository.save(new ResourceGot().gold(10F).wood(10F)).block();
+        second = resourceGotRepository.save(new ResourceGot().fer(5F)).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        resourceGotWriteBehindService.flushAll();
+        em.deleteAll(ResourceGot.class).block();
+    }
+
+    @Test
+    void adjustmentsAreCoalescedAndFlushed() throws Exception {
+        double flushedRowsBefore = meterRegistry.get(ResourceGotWriteBehindService.FLUSHED_ROWS_METER_NAME).functionCounter().count();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 500; j++) {
+                    resourceGotWriteBehindService.adjust(first.getId(), 1F, null, null);
+                    resourceGotWriteBehindService.adjust(second.getId(), null, 2F, -1F);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get(ResourceGotWriteBehindService.PENDING_METER_NAME).gauge().value()).isEqualTo(2);
+
+        resourceGotWriteBehindService.flushAll();
+
+        ResourceGot firstFlushed = resourceGotRepository.findById(first.getId()).block();
+        assertThat(firstFlushed.getGold()).isEqualTo(4010F);
+        assertThat(firstFlushed.getWood()).isEqualTo(10F);
+        ResourceGot secondFlushed = resourceGotRepository.findById(second.getId()).block();
+        assertThat(secondFlushed.getGold()).isNull();
+        assertThat(secondFlushed.getWood()).isEqualTo(8000F);
+        assertThat(secondFlushed.getFer()).isEqualTo(-3995F);
+        assertThat(meterRegistry.get(ResourceGotWriteBehindService.PENDING_METER_NAME).gauge().value()).isZero();
+        assertThat(meterRegistry.get(ResourceGotWriteBehindService.FLUSHED_ROWS_METER_NAME).functionCounter().count())
+            .isEqualTo(flushedRowsBefore + 2);
+        assertThat(meterRegistry.get(ResourceGotWriteBehindService.COALESCING_METER_NAME).gauge().value()).isGreaterThan(1);
+    }
+
+    @Test
+    void readsAreMergedWithPendingAdjustments() {
+        resourceGotWriteBehindService.adjust(first.getId(), -4F, null, 1F);
+
+        ResourceGot stored = resourceGotRepository.findById(first.getId()).block();
+        assertThat(stored.getGold()).isEqualTo(10F);
+
+        ResourceGot merged = resourceGotWriteBehindService.merge(stored);
+        assertThat(merged.getGold()).isEqualTo(6F);
+        assertThat(merged.getWood()).isEqualTo(10F);
+        assertThat(merged.getFer()).isEqualTo(1F);
+        assertThat(resourceGotWriteBehindService.merge(resourceGotRepository.findById(second.getId()).block()).getFer()).isEqualTo(5F);
+    }
+}
@@ -44,6 +44,9 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     private User user;
 
     @BeforeEach
@@ -131,6 +134,19 @@ class UserServiceIT {
         userRepository.delete(user).block();
     }
 
+    @Test
+    void assertThatPasswordResetRevokesTheRefreshTokens() {
+        user.setResetDate(Instant.now());
+        user.setResetKey(RandomUtil.generateResetKey());
+        userRepository.save(user).block();
+        String refreshToken = refreshTokenService.createToken(user.getLogin(), true).block();
+
+        userService.completePasswordReset("johndoe2", user.getResetKey()).block();
+
+        assertThat(refreshTokenService.rotateToken(refreshToken).blockOptional()).isNotPresent();
+        userRepository.delete(user).block();
+    }
+
     @Test
     void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
         Instant now = Instant.now();
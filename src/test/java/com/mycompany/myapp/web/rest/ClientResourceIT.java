@@ -6,8 +6,10 @@ import static org.hamcrest.Matchers.is;
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Client;
+import com.mycompany.myapp.domain.ResourceData;
 import com.mycompany.myapp.repository.ClientRepository;
 import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ResourceDataRepository;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -38,6 +40,9 @@ class ClientResourceIT {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private ResourceDataRepository resourceDataRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -230,6 +235,50 @@ class ClientResourceIT {
         Client testClient = clientList.get(clientList.size() - 1);
     }
 
+    @Test
+    void putAndPatchReturnTheClientWithItsRelations() throws Exception {
+        ResourceData company = resourceDataRepository.save(new ResourceData().gold(1F)).block();
+        try {
+            // Initialize the database
+            clientRepository.save(client.company(company)).block();
+            Client updatedClient = clientRepository.findById(client.getId()).block();
+
+            webTestClient
+                .put()
+                .uri(ENTITY_API_URL_ID, updatedClient.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TestUtil.convertObjectToJsonBytes(updatedClient))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.company.id")
+                .value(is(company.getId().intValue()))
+                .jsonPath("$.company.gold")
+                .value(is(1.0));
+
+            Client partialUpdatedClient = new Client();
+            partialUpdatedClient.setId(client.getId());
+
+            webTestClient
+                .patch()
+                .uri(ENTITY_API_URL_ID, partialUpdatedClient.getId())
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue(TestUtil.convertObjectToJsonBytes(partialUpdatedClient))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.company.id")
+                .value(is(company.getId().intValue()))
+                .jsonPath("$.company.gold")
+                .value(is(1.0));
+        } finally {
+            clientRepository.deleteById(client.getId()).block();
+            resourceDataRepository.deleteById(company.getId()).block();
+        }
+    }
+
     @Test
     void putNonExistingClient() throws Exception {
         int databaseSizeBeforeUpdate = clientRepository.findAll().collectList().block().size();
@@ -243,7 +292,7 @@ class ClientResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(client))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Client in the database
         List<Client> clientList = clientRepository.findAll().collectList().block();
@@ -355,7 +404,7 @@ class ClientResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(client))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Client in the database
         List<Client> clientList = clientRepository.findAll().collectList().block();
@@ -0,0 +1,180 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.LeaderboardService;
+import com.mycompany.myapp.service.ResourceGotWriteBehindService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link LeaderboardResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_TIMEOUT)
+@WithMockUser
+class LeaderboardResourceIT {
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ResourceGotWriteBehindService resourceGotWriteBehindService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private final List<User> users = new ArrayList<>();
+
+    private final List<ResourceGot> resourceGots = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        em.deleteAll(ResourceGot.class).block();
+        float[] gold = { 10F, 30F, 20F };
+        for (float value : gold) {
+            User user = userRepository.save(UserResourceIT.createEntity(em)).block();
+            users.add(user);
+            resourceGots.add(resourceGotRepository.save(new ResourceGot().gold(value).wood(1F).registerUser(user)).block());
+        }
+        // rows without a player are not ranked
+        resourceGotRepository.save(new ResourceGot().gold(100F)).block();
+        leaderboardService.reload().block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+        users.forEach(user -> userRepository.delete(user).block());
+        leaderboardService.reload().block();
+    }
+
+    @Test
+    void getTop() {
+        webTestClient
+            .get()
+            .uri("/api/leaderboard/gold?top=2")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$")
+            .value(hasSize(2))
+            .jsonPath("$.[*].userId")
+            .value(contains(users.get(1).getId().intValue(), users.get(2).getId().intValue()))
+            .jsonPath("$.[*].rank")
+            .value(contains(1, 2))
+            .jsonPath("$.[*].value")
+            .value(contains(30.0, 20.0));
+    }
+
+    @Test
+    void getTopBreaksTiesById() {
+        webTestClient
+            .get()
+            .uri("/api/leaderboard/wood")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].resourceGotId")
+            .value(
+                contains(
+                    resourceGots.get(0).getId().intValue(),
+                    resourceGots.get(1).getId().intValue(),
+                    resourceGots.get(2).getId().intValue()
+                )
+            );
+    }
+
+    @Test
+    void getRank() {
+        expectRank("gold", users.get(0), 3);
+        expectRank("fer", users.get(0), 1);
+    }
+
+    @Test
+    void rankFollowsTheMutations() throws Exception {
+        ResourceGot first = resourceGots.get(0).gold(50F);
+        webTestClient
+            .put()
+            .uri("/api/resource-gots/{id}", first.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(first))
+            .exchange()
+            .expectStatus()
+            .isOk();
+        expectRank("gold", users.get(0), 1);
+
+        webTestClient
+            .post()
+            .uri("/api/resource-gots/{id}/adjust", resourceGots.get(2).getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": 100}")
+            .exchange()
+            .expectStatus()
+            .isOk();
+        expectRank("gold", users.get(2), 1);
+        expectRank("gold", users.get(0), 2);
+
+        webTestClient
+            .post()
+            .uri("/api/resource-gots/{id}/adjust", resourceGots.get(1).getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": 1000, \"deferred\": true}")
+            .exchange()
+            .expectStatus()
+            .isAccepted();
+        resourceGotWriteBehindService.flush().block();
+        expectRank("gold", users.get(1), 1);
+
+        webTestClient.delete().uri("/api/resource-gots/{id}", resourceGots.get(1).getId()).exchange().expectStatus().isNoContent();
+        webTestClient.get().uri("/api/leaderboard/gold/rank/{userId}", users.get(1).getId()).exchange().expectStatus().isNotFound();
+        expectRank("gold", users.get(2), 1);
+    }
+
+    @Test
+    void getWithInvalidParameters() {
+        webTestClient.get().uri("/api/leaderboard/silver").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/leaderboard/gold?top=0").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/leaderboard/gold?top=1001").exchange().expectStatus().isBadRequest();
+    }
+
+    private void expectRank(String resource, User user, int rank) {
+        webTestClient
+            .get()
+            .uri("/api/leaderboard/{resource}/rank/{userId}", resource, user.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.rank")
+            .isEqualTo(rank)
+            .jsonPath("$.userId")
+            .isEqualTo(user.getId().intValue());
+    }
+}
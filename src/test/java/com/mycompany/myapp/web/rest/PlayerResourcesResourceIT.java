@@ -0,0 +1,161 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.ResourceColumnsService;
+import com.mycompany.myapp.service.ResourceGotWriteBehindService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link PlayerResourcesResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_TIMEOUT)
+@WithMockUser
+class PlayerResourcesResourceIT {
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceColumnsService resourceColumnsService;
+
+    @Autowired
+    private ResourceGotWriteBehindService resourceGotWriteBehindService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private final List<User> users = new ArrayList<>();
+
+    private final List<ResourceGot> resourceGots = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        em.deleteAll(ResourceGot.class).block();
+        float[][] resources = { { 10F, 100F }, { 300F, 20F }, { 500F, 40F }, { 700F, 900F } };
+        for (float[] values : resources) {
+            User user = userRepository.save(UserResourceIT.createEntity(em)).block();
+            users.add(user);
+            resourceGots.add(resourceGotRepository.save(new ResourceGot().gold(values[0]).wood(values[1]).registerUser(user)).block());
+        }
+        // rows without a player are not mirrored
+        resourceGotRepository.save(new ResourceGot().gold(400F).wood(0F)).block();
+        resourceColumnsService.reload().block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(ResourceGot.class).block();
+        users.forEach(user -> userRepository.delete(user).block());
+        resourceColumnsService.reload().block();
+    }
+
+    @Test
+    void searchPlayers() {
+        webTestClient
+            .get()
+            .uri("/api/players/search?gold.greaterThan=200&wood.lessThan=50")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.count")
+            .isEqualTo(2)
+            .jsonPath("$.goldSum")
+            .isEqualTo(800.0)
+            .jsonPath("$.woodSum")
+            .isEqualTo(60.0)
+            .jsonPath("$.players[*].userId")
+            .value(containsInAnyOrder(users.get(1).getId().intValue(), users.get(2).getId().intValue()));
+    }
+
+    @Test
+    void searchPlayersIsLimited() {
+        webTestClient
+            .get()
+            .uri("/api/players/search?limit=1")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.count")
+            .isEqualTo(4)
+            .jsonPath("$.players")
+            .value(hasSize(1));
+        webTestClient.get().uri("/api/players/search?limit=1001").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void playerResourcesFollowTheMutations() throws Exception {
+        ResourceGot first = resourceGots.get(0).gold(50F);
+        webTestClient
+            .put()
+            .uri("/api/resource-gots/{id}", first.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(first))
+            .exchange()
+            .expectStatus()
+            .isOk();
+        expectGold(users.get(0), 50.0);
+
+        webTestClient
+            .post()
+            .uri("/api/resource-gots/{id}/adjust", first.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": 1000, \"deferred\": true}")
+            .exchange()
+            .expectStatus()
+            .isAccepted();
+        resourceGotWriteBehindService.flush().block();
+        expectGold(users.get(0), 1050.0);
+
+        webTestClient.delete().uri("/api/resource-gots/{id}", first.getId()).exchange().expectStatus().isNoContent();
+        webTestClient.get().uri("/api/players/{userId}/resources", users.get(0).getId()).exchange().expectStatus().isNotFound();
+        webTestClient
+            .get()
+            .uri("/api/players/search")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.count")
+            .isEqualTo(3);
+    }
+
+    private void expectGold(User user, double gold) {
+        webTestClient
+            .get()
+            .uri("/api/players/{userId}/resources", user.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.gold")
+            .isEqualTo(gold)
+            .jsonPath("$.userId")
+            .isEqualTo(user.getId().intValue());
+    }
+}
@@ -274,7 +274,7 @@ class ResourceDataResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(resourceData))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the ResourceData in the database
         List<ResourceData> resourceDataList = resourceDataRepository.findAll().collectList().block();
@@ -396,7 +396,7 @@ class ResourceDataResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(resourceData))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the ResourceData in the database
         List<ResourceData> resourceDataList = resourceDataRepository.findAll().collectList().block();
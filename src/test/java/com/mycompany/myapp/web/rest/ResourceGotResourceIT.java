@@ -1,6 +1,7 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
@@ -8,6 +9,8 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.ResourceGot;
 import com.mycompany.myapp.repository.EntityManager;
 import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.service.ResourceGotWriteBehindService;
+import java.net.URI;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -17,9 +20,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 
 /**
  * Integration tests for the {@link ResourceGotResource} REST controller.
@@ -53,6 +58,9 @@ class ResourceGotResourceIT {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private ResourceGotWriteBehindService resourceGotWriteBehindService;
+
     private ResourceGot resourceGot;
 
     /**
@@ -194,6 +202,170 @@ class ResourceGotResourceIT {
             .value(hasItem(DEFAULT_FER.doubleValue()));
     }
 
+    @Test
+    void adjustResourceGot() {
+        // Initialize the database
+        resourceGotRepository.save(resourceGot.wood(null)).block();
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/adjust", resourceGot.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": 5, \"wood\": 2}")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .value(is(resourceGot.getId().intValue()))
+            .jsonPath("$.gold")
+            .value(is(DEFAULT_GOLD.doubleValue() + 5))
+            .jsonPath("$.wood")
+            .value(is(2D))
+            .jsonPath("$.fer")
+            .value(is(DEFAULT_FER.doubleValue()));
+    }
+
+    @Test
+    void adjustResourceGotConcurrently() {
+        // Initialize the database
+        resourceGotRepository.save(resourceGot).block();
+
+        Flux
+            .range(0, 50)
+            .flatMap(i ->
+                webTestClient
+                    .post()
+                    .uri(ENTITY_API_URL_ID + "/adjust", resourceGot.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"gold\": 1}")
+                    .exchange()
+                    .returnResult(ResourceGot.class)
+                    .getResponseBody()
+            )
+            .blockLast();
+
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(DEFAULT_GOLD + 50);
+    }
+
+    @Test
+    void adjustResourceGotBelowZero() {
+        // Initialize the database
+        resourceGotRepository.save(resourceGot).block();
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/adjust", resourceGot.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": -2, \"wood\": 1, \"nonNegative\": true}")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        ResourceGot unchanged = resourceGotRepository.findById(resourceGot.getId()).block();
+        assertThat(unchanged.getGold()).isEqualTo(DEFAULT_GOLD);
+        assertThat(unchanged.getWood()).isEqualTo(DEFAULT_WOOD);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/adjust", resourceGot.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": -2}")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.gold")
+            .value(is(DEFAULT_GOLD.doubleValue() - 2));
+    }
+
+    @Test
+    void adjustResourceGotDeferred() {
+        // Initialize the database
+        resourceGotRepository.save(resourceGot).block();
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/adjust", resourceGot.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": 3, \"deferred\": true}")
+            .exchange()
+            .expectStatus()
+            .isAccepted();
+
+        // Reads see the adjustment before it is written
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, resourceGot.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.gold")
+            .value(is(DEFAULT_GOLD.doubleValue() + 3));
+
+        resourceGotWriteBehindService.flushAll();
+        assertThat(resourceGotRepository.findById(resourceGot.getId()).block().getGold()).isEqualTo(DEFAULT_GOLD + 3);
+    }
+
+    @Test
+    void adjustNonExistingResourceGot() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/adjust", count.incrementAndGet())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"gold\": 1}")
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void getAllResourceGotsWithKeysetPagination() {
+        // Initialize the database
+        resourceGotRepository.save(createEntity(em).gold(3F)).block();
+        resourceGotRepository.save(createEntity(em).gold(1F)).block();
+        resourceGotRepository.save(createEntity(em).gold(2F)).block();
+
+        // Get the first page, which links to the next one
+        String link = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=2&sort=gold,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].gold")
+            .value(contains(3D, 2D))
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(HttpHeaders.LINK);
+        assertThat(link).endsWith(">; rel=\"next\"");
+
+        // Get the last page
+        webTestClient
+            .get()
+            .uri(URI.create(link.substring(1, link.indexOf('>'))))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.[*].gold")
+            .value(contains(1D));
+    }
+
+    @Test
+    void getAllResourceGotsWithInvalidKeysetPagination() {
+        webTestClient.get().uri(ENTITY_API_URL + "?size=2&sort=registerUser").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri(ENTITY_API_URL + "?size=2&cursor=garbage").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri(ENTITY_API_URL + "?size=0").exchange().expectStatus().isBadRequest();
+    }
+
     @Test
     void getResourceGot() {
         // Initialize the database
@@ -274,7 +446,7 @@ class ResourceGotResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(resourceGot))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the ResourceGot in the database
         List<ResourceGot> resourceGotList = resourceGotRepository.findAll().collectList().block();
@@ -396,7 +568,7 @@ class ResourceGotResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(resourceGot))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the ResourceGot in the database
         List<ResourceGot> resourceGotList = resourceGotRepository.findAll().collectList().block();
@@ -274,7 +274,7 @@ class ResourceResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(resource))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Resource in the database
         List<Resource> resourceList = resourceRepository.findAll().collectList().block();
@@ -396,7 +396,7 @@ class ResourceResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(resource))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Resource in the database
         List<Resource> resourceList = resourceRepository.findAll().collectList().block();
@@ -0,0 +1,169 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.hamcrest.Matchers.closeTo;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Resource;
+import com.mycompany.myapp.domain.ResourceData;
+import com.mycompany.myapp.domain.ResourceGot;
+import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ResourceDataRepository;
+import com.mycompany.myapp.repository.ResourceGotRepository;
+import com.mycompany.myapp.repository.ResourceRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.ResourceStatsService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link ResourceStatsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class ResourceStatsResourceIT {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private ResourceGotRepository resourceGotRepository;
+
+    @Autowired
+    private ResourceDataRepository resourceDataRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ResourceStatsService resourceStatsService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private final List<ResourceGot> resourceGots = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        deleteAll();
+        // gold from 1 to ROWS, wood only on even rows, no fer
+        for (int i = 1; i <= ROWS; i++) {
+            resourceGots.add(resourceGotRepository.save(new ResourceGot().gold((float) i).wood(i % 2 == 0 ? (float) i : null)).block());
+        }
+        resourceDataRepository.save(new ResourceData().gold(-5F).wood(0F).fer(5F)).block();
+        resourceRepository.save(new Resource().gold(3F)).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteAll();
+    }
+
+    private void deleteAll() {
+        em.deleteAll(ResourceGot.class).block();
+        em.deleteAll(ResourceData.class).block();
+        em.deleteAll(Resource.class).block();
+        resourceStatsService.invalidateAll(ResourceStatsService.StatsTable.RESOURCE_GOT);
+        resourceStatsService.invalidateAll(ResourceStatsService.StatsTable.RESOURCE_DATA);
+        resourceStatsService.invalidateAll(ResourceStatsService.StatsTable.RESOURCE);
+    }
+
+    @Test
+    void getResourceStatistics() {
+        webTestClient
+            .get()
+            .uri("/api/stats/resources")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.resourceGot.gold.count")
+            .isEqualTo(ROWS)
+            .jsonPath("$.resourceGot.gold.sum")
+            .isEqualTo(ROWS * (ROWS + 1) / 2.0)
+            .jsonPath("$.resourceGot.gold.mean")
+            .isEqualTo((ROWS + 1) / 2.0)
+            .jsonPath("$.resourceGot.gold.min")
+            .isEqualTo(1.0)
+            .jsonPath("$.resourceGot.gold.max")
+            .isEqualTo((double) ROWS)
+            .jsonPath("$.resourceGot.gold.p50")
+            .value(closeTo(250.0, 2.5))
+            .jsonPath("$.resourceGot.gold.p90")
+            .value(closeTo(450.0, 4.5))
+            .jsonPath("$.resourceGot.gold.p99")
+            .value(closeTo(495.0, 5.0))
+            .jsonPath("$.resourceGot.wood.count")
+            .isEqualTo(ROWS / 2)
+            .jsonPath("$.resourceGot.fer.count")
+            .isEqualTo(0)
+            .jsonPath("$.resourceGot.fer.mean")
+            .doesNotExist()
+            .jsonPath("$.resourceData.gold.min")
+            .isEqualTo(-5.0)
+            .jsonPath("$.resourceData.wood.p50")
+            .isEqualTo(0.0)
+            .jsonPath("$.resourceData.fer.sum")
+            .isEqualTo(5.0)
+            .jsonPath("$.resource.gold.count")
+            .isEqualTo(1)
+            .jsonPath("$.resource.wood.count")
+            .isEqualTo(0);
+    }
+
+    @Test
+    void statisticsAreRefreshedOnWrites() throws Exception {
+        webTestClient.get().uri("/api/stats/resources").exchange().expectStatus().isOk();
+
+        ResourceGot last = resourceGots.get(ROWS - 1).gold(10000F);
+        webTestClient
+            .put()
+            .uri("/api/resource-gots/{id}", last.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(last))
+            .exchange()
+            .expectStatus()
+            .isOk();
+        webTestClient.delete().uri("/api/resource-gots/{id}", resourceGots.get(0).getId()).exchange().expectStatus().isNoContent();
+        webTestClient
+            .post()
+            .uri("/api/resource-gots")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(new ResourceGot().gold(0.5F)))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+
+        webTestClient
+            .get()
+            .uri("/api/stats/resources")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.resourceGot.gold.count")
+            .isEqualTo(ROWS)
+            .jsonPath("$.resourceGot.gold.sum")
+            .isEqualTo(ROWS * (ROWS + 1) / 2.0 - ROWS - 1 + 10000 + 0.5)
+            .jsonPath("$.resourceGot.gold.min")
+            .isEqualTo(0.5)
+            .jsonPath("$.resourceGot.gold.max")
+            .isEqualTo(10000.0);
+    }
+
+    @Test
+    @WithMockUser
+    void getResourceStatisticsIsForbiddenToUsers() {
+        webTestClient.get().uri("/api/stats/resources").exchange().expectStatus().isForbidden();
+    }
+}
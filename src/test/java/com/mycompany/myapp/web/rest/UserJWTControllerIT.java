@@ -1,10 +1,15 @@
 package com.mycompany.myapp.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
+import com.mycompany.myapp.web.rest.vm.RefreshTokenVM;
+import java.io.IOException;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
@@ -54,9 +59,54 @@ class UserJWTControllerIT {
             .valueMatches("Authorization", "Bearer .+")
             .expectBody()
             .jsonPath("$.id_token")
+            .isNotEmpty()
+            .jsonPath("$.refresh_token")
             .isNotEmpty();
     }
 
+    @Test
+    void testRefresh() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-refresh");
+        user.setEmail("user-jwt-controller-refresh@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        user.setCreatedBy(Constants.SYSTEM);
+
+        userRepository.save(user).block();
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-refresh");
+        login.setPassword("test");
+        String refreshToken = refreshToken(
+            webTestClient
+                .post()
+                .uri("/api/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TestUtil.convertObjectToJsonBytes(login))
+        );
+
+        String rotatedToken = refreshToken(refresh(refreshToken));
+
+        assertThat(rotatedToken).isNotEqualTo(refreshToken);
+        // a refresh token is used once
+        refresh(refreshToken)
+            .exchange()
+            .expectStatus()
+            .isUnauthorized()
+            .expectHeader()
+            .doesNotExist("Authorization")
+            .expectBody()
+            .jsonPath("$.id_token")
+            .doesNotExist();
+        assertThat(refreshToken(refresh(rotatedToken))).isNotEmpty();
+    }
+
+    @Test
+    void testRefreshFails() throws Exception {
+        refresh("unknown-refresh-token").exchange().expectStatus().isUnauthorized();
+    }
+
     @Test
     void testAuthorizeWithRememberMe() throws Exception {
         User user = new User();
@@ -106,4 +156,28 @@ class UserJWTControllerIT {
             .jsonPath("$.id_token")
             .doesNotExist();
     }
+
+    private WebTestClient.RequestHeadersSpec<?> refresh(String refreshToken) throws IOException {
+        RefreshTokenVM refresh = new RefreshTokenVM();
+        refresh.setRefreshToken(refreshToken);
+        return webTestClient
+            .post()
+            .uri("/api/authenticate/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(refresh));
+    }
+
+    private String refreshToken(WebTestClient.RequestHeadersSpec<?> request) {
+        Map<?, ?> tokens = request
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueMatches("Authorization", "Bearer .+")
+            .expectBody(Map.class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(tokens.get("id_token")).isNotNull();
+        return (String) tokens.get("refresh_token");
+    }
 }
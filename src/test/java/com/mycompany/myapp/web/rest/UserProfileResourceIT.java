@@ -5,8 +5,10 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.ResourceData;
 import com.mycompany.myapp.domain.UserProfile;
 import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.ResourceDataRepository;
 import com.mycompany.myapp.repository.UserProfileRepository;
 import java.time.Duration;
 import java.util.List;
@@ -38,6 +40,9 @@ class UserProfileResourceIT {
     @Autowired
     private UserProfileRepository userProfileRepository;
 
+    @Autowired
+    private ResourceDataRepository resourceDataRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -230,6 +235,50 @@ class UserProfileResourceIT {
         UserProfile testUserProfile = userProfileList.get(userProfileList.size() - 1);
     }
 
+    @Test
+    void putAndPatchReturnTheUserProfileWithItsRelations() throws Exception {
+        ResourceData resource = resourceDataRepository.save(new ResourceData().gold(1F)).block();
+        try {
+            // Initialize the database
+            userProfileRepository.save(userProfile.resource(resource)).block();
+            UserProfile updatedUserProfile = userProfileRepository.findById(userProfile.getId()).block();
+
+            webTestClient
+                .put()
+                .uri(ENTITY_API_URL_ID, updatedUserProfile.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TestUtil.convertObjectToJsonBytes(updatedUserProfile))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.resource.id")
+                .value(is(resource.getId().intValue()))
+                .jsonPath("$.resource.gold")
+                .value(is(1.0));
+
+            UserProfile partialUpdatedUserProfile = new UserProfile();
+            partialUpdatedUserProfile.setId(userProfile.getId());
+
+            webTestClient
+                .patch()
+                .uri(ENTITY_API_URL_ID, partialUpdatedUserProfile.getId())
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue(TestUtil.convertObjectToJsonBytes(partialUpdatedUserProfile))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.resource.id")
+                .value(is(resource.getId().intValue()))
+                .jsonPath("$.resource.gold")
+                .value(is(1.0));
+        } finally {
+            userProfileRepository.deleteById(userProfile.getId()).block();
+            resourceDataRepository.deleteById(resource.getId()).block();
+        }
+    }
+
     @Test
     void putNonExistingUserProfile() throws Exception {
         int databaseSizeBeforeUpdate = userProfileRepository.findAll().collectList().block().size();
@@ -243,7 +292,7 @@ class UserProfileResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(userProfile))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the UserProfile in the database
         List<UserProfile> userProfileList = userProfileRepository.findAll().collectList().block();
@@ -355,7 +404,7 @@ class UserProfileResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(userProfile))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the UserProfile in the database
         List<UserProfile> userProfileList = userProfileRepository.findAll().collectList().block();
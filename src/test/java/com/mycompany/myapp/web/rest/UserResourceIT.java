@@ -284,6 +284,35 @@ class UserResourceIT {
         assertThat(foundUser.getAuthorities()).containsExactly(AuthoritiesConstants.USER);
     }
 
+    @Test
+    void getAllUsersPagedAndSorted() {
+        // Initialize the database
+        for (String login : Arrays.asList("paged-c", "paged-a", "paged-b")) {
+            User pagedUser = createEntity(em);
+            pagedUser.setLogin(login);
+            userRepository.save(pagedUser).block();
+            userRepository.saveUserAuthority(pagedUser.getId(), AuthoritiesConstants.USER).block();
+        }
+
+        // Get the second page of the users, sorted by login
+        List<AdminUserDTO> foundUsers = webTestClient
+            .get()
+            .uri("/api/admin/users?page=1&size=2&sort=login,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "3")
+            .returnResult(AdminUserDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(foundUsers).extracting(AdminUserDTO::getLogin).containsExactly("paged-c");
+        assertThat(foundUsers.get(0).getAuthorities()).containsExactly(AuthoritiesConstants.USER);
+    }
+
     @Test
     void getUser() {
         // Initialize the database
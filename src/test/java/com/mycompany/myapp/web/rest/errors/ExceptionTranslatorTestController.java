@@ -1,5 +1,7 @@
 package com.mycompany.myapp.web.rest.errors;
 
+import com.mycompany.myapp.security.PasswordHashingBusyException;
+import java.util.concurrent.RejectedExecutionException;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -7,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.Exceptions;
 
 @RestController
 @RequestMapping("/api/exception-translator-test")
@@ -41,6 +44,17 @@ public class ExceptionTranslatorTestController {
         throw new TestResponseStatusException();
     }
 
+    @GetMapping("/rejected-execution")
+    public void rejectedExecution() {
+        // as rejected by the scheduler of the password hashes
+        throw Exceptions.failWithRejected(new PasswordHashingBusyException("test rejected execution"));
+    }
+
+    @GetMapping("/other-rejected-execution")
+    public void otherRejectedExecution() {
+        throw new RejectedExecutionException("test other rejected execution");
+    }
+
     @GetMapping("/internal-server-error")
     public void internalServerError() {
         throw new RuntimeException();